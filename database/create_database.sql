@@ -0,0 +1,3 @@
+CREATE DATABASE ticket_booking;
+
+CREATE DATABASE ticket_booking_test;
@@ -0,0 +1,209 @@
+package ua.epam.mishchenko.ticketbooking.booking;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ua.epam.mishchenko.ticketbooking.model.Ticket;
+import ua.epam.mishchenko.ticketbooking.service.TicketService;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The dispatcher of asynchronous bookings.
+ * <p>
+ * Events are spread over a fixed number of partitions. Every partition has a bounded queue of booking requests
+ * and a single writer thread which drains the queue in batches and books every batch in one transaction,
+ * so bookings of a hot event never contend for its lock. The future of a request completes after its
+ * batch is committed, with null if the ticket can not be booked.
+ */
+@Component
+public class AsyncBookingDispatcher {
+
+    /**
+     * The constant log.
+     */
+    private static final Logger log = LoggerFactory.getLogger(AsyncBookingDispatcher.class);
+
+    /**
+     * The ticket service.
+     */
+    private final TicketService ticketService;
+
+    /**
+     * The partitions.
+     */
+    private final Partition[] partitions;
+
+    /**
+     * The maximum number of requests booked in one transaction.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * Instantiates a new Async booking dispatcher.
+     *
+     * @param ticketService the ticket service
+     * @param partitions    the number of partitions
+     * @param queueCapacity the capacity of the queue of a partition
+     * @param maxBatchSize  the maximum number of requests booked in one transaction
+     */
+    public AsyncBookingDispatcher(TicketService ticketService,
+                                  @Value("${ticket-booking.async.partitions:4}") int partitions,
+                                  @Value("${ticket-booking.async.queue-capacity:1024}") int queueCapacity,
+                                  @Value("${ticket-booking.async.max-batch-size:64}") int maxBatchSize) {
+        this.ticketService = ticketService;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.partitions = new Partition[Math.max(1, partitions)];
+        for (int i = 0; i < this.partitions.length; i++) {
+            this.partitions[i] = new Partition(i, queueCapacity);
+            this.partitions[i].writer.start();
+        }
+    }
+
+    /**
+     * Submits the booking request.
+     *
+     * @param request the booking request
+     * @return the future of the ticket, it completes with null if the ticket can not be booked
+     * or the queue of the event is full
+     */
+    public CompletableFuture<Ticket> submit(BookingRequest request) {
+        CompletableFuture<Ticket> ticket = new CompletableFuture<>();
+        if (!partitionOf(request.getEventId()).queue.offer(new PendingBooking(request, ticket))) {
+            log.warn("The booking queue of the event with id {} is full, rejecting the request {}",
+                    request.getEventId(), request);
+            ticket.complete(null);
+        }
+        return ticket;
+    }
+
+    /**
+     * Gets the partition of the event.
+     *
+     * @param eventId the event id
+     * @return the partition
+     */
+    Partition partitionOf(long eventId) {
+        int hash = Long.hashCode(eventId * 0x9E3779B97F4A7C15L);
+        return partitions[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % partitions.length];
+    }
+
+    /**
+     * Stops the writers, the requests left in the queues complete with null.
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (Partition partition : partitions) {
+            partition.writer.interrupt();
+        }
+        for (Partition partition : partitions) {
+            List<PendingBooking> pending = new ArrayList<>();
+            partition.queue.drainTo(pending);
+            for (PendingBooking booking : pending) {
+                booking.ticket.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Books a batch of requests and completes their futures.
+     *
+     * @param batch the batch
+     */
+    private void book(List<PendingBooking> batch) {
+        List<BookingRequest> requests = new ArrayList<>(batch.size());
+        for (PendingBooking booking : batch) {
+            requests.add(booking.request);
+        }
+        try {
+            List<Ticket> tickets = ticketService.bookTicketsInBatch(requests);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).ticket.complete(tickets.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Can not to book a batch of {} requests", batch.size(), e);
+            for (PendingBooking booking : batch) {
+                booking.ticket.complete(null);
+            }
+        }
+    }
+
+    /**
+     * The partition of events with its queue and its single writer.
+     */
+    final class Partition {
+
+        /**
+         * The queue of pending bookings.
+         */
+        private final BlockingQueue<PendingBooking> queue;
+
+        /**
+         * The writer.
+         */
+        private final Thread writer;
+
+        /**
+         * Instantiates a new Partition.
+         *
+         * @param index         the index
+         * @param queueCapacity the queue capacity
+         */
+        private Partition(int index, int queueCapacity) {
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+            this.writer = new Thread(this::drain, "async-booking-writer-" + index);
+            this.writer.setDaemon(true);
+        }
+
+        /**
+         * Drains the queue in batches until the writer is interrupted.
+         */
+        private void drain() {
+            List<PendingBooking> batch = new ArrayList<>(maxBatchSize);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                queue.drainTo(batch, maxBatchSize - 1);
+                book(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * The booking request waiting for its ticket.
+     */
+    private static final class PendingBooking {
+
+        /**
+         * The request.
+         */
+        private final BookingRequest request;
+
+        /**
+         * The future of the ticket.
+         */
+        private final CompletableFuture<Ticket> ticket;
+
+        /**
+         * Instantiates a new Pending booking.
+         *
+         * @param request the request
+         * @param ticket  the future of the ticket
+         */
+        private PendingBooking(BookingRequest request, CompletableFuture<Ticket> ticket) {
+            this.request = request;
+            this.ticket = ticket;
+        }
+    }
+}
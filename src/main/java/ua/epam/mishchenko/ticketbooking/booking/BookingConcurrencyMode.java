@@ -0,0 +1,18 @@
+package ua.epam.mishchenko.ticketbooking.booking;
+
+/**
+ * The concurrency mode of bookings.
+ */
+public enum BookingConcurrencyMode {
+
+    /**
+     * Bookings of one event are serialized by a striped lock and run at READ_COMMITTED isolation,
+     * the wallet is debited by a conditional append to the wallet ledger.
+     */
+    STRIPED_LOCK,
+
+    /**
+     * Bookings run at SERIALIZABLE isolation without application locks.
+     */
+    SERIALIZABLE
+}
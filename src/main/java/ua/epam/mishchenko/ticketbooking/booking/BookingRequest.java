@@ -0,0 +1,80 @@
+package ua.epam.mishchenko.ticketbooking.booking;
+
+import ua.epam.mishchenko.ticketbooking.model.Seat;
+
+import java.util.Objects;
+
+/**
+ * The request to book one seat of an event for a user.
+ */
+public final class BookingRequest {
+
+    /**
+     * The user id.
+     */
+    private final long userId;
+
+    /**
+     * The event id.
+     */
+    private final long eventId;
+
+    /**
+     * The seat.
+     */
+    private final Seat seat;
+
+    /**
+     * Instantiates a new Booking request.
+     *
+     * @param userId  the user id
+     * @param eventId the event id
+     * @param seat    the seat
+     */
+    public BookingRequest(long userId, long eventId, Seat seat) {
+        this.userId = userId;
+        this.eventId = eventId;
+        this.seat = Objects.requireNonNull(seat, "The seat can not be null");
+    }
+
+    /**
+     * Gets user id.
+     *
+     * @return the user id
+     */
+    public long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Gets event id.
+     *
+     * @return the event id
+     */
+    public long getEventId() {
+        return eventId;
+    }
+
+    /**
+     * Gets seat.
+     *
+     * @return the seat
+     */
+    public Seat getSeat() {
+        return seat;
+    }
+
+    /**
+     * To string string.
+     *
+     * @return the string
+     */
+    @Override
+    public String toString() {
+        return "{" +
+                "'userId' : " + userId +
+                ", 'eventId' : " + eventId +
+                ", 'seat' : " + seat +
+                "}";
+    }
+}
@@ -0,0 +1,200 @@
+package ua.epam.mishchenko.ticketbooking.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * The executor of booking transactions.
+ * <p>
+ * Runs a booking of one event in a transaction according to the configured {@link BookingConcurrencyMode}.
+ * A booking which fails with a transient error, like a serialization failure or a deadlock, is retried
+ * in a new transaction after a jittered exponential backoff.
+ */
+@Component
+public class BookingTransactionExecutor {
+
+    /**
+     * The constant log.
+     */
+    private static final Logger log = LoggerFactory.getLogger(BookingTransactionExecutor.class);
+
+    /**
+     * The event lock table.
+     */
+    private final EventLockTable eventLockTable;
+
+    /**
+     * The concurrency mode.
+     */
+    private final BookingConcurrencyMode concurrencyMode;
+
+    /**
+     * The transaction template of the concurrency mode.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The meter registry.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * The maximum number of attempts of one booking.
+     */
+    private final int maxAttempts;
+
+    /**
+     * The backoff after the first failed attempt in milliseconds.
+     */
+    private final long initialBackoffMs;
+
+    /**
+     * The maximum backoff in milliseconds.
+     */
+    private final long maxBackoffMs;
+
+    /**
+     * Instantiates a new Booking transaction executor.
+     *
+     * @param transactionManager the transaction manager
+     * @param eventLockTable     the event lock table
+     * @param meterRegistry      the meter registry
+     * @param concurrencyMode    the concurrency mode
+     * @param maxAttempts        the maximum number of attempts
+     * @param initialBackoffMs   the initial backoff in milliseconds
+     * @param maxBackoffMs       the maximum backoff in milliseconds
+     */
+    public BookingTransactionExecutor(PlatformTransactionManager transactionManager, EventLockTable eventLockTable,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${ticket-booking.booking.concurrency-mode:STRIPED_LOCK}")
+                                              BookingConcurrencyMode concurrencyMode,
+                                      @Value("${ticket-booking.booking.retry.max-attempts:5}") int maxAttempts,
+                                      @Value("${ticket-booking.booking.retry.initial-backoff-ms:10}")
+                                              long initialBackoffMs,
+                                      @Value("${ticket-booking.booking.retry.max-backoff-ms:200}")
+                                              long maxBackoffMs) {
+        this.eventLockTable = eventLockTable;
+        this.concurrencyMode = concurrencyMode;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(concurrencyMode == BookingConcurrencyMode.SERIALIZABLE
+                ? TransactionDefinition.ISOLATION_SERIALIZABLE
+                : TransactionDefinition.ISOLATION_READ_COMMITTED);
+        log.info("Bookings run in {} concurrency mode with at most {} attempts", concurrencyMode, this.maxAttempts);
+    }
+
+    /**
+     * Executes the booking of the event in a transaction. The transaction is rolled back
+     * if the booking throws an exception, transient failures are retried.
+     *
+     * @param <T>     the result type
+     * @param eventId the event id
+     * @param booking the booking
+     * @return the result of the booking
+     */
+    public <T> T execute(long eventId, Supplier<T> booking) {
+        return execute(Collections.singleton(eventId), booking);
+    }
+
+    /**
+     * Executes the booking of several events in one transaction. The transaction is rolled back
+     * if the booking throws an exception, transient failures are retried.
+     *
+     * @param <T>      the result type
+     * @param eventIds the event ids
+     * @param booking  the booking
+     * @return the result of the booking
+     */
+    public <T> T execute(Collection<Long> eventIds, Supplier<T> booking) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return executeOnce(eventIds, booking);
+            } catch (RuntimeException e) {
+                RetryReason reason = RetryReason.of(e);
+                if (reason == null) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter("booking.retries.exhausted", "reason", reason.getTag()).increment();
+                    log.warn("The booking of the events with ids {} failed after {} attempts: {}",
+                            eventIds, attempt, reason);
+                    throw e;
+                }
+                meterRegistry.counter("booking.retries", "reason", reason.getTag()).increment();
+                log.info("Retrying the booking of the events with ids {} after attempt {} failed: {}",
+                        eventIds, attempt, reason);
+                backoff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Executes one attempt of the booking.
+     *
+     * @param <T>      the result type
+     * @param eventIds the event ids
+     * @param booking  the booking
+     * @return the result of the booking
+     */
+    private <T> T executeOnce(Collection<Long> eventIds, Supplier<T> booking) {
+        if (concurrencyMode == BookingConcurrencyMode.SERIALIZABLE) {
+            return transactionTemplate.execute(status -> booking.get());
+        }
+        List<ReentrantLock> locks = eventLockTable.lockAll(eventIds);
+        try {
+            return transactionTemplate.execute(status -> booking.get());
+        } finally {
+            eventLockTable.unlockAll(locks);
+        }
+    }
+
+    /**
+     * Sleeps a random time up to the exponential backoff of the attempt.
+     *
+     * @param attempt the failed attempt
+     */
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(backoffMs(attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to retry the booking", e);
+        }
+    }
+
+    /**
+     * Gets a random backoff of the attempt, up to the exponential backoff ceiling.
+     *
+     * @param attempt the failed attempt
+     * @return the backoff in milliseconds
+     */
+    long backoffMs(int attempt) {
+        return ThreadLocalRandom.current().nextLong(backoffCeilingMs(attempt) + 1);
+    }
+
+    /**
+     * Gets the exponential backoff ceiling of the attempt, capped by the maximum backoff.
+     *
+     * @param attempt the failed attempt
+     * @return the backoff ceiling in milliseconds
+     */
+    long backoffCeilingMs(int attempt) {
+        return Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+    }
+}
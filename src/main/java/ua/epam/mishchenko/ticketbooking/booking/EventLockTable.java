@@ -0,0 +1,131 @@
+package ua.epam.mishchenko.ticketbooking.booking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The striped lock table of events.
+ * <p>
+ * Every event is mapped to one of a fixed number of locks, so bookings of the same event are serialized
+ * while bookings of different events almost never wait for each other.
+ */
+@Component
+public class EventLockTable {
+
+    /**
+     * The locks.
+     */
+    private final ReentrantLock[] stripes;
+
+    /**
+     * The mask of the stripe index.
+     */
+    private final int mask;
+
+    /**
+     * The lock timeout in milliseconds.
+     */
+    private final long lockTimeoutMs;
+
+    /**
+     * Instantiates a new Event lock table.
+     *
+     * @param stripes       the number of stripes, rounded up to a power of two
+     * @param lockTimeoutMs the lock timeout in milliseconds
+     */
+    public EventLockTable(@Value("${ticket-booking.booking.lock-stripes:256}") int stripes,
+                          @Value("${ticket-booking.booking.lock-timeout-ms:5000}") long lockTimeoutMs) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.lockTimeoutMs = lockTimeoutMs;
+    }
+
+    /**
+     * Locks the stripe of the event.
+     *
+     * @param eventId the event id
+     * @return the locked lock, it must be unlocked by the caller
+     */
+    public ReentrantLock lock(long eventId) {
+        return lockStripe(stripeOf(eventId), Collections.singleton(eventId));
+    }
+
+    /**
+     * Locks the stripes of the events. The stripes are locked in ascending order of their index,
+     * so two callers locking overlapping sets of events can not deadlock.
+     *
+     * @param eventIds the event ids
+     * @return the locked locks, they must be unlocked by the caller
+     */
+    public List<ReentrantLock> lockAll(Collection<Long> eventIds) {
+        TreeSet<Integer> stripeIndexes = new TreeSet<>();
+        for (Long eventId : eventIds) {
+            stripeIndexes.add(stripeOf(eventId));
+        }
+        List<ReentrantLock> locks = new ArrayList<>(stripeIndexes.size());
+        try {
+            for (Integer stripeIndex : stripeIndexes) {
+                locks.add(lockStripe(stripeIndex, eventIds));
+            }
+            return locks;
+        } catch (RuntimeException e) {
+            unlockAll(locks);
+            throw e;
+        }
+    }
+
+    /**
+     * Unlocks the locks.
+     *
+     * @param locks the locks
+     */
+    public void unlockAll(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    /**
+     * Locks the stripe.
+     *
+     * @param stripeIndex the stripe index
+     * @param eventIds    the event ids the stripe is locked for
+     * @return the locked lock
+     */
+    private ReentrantLock lockStripe(int stripeIndex, Collection<Long> eventIds) {
+        ReentrantLock lock = stripes[stripeIndex];
+        try {
+            if (!lock.tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Can not to lock the events with ids " + eventIds +
+                        " in " + lockTimeoutMs + " ms");
+            }
+            return lock;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while locking the events with ids " + eventIds, e);
+        }
+    }
+
+    /**
+     * Gets the stripe index of the event.
+     *
+     * @param eventId the event id
+     * @return the stripe index
+     */
+    int stripeOf(long eventId) {
+        int hash = Long.hashCode(eventId * 0x9E3779B97F4A7C15L);
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,202 @@
+package ua.epam.mishchenko.ticketbooking.booking;
+
+import ua.epam.mishchenko.ticketbooking.model.Category;
+import ua.epam.mishchenko.ticketbooking.model.Seat;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The bitmap of booked seats of one event.
+ * <p>
+ * Every (place, category) pair maps to one bit, so an event with a thousand places
+ * in every category fits in a few hundred bytes. A place is booked once per event whatever
+ * its category, like the tickets table requires, so a seat is free only if its place is booked
+ * in no category.
+ */
+class EventSeats {
+
+    /**
+     * The number of categories, one bit per category for every place.
+     */
+    private static final int CATEGORIES = Category.values().length;
+
+    /**
+     * The greatest place the bitmap accepts, it bounds the memory of a single event. The bookings and the holds
+     * of a seat are checked against it.
+     */
+    static final int MAX_PLACE = 1 << 20;
+
+    /**
+     * The booked seats.
+     */
+    private final BitSet booked = new BitSet();
+
+    /**
+     * The free run trees by category ordinal, built on the first allocation in the category.
+     */
+    private final FreeRunTree[] freeRuns = new FreeRunTree[CATEGORIES];
+
+    /**
+     * Is seat free.
+     *
+     * @param place    the place
+     * @param category the category
+     * @return the boolean
+     */
+    synchronized boolean isFree(int place, Category category) {
+        return !isPlaceBooked(place, category);
+    }
+
+    /**
+     * Claims a seat if it is free.
+     *
+     * @param place    the place
+     * @param category the category
+     * @return true if the seat was free and is claimed now
+     */
+    synchronized boolean tryClaim(int place, Category category) {
+        int index = indexOf(place, category);
+        if (isPlaceBooked(place, category)) {
+            return false;
+        }
+        booked.set(index);
+        markFree(place, false);
+        return true;
+    }
+
+    /**
+     * Claims all seats if every one of them is free, otherwise claims none.
+     *
+     * @param seats the seats
+     * @return true if all seats were free and are claimed now
+     */
+    synchronized boolean tryClaimAll(Collection<Seat> seats) {
+        for (Seat seat : seats) {
+            if (isPlaceBooked(seat.getPlace(), seat.getCategory())) {
+                return false;
+            }
+        }
+        for (Seat seat : seats) {
+            booked.set(indexOf(seat.getPlace(), seat.getCategory()));
+            markFree(seat.getPlace(), false);
+        }
+        return true;
+    }
+
+    /**
+     * Claims the best available adjacent seats of the category, the ones with the lowest places.
+     *
+     * @param category the category
+     * @param count    the number of seats
+     * @param places   the number of places of the category
+     * @return the claimed seats or an empty list if there are no such adjacent free seats
+     */
+    synchronized List<Seat> tryClaimBestAvailable(Category category, int count, int places) {
+        FreeRunTree tree = freeRunTree(category, places);
+        int first = tree.findFirstRun(count);
+        if (first < 0) {
+            return Collections.emptyList();
+        }
+        List<Seat> seats = new ArrayList<>(count);
+        for (int place = first; place < first + count; place++) {
+            booked.set(indexOf(place, category));
+            markFree(place, false);
+            seats.add(new Seat(place, category));
+        }
+        return seats;
+    }
+
+    /**
+     * Releases a seat, a place booked in another category stays booked.
+     *
+     * @param place    the place
+     * @param category the category
+     */
+    synchronized void release(int place, Category category) {
+        int index = indexOf(place, category);
+        if (booked.get(index)) {
+            booked.clear(index);
+            markFree(place, true);
+        }
+    }
+
+    /**
+     * Gets the number of booked seats.
+     *
+     * @return the number of booked seats
+     */
+    synchronized int bookedCount() {
+        return booked.cardinality();
+    }
+
+    /**
+     * Gets the free run tree of the category, building it from the bitmap if it does not exist
+     * or covers another number of places.
+     *
+     * @param category the category
+     * @param places   the number of places
+     * @return the free run tree
+     */
+    private FreeRunTree freeRunTree(Category category, int places) {
+        if (places < 1 || places > MAX_PLACE) {
+            throw new IllegalArgumentException("The number of places must be between 1 and " + MAX_PLACE +
+                    ": " + places);
+        }
+        FreeRunTree tree = freeRuns[category.ordinal()];
+        if (tree == null || tree.size() != places) {
+            tree = new FreeRunTree(places);
+            for (int place = 1; place <= places; place++) {
+                if (isPlaceBooked(place, category)) {
+                    tree.setFree(place, false);
+                }
+            }
+            freeRuns[category.ordinal()] = tree;
+        }
+        return tree;
+    }
+
+    /**
+     * Is the place of the seat booked in any category.
+     *
+     * @param place    the place
+     * @param category the category
+     * @return the boolean
+     */
+    private boolean isPlaceBooked(int place, Category category) {
+        int first = indexOf(place, category) - category.ordinal();
+        int next = booked.nextSetBit(first);
+        return next >= 0 && next < first + CATEGORIES;
+    }
+
+    /**
+     * Marks the place as free or taken in the built free run trees of all categories.
+     *
+     * @param place the place
+     * @param free  true if the place is free
+     */
+    private void markFree(int place, boolean free) {
+        for (FreeRunTree tree : freeRuns) {
+            if (tree != null) {
+                tree.setFree(place, free);
+            }
+        }
+    }
+
+    /**
+     * Index of the seat in the bitmap.
+     *
+     * @param place    the place
+     * @param category the category
+     * @return the index
+     */
+    private int indexOf(int place, Category category) {
+        if (place < 1 || place > MAX_PLACE) {
+            throw new IllegalArgumentException("The place must be between 1 and " + MAX_PLACE + ": " + place);
+        }
+        return place * CATEGORIES + category.ordinal();
+    }
+}
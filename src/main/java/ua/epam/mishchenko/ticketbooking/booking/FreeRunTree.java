@@ -0,0 +1,127 @@
+package ua.epam.mishchenko.ticketbooking.booking;
+
+/**
+ * The segment tree of free runs of places 1..size of one category.
+ * <p>
+ * Every node keeps the longest free run of its range and the free runs touching its left and right edges,
+ * so the leftmost run of n adjacent free places is found and every place is updated in O(log size).
+ * The tree is not thread safe, it is guarded by its {@link EventSeats}.
+ */
+class FreeRunTree {
+
+    /**
+     * The number of places.
+     */
+    private final int size;
+
+    /**
+     * The longest free run of the node range.
+     */
+    private final int[] longest;
+
+    /**
+     * The free run starting at the left edge of the node range.
+     */
+    private final int[] prefix;
+
+    /**
+     * The free run ending at the right edge of the node range.
+     */
+    private final int[] suffix;
+
+    /**
+     * Instantiates a new Free run tree with all places free.
+     *
+     * @param size the number of places
+     */
+    FreeRunTree(int size) {
+        this.size = size;
+        this.longest = new int[4 * size];
+        this.prefix = new int[4 * size];
+        this.suffix = new int[4 * size];
+        build(1, 1, size);
+    }
+
+    /**
+     * Gets the number of places.
+     *
+     * @return the number of places
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Marks the place as free or taken.
+     *
+     * @param place the place
+     * @param free  true if the place is free
+     */
+    void setFree(int place, boolean free) {
+        if (place >= 1 && place <= size) {
+            update(1, 1, size, place, free ? 1 : 0);
+        }
+    }
+
+    /**
+     * Finds the leftmost run of adjacent free places.
+     *
+     * @param length the length of the run
+     * @return the first place of the run or -1 if there is no such run
+     */
+    int findFirstRun(int length) {
+        if (length < 1 || longest[1] < length) {
+            return -1;
+        }
+        return find(1, 1, size, length);
+    }
+
+    private void build(int node, int from, int to) {
+        if (from == to) {
+            longest[node] = prefix[node] = suffix[node] = 1;
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        build(2 * node, from, middle);
+        build(2 * node + 1, middle + 1, to);
+        merge(node, middle - from + 1, to - middle);
+    }
+
+    private void update(int node, int from, int to, int place, int free) {
+        if (from == to) {
+            longest[node] = prefix[node] = suffix[node] = free;
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        if (place <= middle) {
+            update(2 * node, from, middle, place, free);
+        } else {
+            update(2 * node + 1, middle + 1, to, place, free);
+        }
+        merge(node, middle - from + 1, to - middle);
+    }
+
+    private int find(int node, int from, int to, int length) {
+        if (from == to) {
+            return from;
+        }
+        int middle = (from + to) >>> 1;
+        int left = 2 * node;
+        int right = left + 1;
+        if (longest[left] >= length) {
+            return find(left, from, middle, length);
+        }
+        if (suffix[left] + prefix[right] >= length) {
+            return middle - suffix[left] + 1;
+        }
+        return find(right, middle + 1, to, length);
+    }
+
+    private void merge(int node, int leftSize, int rightSize) {
+        int left = 2 * node;
+        int right = left + 1;
+        prefix[node] = prefix[left] == leftSize ? leftSize + prefix[right] : prefix[left];
+        suffix[node] = suffix[right] == rightSize ? rightSize + suffix[left] : suffix[right];
+        longest[node] = Math.max(Math.max(longest[left], longest[right]), suffix[left] + prefix[right]);
+    }
+}
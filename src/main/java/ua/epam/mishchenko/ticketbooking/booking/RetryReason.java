@@ -0,0 +1,93 @@
+package ua.epam.mishchenko.ticketbooking.booking;
+
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.sql.SQLException;
+
+/**
+ * The reason of a transient booking failure which is worth retrying.
+ */
+public enum RetryReason {
+
+    /**
+     * The serialization failure, SQLSTATE 40001.
+     */
+    SERIALIZATION_FAILURE("serialization_failure"),
+
+    /**
+     * The deadlock, SQLSTATE 40P01.
+     */
+    DEADLOCK("deadlock"),
+
+    /**
+     * The lock not available, SQLSTATE 55P03.
+     */
+    LOCK_NOT_AVAILABLE("lock_not_available"),
+
+    /**
+     * Any other concurrency failure reported by Spring.
+     */
+    CONCURRENCY_FAILURE("concurrency_failure");
+
+    /**
+     * The metric tag.
+     */
+    private final String tag;
+
+    RetryReason(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Gets metric tag.
+     *
+     * @return the metric tag
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * Finds the retry reason of the exception.
+     *
+     * @param e the exception
+     * @return the retry reason or null if the exception is not transient
+     */
+    public static RetryReason of(Throwable e) {
+        boolean concurrencyFailure = false;
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                RetryReason reason = ofSqlState(((SQLException) cause).getSQLState());
+                if (reason != null) {
+                    return reason;
+                }
+            }
+            if (cause instanceof ConcurrencyFailureException) {
+                concurrencyFailure = true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return concurrencyFailure ? CONCURRENCY_FAILURE : null;
+    }
+
+    /**
+     * Finds the retry reason of the SQL state.
+     *
+     * @param sqlState the SQL state
+     * @return the retry reason or null if the SQL state is not transient
+     */
+    private static RetryReason ofSqlState(String sqlState) {
+        if ("40001".equals(sqlState)) {
+            return SERIALIZATION_FAILURE;
+        }
+        if ("40P01".equals(sqlState)) {
+            return DEADLOCK;
+        }
+        if ("55P03".equals(sqlState)) {
+            return LOCK_NOT_AVAILABLE;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,108 @@
+package ua.epam.mishchenko.ticketbooking.booking;
+
+import ua.epam.mishchenko.ticketbooking.model.Seat;
+
+import java.util.Date;
+
+/**
+ * The hold of a seat for a user until the user confirms it into a ticket or the hold expires.
+ */
+public final class SeatHold {
+
+    /**
+     * The hold id.
+     */
+    private final String id;
+
+    /**
+     * The user id.
+     */
+    private final long userId;
+
+    /**
+     * The event id.
+     */
+    private final long eventId;
+
+    /**
+     * The held seat.
+     */
+    private final Seat seat;
+
+    /**
+     * The expiration time in milliseconds since the epoch.
+     */
+    private final long expiresAt;
+
+    /**
+     * Instantiates a new Seat hold.
+     *
+     * @param id        the hold id
+     * @param userId    the user id
+     * @param eventId   the event id
+     * @param seat      the seat
+     * @param expiresAt the expiration time in milliseconds since the epoch
+     */
+    public SeatHold(String id, long userId, long eventId, Seat seat, long expiresAt) {
+        this.id = id;
+        this.userId = userId;
+        this.eventId = eventId;
+        this.seat = seat;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public long getEventId() {
+        return eventId;
+    }
+
+    public Seat getSeat() {
+        return seat;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Gets expiration date.
+     *
+     * @return the expiration date
+     */
+    public Date getExpirationDate() {
+        return new Date(expiresAt);
+    }
+
+    /**
+     * Is expired boolean.
+     *
+     * @param now the current time in milliseconds since the epoch
+     * @return the boolean
+     */
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+
+    /**
+     * To string string.
+     *
+     * @return the string
+     */
+    @Override
+    public String toString() {
+        return "{" +
+                "'id' : '" + id + '\'' +
+                ", 'userId' : " + userId +
+                ", 'eventId' : " + eventId +
+                ", 'seat' : " + seat +
+                ", 'expiresAt' : " + expiresAt +
+                "}";
+    }
+}
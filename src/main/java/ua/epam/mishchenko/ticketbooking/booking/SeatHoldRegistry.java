@@ -0,0 +1,192 @@
+package ua.epam.mishchenko.ticketbooking.booking;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ua.epam.mishchenko.ticketbooking.model.Seat;
+import ua.epam.mishchenko.ticketbooking.repository.EventRepository;
+
+import javax.annotation.PreDestroy;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The registry of seat holds.
+ * <p>
+ * A hold claims the seat in the {@link SeatInventory}, so nobody else can book it, and lives in memory only.
+ * Expired holds are swept by a timing wheel which releases their seats. Only the seats of existing events
+ * within the places the inventory accepts for a booking can be held, so holds can not grow the inventory
+ * without bound. The event is looked up by id, which the second level cache serves without a query.
+ */
+@Component
+public class SeatHoldRegistry {
+
+    /**
+     * The constant log.
+     */
+    private static final Logger log = LoggerFactory.getLogger(SeatHoldRegistry.class);
+
+    /**
+     * The seat inventory.
+     */
+    private final SeatInventory seatInventory;
+
+    /**
+     * The event repository.
+     */
+    private final EventRepository eventRepository;
+
+    /**
+     * The holds by id.
+     */
+    private final ConcurrentMap<String, SeatHold> holds = new ConcurrentHashMap<>();
+
+    /**
+     * The expiry wheel of the holds.
+     */
+    private final TimingWheel<SeatHold> expiryWheel;
+
+    /**
+     * The sweeper of expired holds.
+     */
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * The maximum time to live of a hold in seconds.
+     */
+    private final long maxTtlSeconds;
+
+    /**
+     * Instantiates a new Seat hold registry.
+     *
+     * @param seatInventory     the seat inventory
+     * @param eventRepository   the event repository
+     * @param maxTtlSeconds     the maximum time to live of a hold in seconds
+     * @param tickMs            the tick of the expiry wheel in milliseconds
+     * @param wheelSize         the number of buckets of the expiry wheel
+     */
+    public SeatHoldRegistry(SeatInventory seatInventory, EventRepository eventRepository,
+                            @Value("${ticket-booking.holds.max-ttl-seconds:900}") long maxTtlSeconds,
+                            @Value("${ticket-booking.holds.tick-ms:1000}") long tickMs,
+                            @Value("${ticket-booking.holds.wheel-size:512}") int wheelSize) {
+        this.seatInventory = seatInventory;
+        this.eventRepository = eventRepository;
+        this.maxTtlSeconds = maxTtlSeconds;
+        this.expiryWheel = new TimingWheel<>(wheelSize, tickMs);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-hold-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sweeper.scheduleAtFixedRate(this::sweep, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Holds the seat of the event for the user.
+     *
+     * @param userId     the user id
+     * @param eventId    the event id
+     * @param seat       the seat
+     * @param ttlSeconds the time to live of the hold in seconds
+     * @return the seat hold or null if the seat is not free
+     * @throws IllegalArgumentException if the time to live or the place is out of range or the event does not exist
+     */
+    public SeatHold hold(long userId, long eventId, Seat seat, long ttlSeconds) {
+        if (ttlSeconds <= 0 || ttlSeconds > maxTtlSeconds) {
+            throw new IllegalArgumentException("The time to live of a hold must be between 1 and " +
+                    maxTtlSeconds + " seconds: " + ttlSeconds);
+        }
+        if (!eventRepository.findById(eventId).isPresent()) {
+            throw new IllegalArgumentException("Can not to find an event by id: " + eventId);
+        }
+        if (!seatInventory.tryClaim(eventId, seat.getPlace(), seat.getCategory())) {
+            return null;
+        }
+        long ttlMs = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        SeatHold hold = new SeatHold(UUID.randomUUID().toString(), userId, eventId, seat,
+                System.currentTimeMillis() + ttlMs);
+        holds.put(hold.getId(), hold);
+        expiryWheel.schedule(hold, ttlMs);
+        log.debug("The seat hold {} created", hold);
+        return hold;
+    }
+
+    /**
+     * Takes the hold of the user out of the registry. The seat stays claimed, so the caller owns it
+     * and must either book it or release it.
+     *
+     * @param holdId the hold id
+     * @param userId the user id
+     * @return the seat hold or null if there is no active hold with this id for the user
+     */
+    public SeatHold take(String holdId, long userId) {
+        SeatHold hold = holds.get(holdId);
+        if (hold == null || hold.getUserId() != userId || hold.isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+        return holds.remove(holdId, hold) ? hold : null;
+    }
+
+    /**
+     * Releases the hold of the user and its seat.
+     *
+     * @param holdId the hold id
+     * @param userId the user id
+     * @return true if the hold was active
+     */
+    public boolean release(String holdId, long userId) {
+        SeatHold hold = take(holdId, userId);
+        if (hold == null) {
+            return false;
+        }
+        releaseSeat(hold);
+        return true;
+    }
+
+    /**
+     * Gets the number of active holds.
+     *
+     * @return the number of active holds
+     */
+    public int size() {
+        return holds.size();
+    }
+
+    /**
+     * Advances the expiry wheel and releases the seats of expired holds.
+     */
+    private void sweep() {
+        try {
+            expiryWheel.advance(hold -> {
+                if (holds.remove(hold.getId(), hold)) {
+                    log.debug("The seat hold {} expired", hold);
+                    releaseSeat(hold);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Can not to sweep expired seat holds", e);
+        }
+    }
+
+    /**
+     * Releases the seat of the hold.
+     *
+     * @param hold the hold
+     */
+    private void releaseSeat(SeatHold hold) {
+        seatInventory.release(hold.getEventId(), hold.getSeat().getPlace(), hold.getSeat().getCategory());
+    }
+
+    /**
+     * Stops the sweeper.
+     */
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+}
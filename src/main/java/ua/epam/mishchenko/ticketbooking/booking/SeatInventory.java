@@ -0,0 +1,151 @@
+package ua.epam.mishchenko.ticketbooking.booking;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import ua.epam.mishchenko.ticketbooking.model.Category;
+import ua.epam.mishchenko.ticketbooking.model.Seat;
+import ua.epam.mishchenko.ticketbooking.repository.TicketRepository;
+import ua.epam.mishchenko.ticketbooking.repository.projection.BookedSeat;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The in-memory seat inventory.
+ * <p>
+ * Keeps a bitmap of booked seats per event, so the booking path can check and claim a seat
+ * without a round trip to the database. An event which is not in memory yet is loaded from the tickets
+ * table on first access, atomically with respect to the claims on it, so a claim is never dropped by
+ * a reload of the inventory.
+ */
+@Component
+public class SeatInventory {
+
+    /**
+     * The constant log.
+     */
+    private static final Logger log = LoggerFactory.getLogger(SeatInventory.class);
+
+    /**
+     * The ticket repository.
+     */
+    private final TicketRepository ticketRepository;
+
+    /**
+     * The booked seats by event id.
+     */
+    private final ConcurrentMap<Long, EventSeats> seatsByEvent = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new Seat inventory.
+     *
+     * @param ticketRepository the ticket repository
+     */
+    public SeatInventory(TicketRepository ticketRepository) {
+        this.ticketRepository = ticketRepository;
+    }
+
+    /**
+     * Is seat free.
+     *
+     * @param eventId  the event id
+     * @param place    the place
+     * @param category the category
+     * @return the boolean
+     */
+    public boolean isFree(long eventId, int place, Category category) {
+        return eventSeats(eventId).isFree(place, category);
+    }
+
+    /**
+     * Claims a seat if it is free. The claim must be released if the booking is not committed.
+     *
+     * @param eventId  the event id
+     * @param place    the place
+     * @param category the category
+     * @return true if the seat was free and is claimed now
+     */
+    public boolean tryClaim(long eventId, int place, Category category) {
+        return eventSeats(eventId).tryClaim(place, category);
+    }
+
+    /**
+     * Claims all seats of the event if every one of them is free, otherwise claims none.
+     * The claims must be released if the booking is not committed.
+     *
+     * @param eventId the event id
+     * @param seats   the seats
+     * @return true if all seats were free and are claimed now
+     */
+    public boolean tryClaimAll(long eventId, Collection<Seat> seats) {
+        return eventSeats(eventId).tryClaimAll(seats);
+    }
+
+    /**
+     * Claims the best available adjacent seats of the category, the ones with the lowest places.
+     * The claims must be released if the booking is not committed.
+     *
+     * @param eventId  the event id
+     * @param category the category
+     * @param count    the number of seats
+     * @param places   the number of places of the category
+     * @return the claimed seats or an empty list if there are no such adjacent free seats
+     */
+    public List<Seat> tryClaimBestAvailable(long eventId, Category category, int count, int places) {
+        return eventSeats(eventId).tryClaimBestAvailable(category, count, places);
+    }
+
+    /**
+     * Releases a seat.
+     *
+     * @param eventId  the event id
+     * @param place    the place
+     * @param category the category
+     */
+    public void release(long eventId, int place, Category category) {
+        EventSeats eventSeats = seatsByEvent.get(eventId);
+        if (eventSeats != null) {
+            eventSeats.release(place, category);
+        }
+    }
+
+    /**
+     * Releases the seats of the event.
+     *
+     * @param eventId the event id
+     * @param seats   the seats
+     */
+    public void releaseAll(long eventId, Collection<Seat> seats) {
+        for (Seat seat : seats) {
+            release(eventId, seat.getPlace(), seat.getCategory());
+        }
+    }
+
+    /**
+     * Gets the seats of the event, loading them from the tickets table on first access.
+     *
+     * @param eventId the event id
+     * @return the event seats
+     */
+    private EventSeats eventSeats(long eventId) {
+        return seatsByEvent.computeIfAbsent(eventId, this::loadEventSeats);
+    }
+
+    /**
+     * Loads the booked seats of the event.
+     *
+     * @param eventId the event id
+     * @return the event seats
+     */
+    private EventSeats loadEventSeats(Long eventId) {
+        log.debug("Loading the booked seats of the event with id: {}", eventId);
+        EventSeats eventSeats = new EventSeats();
+        for (BookedSeat bookedSeat : ticketRepository.findBookedSeatsByEventId(eventId)) {
+            eventSeats.tryClaim(bookedSeat.getPlace(), bookedSeat.getCategory());
+        }
+        return eventSeats;
+    }
+}
@@ -0,0 +1,109 @@
+package ua.epam.mishchenko.ticketbooking.booking;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * The hashed timing wheel.
+ * <p>
+ * Items are put into the bucket of the tick they expire at, so scheduling is O(1) and every tick only
+ * visits one bucket. Items which expire more than one revolution ahead stay in their bucket until their
+ * own tick comes. Scheduling is thread safe, the wheel must be advanced by a single thread. An item may be
+ * reported up to one tick late, so the owner of an item must still check the exact expiry time itself.
+ *
+ * @param <T> the item type
+ */
+class TimingWheel<T> {
+
+    /**
+     * The buckets.
+     */
+    private final Queue<Entry<T>>[] buckets;
+
+    /**
+     * The tick duration in milliseconds.
+     */
+    private final long tickMs;
+
+    /**
+     * The current tick.
+     */
+    private volatile long currentTick;
+
+    /**
+     * Instantiates a new Timing wheel.
+     *
+     * @param wheelSize the number of buckets
+     * @param tickMs    the tick duration in milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    TimingWheel(int wheelSize, long tickMs) {
+        this.buckets = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.tickMs = tickMs;
+    }
+
+    /**
+     * Schedules the item to expire after the delay.
+     *
+     * @param item    the item
+     * @param delayMs the delay in milliseconds
+     */
+    void schedule(T item, long delayMs) {
+        long ticks = Math.max(1, (delayMs + tickMs - 1) / tickMs);
+        // one spare tick, so an item scheduled while its bucket is being advanced is not missed
+        long deadline = currentTick + ticks + 1;
+        buckets[(int) (deadline % buckets.length)].add(new Entry<>(item, deadline));
+    }
+
+    /**
+     * Advances the wheel by one tick and passes the expired items to the consumer.
+     *
+     * @param expired the consumer of expired items
+     */
+    void advance(Consumer<T> expired) {
+        long tick = currentTick + 1;
+        currentTick = tick;
+        Iterator<Entry<T>> iterator = buckets[(int) (tick % buckets.length)].iterator();
+        while (iterator.hasNext()) {
+            Entry<T> entry = iterator.next();
+            if (entry.deadline <= tick) {
+                iterator.remove();
+                expired.accept(entry.item);
+            }
+        }
+    }
+
+    /**
+     * The entry of the wheel.
+     *
+     * @param <T> the item type
+     */
+    private static final class Entry<T> {
+
+        /**
+         * The item.
+         */
+        private final T item;
+
+        /**
+         * The tick the item expires at.
+         */
+        private final long deadline;
+
+        /**
+         * Instantiates a new Entry.
+         *
+         * @param item     the item
+         * @param deadline the deadline tick
+         */
+        private Entry(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package ua.epam.mishchenko.ticketbooking.config;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import ua.epam.mishchenko.ticketbooking.model.Event;
+import ua.epam.mishchenko.ticketbooking.model.Ticket;
+import ua.epam.mishchenko.ticketbooking.model.User;
+import ua.epam.mishchenko.ticketbooking.model.UserAccount;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * The configuration of the second-level cache of Hibernate.
+ * <p>
+ * The regions live in an Ehcache 3 cache manager used through JCache. Every region has its own heap size
+ * and time to live, read from {@code ticket-booking.cache.<region>.heap-entries} and
+ * {@code ticket-booking.cache.<region>.ttl-seconds}. The event region can also get an off-heap tier with
+ * {@code ticket-booking.cache.event.offheap-mb}, so a large catalog is kept outside of the garbage collected
+ * heap. The update timestamps region never expires, otherwise cached query results could outlive the
+ * updates of their tables.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /**
+     * The constant log.
+     */
+    private static final Logger log = LoggerFactory.getLogger(SecondLevelCacheConfig.class);
+
+    /**
+     * The constant prefix of the properties of the regions.
+     */
+    private static final String PROPERTY_PREFIX = "ticket-booking.cache.";
+
+    /**
+     * Creates the cache manager of the regions, it is closed with the context.
+     *
+     * @param environment the environment
+     * @return the cache manager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(Environment environment) {
+        ConfigurationBuilder configuration = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(Event.class.getName(), entityRegion(environment, "event", 10000, 3600,
+                        environment.getProperty(PROPERTY_PREFIX + "event.offheap-mb", Long.class, 0L)))
+                .withCache(Ticket.class.getName(), entityRegion(environment, "ticket", 50000, 600, 0))
+                .withCache(User.class.getName(), entityRegion(environment, "user", 10000, 1800, 0))
+                .withCache(UserAccount.class.getName(), entityRegion(environment, "user-account", 10000, 300, 0))
+                .withCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                        entityRegion(environment, "query-results", 5000, 300, 0))
+                .withCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                        CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                                ResourcePoolsBuilder.heap(environment.getProperty(
+                                        PROPERTY_PREFIX + "update-timestamps.heap-entries", Long.class, 1000L)))
+                                .withExpiry(ExpiryPolicyBuilder.noExpiration())
+                                .build());
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        URI uri = URI.create("urn:ticket-booking:second-level-cache:" + UUID.randomUUID());
+        return provider.getCacheManager(uri, configuration.build());
+    }
+
+    /**
+     * Hands the cache manager to the JCache region factory of Hibernate.
+     *
+     * @param secondLevelCacheManager the cache manager of the regions
+     * @return the hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    /**
+     * Creates the configuration of a region from its properties.
+     *
+     * @param environment       the environment
+     * @param region            the name of the region in the properties
+     * @param defaultEntries    the default number of entries on the heap
+     * @param defaultTtlSeconds the default time to live in seconds
+     * @param offHeapMb         the size of the off-heap tier in megabytes, 0 for none
+     * @return the configuration of the region
+     */
+    private CacheConfiguration<Object, Object> entityRegion(Environment environment, String region,
+                                                            long defaultEntries, long defaultTtlSeconds,
+                                                            long offHeapMb) {
+        long entries = environment.getProperty(PROPERTY_PREFIX + region + ".heap-entries", Long.class, defaultEntries);
+        long ttlSeconds = environment.getProperty(PROPERTY_PREFIX + region + ".ttl-seconds", Long.class,
+                defaultTtlSeconds);
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.newResourcePoolsBuilder()
+                .heap(entries, EntryUnit.ENTRIES);
+        if (offHeapMb > 0) {
+            resourcePools = resourcePools.offheap(offHeapMb, MemoryUnit.MB);
+        }
+        log.info("The cache region {}: {} entries on the heap, {} MB off the heap, {} seconds to live",
+                region, entries, offHeapMb, ttlSeconds);
+        return CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, resourcePools)
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ttlSeconds)))
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package ua.epam.mishchenko.ticketbooking.db;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The statement inspector which counts the SQL statements prepared by Hibernate in the current thread.
+ * The statements can also be captured, to explain the SQL the repositories actually run.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    /**
+     * The number of statements prepared by the current thread.
+     */
+    private static final ThreadLocal<long[]> STATEMENT_COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * The statements captured by the current thread, null if it does not capture.
+     */
+    private static final ThreadLocal<List<String>> CAPTURED_STATEMENTS = new ThreadLocal<>();
+
+    /**
+     * Counts the statement and returns it unchanged.
+     *
+     * @param sql the sql
+     * @return the sql
+     */
+    @Override
+    public String inspect(String sql) {
+        STATEMENT_COUNT.get()[0]++;
+        List<String> capturedStatements = CAPTURED_STATEMENTS.get();
+        if (capturedStatements != null) {
+            capturedStatements.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Gets the number of statements prepared by the current thread so far.
+     *
+     * @return the statement count
+     */
+    public static long getStatementCount() {
+        return STATEMENT_COUNT.get()[0];
+    }
+
+    /**
+     * Starts capturing the statements prepared by the current thread.
+     */
+    public static void startCapture() {
+        CAPTURED_STATEMENTS.set(new ArrayList<>());
+    }
+
+    /**
+     * Stops capturing the statements prepared by the current thread.
+     *
+     * @return the statements prepared since the capture started
+     */
+    public static List<String> stopCapture() {
+        List<String> capturedStatements = CAPTURED_STATEMENTS.get();
+        CAPTURED_STATEMENTS.remove();
+        return capturedStatements == null ? Collections.emptyList() : capturedStatements;
+    }
+}
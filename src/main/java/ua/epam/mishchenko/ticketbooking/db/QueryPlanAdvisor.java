@@ -0,0 +1,313 @@
+package ua.epam.mishchenko.ticketbooking.db;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.epam.mishchenko.ticketbooking.model.Category;
+import ua.epam.mishchenko.ticketbooking.repository.EventRepository;
+import ua.epam.mishchenko.ticketbooking.repository.LedgerEntryRepository;
+import ua.epam.mishchenko.ticketbooking.repository.TicketRepository;
+import ua.epam.mishchenko.ticketbooking.repository.UserAccountRepository;
+import ua.epam.mishchenko.ticketbooking.repository.UserRepository;
+import ua.epam.mishchenko.ticketbooking.repository.projection.BookedTicketExport;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * The advisor of the indexes of the repository queries.
+ * <p>
+ * Calls every repository method which filters the rows with sample arguments in a rolled back transaction,
+ * captures the SQL Hibernate prepares for it with the {@link QueryCountingStatementInspector}, and flags
+ * the methods whose plan reads a table with a sequential scan. The SQL is prepared and its generic plan
+ * is explained, so the plan does not depend on the sample arguments. The test tables are small, so the planner
+ * would prefer sequential scans even where an index exists. The plans are made with sequential scans disabled
+ * instead, so a sequential scan left in a plan means there is no index the query can use. The generic plans
+ * need PostgreSQL 12 or newer.
+ */
+@Component
+public class QueryPlanAdvisor {
+
+    /**
+     * The constant log.
+     */
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanAdvisor.class);
+
+    /**
+     * The constant node type of a sequential scan.
+     */
+    private static final String SEQ_SCAN = "Seq Scan";
+
+    /**
+     * The constant prefix of the names of the prepared statements.
+     */
+    private static final String STATEMENT_NAME_PREFIX = "query_plan_advisor_";
+
+    /**
+     * The calls of the repository methods by repository method.
+     */
+    private final Map<String, Runnable> checks = new LinkedHashMap<>();
+
+    /**
+     * The number of prepared statements, every statement gets a new name.
+     */
+    private final AtomicLong preparedStatements = new AtomicLong();
+
+    /**
+     * The jdbc template.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The transaction template of one capture or plan.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The object mapper.
+     */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Whether the queries are checked on startup.
+     */
+    private final boolean checkOnStartup;
+
+    /**
+     * Instantiates a new Query plan advisor.
+     *
+     * @param jdbcTemplate          the jdbc template
+     * @param transactionManager    the transaction manager
+     * @param ticketRepository      the ticket repository
+     * @param eventRepository       the event repository
+     * @param userRepository        the user repository
+     * @param userAccountRepository the user account repository
+     * @param ledgerEntryRepository the ledger entry repository
+     * @param checkOnStartup        whether the queries are checked on startup
+     */
+    public QueryPlanAdvisor(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            TicketRepository ticketRepository, EventRepository eventRepository,
+                            UserRepository userRepository, UserAccountRepository userAccountRepository,
+                            LedgerEntryRepository ledgerEntryRepository,
+                            @Value("${ticket-booking.query-advisor.check-on-startup:false}") boolean checkOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkOnStartup = checkOnStartup;
+        Pageable page = PageRequest.of(0, 10);
+        Date now = new Date();
+        checks.put("TicketRepository.findWithEventById", () -> ticketRepository.findWithEventById(1L));
+        checks.put("TicketRepository.getAllByUserId", () -> ticketRepository.getAllByUserId(page, 1L));
+        checks.put("TicketRepository.countByUserId", () -> ticketRepository.countByUserId(1L));
+        checks.put("TicketRepository.getAllByUserIdAndIdGreaterThanOrderById",
+                () -> ticketRepository.getAllByUserIdAndIdGreaterThanOrderById(page, 1L, 0L));
+        checks.put("TicketRepository.streamBookedTicketsByUserId", () -> {
+            try (Stream<BookedTicketExport> tickets = ticketRepository.streamBookedTicketsByUserId(1L)) {
+                tickets.findFirst();
+            }
+        });
+        checks.put("TicketRepository.getAllByEventId", () -> ticketRepository.getAllByEventId(page, 1L));
+        checks.put("TicketRepository.countByEventId", () -> ticketRepository.countByEventId(1L));
+        checks.put("TicketRepository.getAllByEventIdAndIdGreaterThanOrderById",
+                () -> ticketRepository.getAllByEventIdAndIdGreaterThanOrderById(page, 1L, 0L));
+        checks.put("TicketRepository.existsByEventIdAndPlaceAndCategory",
+                () -> ticketRepository.existsByEventIdAndPlaceAndCategory(1L, 1, Category.STANDARD));
+        checks.put("TicketRepository.findBookedSeatsByEventId", () -> ticketRepository.findBookedSeatsByEventId(1L));
+        checks.put("EventRepository.getAllByTitle", () -> eventRepository.getAllByTitle(page, "title"));
+        checks.put("EventRepository.countByTitle", () -> eventRepository.countByTitle("title"));
+        checks.put("EventRepository.getAllByTitleAndIdGreaterThanOrderById",
+                () -> eventRepository.getAllByTitleAndIdGreaterThanOrderById(page, "title", 0L));
+        checks.put("EventRepository.getAllByDate", () -> eventRepository.getAllByDate(page, now));
+        checks.put("EventRepository.countByDate", () -> eventRepository.countByDate(now));
+        checks.put("EventRepository.getAllByDateAndIdGreaterThanOrderById",
+                () -> eventRepository.getAllByDateAndIdGreaterThanOrderById(page, now, 0L));
+        checks.put("EventRepository.existsByTitleAndDate", () -> eventRepository.existsByTitleAndDate("title", now));
+        checks.put("UserRepository.getByEmail", () -> userRepository.getByEmail("email"));
+        checks.put("UserRepository.getAllByName", () -> userRepository.getAllByName(page, "name"));
+        checks.put("UserRepository.countByName", () -> userRepository.countByName("name"));
+        checks.put("UserRepository.getAllByNameAndIdGreaterThanOrderById",
+                () -> userRepository.getAllByNameAndIdGreaterThanOrderById(page, "name", 0L));
+        checks.put("UserRepository.existsByEmail", () -> userRepository.existsByEmail("email"));
+        checks.put("UserAccountRepository.findByUserId", () -> userAccountRepository.findByUserId(1L));
+        checks.put("LedgerEntryRepository.findHead", () -> ledgerEntryRepository.findHead(1L));
+    }
+
+    /**
+     * Checks the queries on startup if it is enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkOnStartup() {
+        if (checkOnStartup) {
+            advise();
+        }
+    }
+
+    /**
+     * Explains the SQL of every repository method and logs the methods which scan a table sequentially.
+     *
+     * @return the tables scanned sequentially by repository method, the methods without sequential scans
+     * are left out
+     */
+    public Map<String, List<String>> advise() {
+        Map<String, List<String>> findings = new LinkedHashMap<>();
+        for (Map.Entry<String, Runnable> check : checks.entrySet()) {
+            try {
+                List<String> statements = captureStatements(check.getValue());
+                if (statements.isEmpty()) {
+                    log.warn("The query of {} prepared no statement, it is not checked", check.getKey());
+                    continue;
+                }
+                List<String> tables = new ArrayList<>();
+                for (String sql : statements) {
+                    tables.addAll(findSeqScans(explain(sql)));
+                }
+                if (!tables.isEmpty()) {
+                    findings.put(check.getKey(), tables);
+                    log.warn("The query of {} scans {} sequentially, an index on its filter is missing",
+                            check.getKey(), tables);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Can not explain the query of {}", check.getKey(), e);
+            }
+        }
+        if (findings.isEmpty()) {
+            log.info("All {} repository queries use indexes", checks.size());
+        }
+        return findings;
+    }
+
+    /**
+     * Calls the repository method in a rolled back transaction and captures the statements it prepares.
+     *
+     * @param call the call of the repository method
+     * @return the SQL of the statements
+     */
+    private List<String> captureStatements(Runnable call) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            List<String> statements;
+            QueryCountingStatementInspector.startCapture();
+            try {
+                call.run();
+            } finally {
+                statements = QueryCountingStatementInspector.stopCapture();
+            }
+            return statements;
+        });
+    }
+
+    /**
+     * Explains the generic plan of the SQL with sequential scans disabled for its transaction. A prepared statement
+     * belongs to the session and outlives the transaction, so it is deallocated even if the plan fails, after
+     * rolling back to the savepoint which keeps the transaction usable.
+     *
+     * @param sql the sql with JDBC parameters
+     * @return the plan in the json format
+     */
+    String explain(String sql) {
+        String name = STATEMENT_NAME_PREFIX + preparedStatements.incrementAndGet();
+        int parameters = countParameters(sql);
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+            jdbcTemplate.execute("PREPARE " + name + " AS " + toPositionalParameters(sql));
+            jdbcTemplate.execute("SAVEPOINT " + name);
+            try {
+                return jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) EXECUTE " + name + (parameters == 0
+                        ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")"), String.class);
+            } catch (RuntimeException e) {
+                jdbcTemplate.execute("ROLLBACK TO SAVEPOINT " + name);
+                throw e;
+            } finally {
+                jdbcTemplate.execute("DEALLOCATE " + name);
+            }
+        });
+    }
+
+    /**
+     * Replaces the JDBC parameters of the SQL by the positional parameters of a prepared statement.
+     *
+     * @param sql the sql with JDBC parameters
+     * @return the sql with positional parameters
+     */
+    static String toPositionalParameters(String sql) {
+        StringBuilder positional = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') {
+                positional.append('$').append(++parameter);
+            } else {
+                positional.append(c);
+            }
+        }
+        return positional.toString();
+    }
+
+    /**
+     * Counts the JDBC parameters of the SQL.
+     *
+     * @param sql the sql
+     * @return the number of parameters
+     */
+    private static int countParameters(String sql) {
+        int parameters = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?') {
+                parameters++;
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Finds the tables scanned sequentially by the plan.
+     *
+     * @param planJson the plan in the json format
+     * @return the tables
+     */
+    List<String> findSeqScans(String planJson) {
+        try {
+            JsonNode root = objectMapper.readTree(planJson);
+            List<String> tables = new ArrayList<>();
+            for (JsonNode statement : root) {
+                collectSeqScans(statement.path("Plan"), tables);
+            }
+            return tables;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can not parse the plan", e);
+        }
+    }
+
+    /**
+     * Collects the tables scanned sequentially by the node and its children.
+     *
+     * @param node   the node
+     * @param tables the tables
+     */
+    private void collectSeqScans(JsonNode node, List<String> tables) {
+        if (SEQ_SCAN.equals(node.path("Node Type").asText())) {
+            tables.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, tables);
+        }
+    }
+}
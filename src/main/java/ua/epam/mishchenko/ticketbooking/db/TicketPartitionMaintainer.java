@@ -0,0 +1,100 @@
+package ua.epam.mishchenko.ticketbooking.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The maintainer of the partitions of the tickets table.
+ * <p>
+ * The tickets are partitioned by ranges of event ids. The partitions are created ahead of the events sequence,
+ * so the tickets of a new event always have a partition, and the partitions of old events are archived
+ * by detaching them. The ranges themselves are defined by the functions of the schema migration.
+ */
+@Component
+public class TicketPartitionMaintainer {
+
+    /**
+     * The constant log.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TicketPartitionMaintainer.class);
+
+    /**
+     * The jdbc template.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The number of event ids after the last allocated one which must have partitions.
+     */
+    private final long headroomEvents;
+
+    /**
+     * Instantiates a new Ticket partition maintainer.
+     *
+     * @param jdbcTemplate   the jdbc template
+     * @param headroomEvents the number of event ids after the last allocated one which must have partitions
+     */
+    public TicketPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                     @Value("${ticket-booking.partitions.headroom-events:10000}") long headroomEvents) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.headroomEvents = headroomEvents;
+    }
+
+    /**
+     * Creates the missing partitions on startup and periodically.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${ticket-booking.partitions.maintenance-delay-ms:60000}",
+            fixedDelayString = "${ticket-booking.partitions.maintenance-delay-ms:60000}")
+    public void maintain() {
+        ensurePartitions();
+    }
+
+    /**
+     * Creates the missing partitions up to the last allocated event id and the headroom.
+     *
+     * @return the number of created partitions
+     */
+    public int ensurePartitions() {
+        try {
+            Integer created = jdbcTemplate.queryForObject(
+                    "SELECT ensure_tickets_partitions((SELECT last_value FROM events_seq) + ?)",
+                    Integer.class, headroomEvents);
+            if (created != null && created > 0) {
+                log.info("{} partitions of the tickets were created", created);
+            }
+            return created == null ? 0 : created;
+        } catch (RuntimeException e) {
+            log.warn("Can not create the partitions of the tickets", e);
+            return 0;
+        }
+    }
+
+    /**
+     * Detaches the partitions of the tickets of events whose ids are all lower than the event id.
+     * The tickets of the detached partitions are not visible to the application anymore.
+     *
+     * @param eventId the event id
+     * @return the tables of the detached partitions
+     */
+    public List<String> archivePartitionsBefore(long eventId) {
+        try {
+            List<String> detached = jdbcTemplate.queryForList(
+                    "SELECT detach_tickets_partitions(?)", String.class, eventId);
+            log.info("The partitions {} of the tickets were detached", detached);
+            return detached;
+        } catch (RuntimeException e) {
+            log.warn("Can not detach the partitions of the tickets before the event {}", eventId, e);
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package ua.epam.mishchenko.ticketbooking.export;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.epam.mishchenko.ticketbooking.repository.TicketRepository;
+import ua.epam.mishchenko.ticketbooking.repository.projection.BookedTicketExport;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * The exporter of the booked tickets of a user to CSV.
+ * <p>
+ * The tickets are read as projections through a server-side cursor and written to the output as they come,
+ * so neither the persistence context nor the response buffer grows with the number of tickets. The output
+ * is flushed after every batch of rows, which the servlet container sends as a chunk of the response.
+ */
+@Component
+public class BookedTicketsCsvExporter {
+
+    /**
+     * The constant log.
+     */
+    private static final Logger log = LoggerFactory.getLogger(BookedTicketsCsvExporter.class);
+
+    /**
+     * The constant header.
+     */
+    private static final String HEADER = "id,eventId,eventTitle,eventDate,place,category";
+
+    /**
+     * The constant number of rows written between flushes, the same as the fetch size of the query.
+     */
+    private static final int FLUSH_ROWS = 500;
+
+    /**
+     * The ticket repository.
+     */
+    private final TicketRepository ticketRepository;
+
+    /**
+     * The read-only transaction template of an export, the cursor lives as long as the transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Instantiates a new Booked tickets csv exporter.
+     *
+     * @param ticketRepository   the ticket repository
+     * @param transactionManager the transaction manager
+     */
+    public BookedTicketsCsvExporter(TicketRepository ticketRepository, PlatformTransactionManager transactionManager) {
+        this.ticketRepository = ticketRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Writes the booked tickets of the user to the output. The output is not closed.
+     *
+     * @param userId the user id
+     * @param output the output
+     * @return the number of written tickets
+     */
+    public long export(long userId, OutputStream output) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+        Long written = transactionTemplate.execute(status -> {
+            try (Stream<BookedTicketExport> tickets = ticketRepository.streamBookedTicketsByUserId(userId)) {
+                writer.write(HEADER);
+                writer.write('\n');
+                long rows = 0;
+                Iterator<BookedTicketExport> iterator = tickets.iterator();
+                while (iterator.hasNext()) {
+                    writeRow(writer, iterator.next(), dateFormat);
+                    if (++rows % FLUSH_ROWS == 0) {
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+                return rows;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Can not to write the booked tickets of the user " + userId, e);
+            }
+        });
+        log.info("{} booked tickets of the user {} exported", written, userId);
+        return written == null ? 0 : written;
+    }
+
+    /**
+     * Writes the ticket as a row.
+     *
+     * @param writer     the writer
+     * @param ticket     the ticket
+     * @param dateFormat the date format
+     * @throws IOException if the row can not be written
+     */
+    private void writeRow(Writer writer, BookedTicketExport ticket, SimpleDateFormat dateFormat) throws IOException {
+        writer.write(String.valueOf(ticket.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(ticket.getEventId()));
+        writer.write(',');
+        writer.write(escape(ticket.getEventTitle()));
+        writer.write(',');
+        writer.write(ticket.getEventDate() == null ? "" : dateFormat.format(ticket.getEventDate()));
+        writer.write(',');
+        writer.write(String.valueOf(ticket.getPlace()));
+        writer.write(',');
+        writer.write(String.valueOf(ticket.getCategory()));
+        writer.write('\n');
+    }
+
+    /**
+     * Escapes the value of a column, the values with commas, quotes or line breaks are quoted.
+     *
+     * @param value the value
+     * @return the escaped value
+     */
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,12 +1,20 @@
 package ua.epam.mishchenko.ticketbooking.facade;
 
+import ua.epam.mishchenko.ticketbooking.booking.SeatHold;
 import ua.epam.mishchenko.ticketbooking.model.Category;
 import ua.epam.mishchenko.ticketbooking.model.Event;
+import ua.epam.mishchenko.ticketbooking.model.Seat;
 import ua.epam.mishchenko.ticketbooking.model.Ticket;
 import ua.epam.mishchenko.ticketbooking.model.User;
+import ua.epam.mishchenko.ticketbooking.paging.CursorSlice;
+import ua.epam.mishchenko.ticketbooking.repository.projection.EventSummary;
+import ua.epam.mishchenko.ticketbooking.repository.projection.TicketSummary;
+import ua.epam.mishchenko.ticketbooking.repository.projection.UserSummary;
 
+import java.io.OutputStream;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Groups together all operations related to tickets booking.
@@ -30,6 +38,24 @@ public interface BookingFacade {
      */
     List<Event> getEventsByTitle(String title, int pageSize, int pageNum);
 
+    /**
+     * Get page of events by title.
+     * The events are ordered by id, the next page starts after the cursor returned with the previous one.
+     * @param title Event title.
+     * @param pageSize Pagination param. Number of events to return on a page.
+     * @param after Pagination param. Cursor of the page to return, null for the first page.
+     * @return Page of events with the cursor of the next page.
+     */
+    CursorSlice<EventSummary> getEventsByTitle(String title, int pageSize, String after);
+
+    /**
+     * Gets the approximate number of events by title.
+     *
+     * @param title the title
+     * @return the approximate number of events by title
+     */
+    long countEventsByTitle(String title);
+
     /**
      * Get list of events for specified day.
      * In case nothing was found, empty list is returned.
@@ -40,6 +66,24 @@ public interface BookingFacade {
      */
     List<Event> getEventsForDay(Date day, int pageSize, int pageNum);
 
+    /**
+     * Get page of events for specified day.
+     * The events are ordered by id, the next page starts after the cursor returned with the previous one.
+     * @param day Date object from which day information is extracted.
+     * @param pageSize Pagination param. Number of events to return on a page.
+     * @param after Pagination param. Cursor of the page to return, null for the first page.
+     * @return Page of events with the cursor of the next page.
+     */
+    CursorSlice<EventSummary> getEventsForDay(Date day, int pageSize, String after);
+
+    /**
+     * Gets the approximate number of events for day.
+     *
+     * @param day the day
+     * @return the approximate number of events for day
+     */
+    long countEventsForDay(Date day);
+
     /**
      * Creates new event. Event id should be auto-generated.
      * @param event Event data.
@@ -83,6 +127,24 @@ public interface BookingFacade {
      */
     List<User> getUsersByName(String name, int pageSize, int pageNum);
 
+    /**
+     * Get page of users by name.
+     * The users are ordered by id, the next page starts after the cursor returned with the previous one.
+     * @param name Users name.
+     * @param pageSize Pagination param. Number of users to return on a page.
+     * @param after Pagination param. Cursor of the page to return, null for the first page.
+     * @return Page of users with the cursor of the next page.
+     */
+    CursorSlice<UserSummary> getUsersByName(String name, int pageSize, String after);
+
+    /**
+     * Gets the approximate number of users by name.
+     *
+     * @param name the name
+     * @return the approximate number of users by name
+     */
+    long countUsersByName(String name);
+
     /**
      * Creates new user. User id should be auto-generated.
      * @param user User data.
@@ -115,6 +177,76 @@ public interface BookingFacade {
      */
     Ticket bookTicket(long userId, long eventId, int place, Category category);
 
+    /**
+     * Book ticket for a specified event on behalf of specified user. A request replayed with the same
+     * idempotency key returns the ticket booked by the original request without booking it again.
+     * @param userId User Id.
+     * @param eventId Event Id.
+     * @param place Place number.
+     * @param category Service category.
+     * @param idempotencyKey Key of the request, may be null.
+     * @return Booked ticket object or null if the ticket can not be booked or the key has already been used
+     * by another request.
+     */
+    Ticket bookTicket(long userId, long eventId, int place, Category category, String idempotencyKey);
+
+    /**
+     * Book tickets for several seats of a specified event on behalf of specified user, all of them or none.
+     * @param userId User Id.
+     * @param eventId Event Id.
+     * @param seats Seats to book.
+     * @return List of booked Ticket objects or an empty list if the tickets can not be booked.
+     */
+    List<Ticket> bookTickets(long userId, long eventId, List<Seat> seats);
+
+    /**
+     * Book the best available adjacent seats of a category, the ones with the lowest places,
+     * for a specified event on behalf of specified user, all of them or none.
+     * @param userId User Id.
+     * @param eventId Event Id.
+     * @param category Service category.
+     * @param count Number of seats.
+     * @return List of booked Ticket objects or an empty list if there are no such adjacent free seats.
+     */
+    List<Ticket> bookBestAvailableTickets(long userId, long eventId, Category category, int count);
+
+    /**
+     * Book ticket for a specified event on behalf of specified user asynchronously.
+     * @param userId User Id.
+     * @param eventId Event Id.
+     * @param place Place number.
+     * @param category Service category.
+     * @return Future of the booked ticket, it completes with null if the ticket can not be booked.
+     */
+    CompletableFuture<Ticket> bookTicketAsync(long userId, long eventId, int place, Category category);
+
+    /**
+     * Hold ticket for a while, nobody else can book the seat until the hold is confirmed, released or expired.
+     * @param userId User Id.
+     * @param eventId Event Id.
+     * @param place Place number.
+     * @param category Service category.
+     * @param ttlSeconds Time to live of the hold in seconds.
+     * @return Seat hold object or null if the seat can not be held.
+     */
+    SeatHold holdTicket(long userId, long eventId, int place, Category category, long ttlSeconds);
+
+    /**
+     * Confirm held ticket, books the held seat.
+     * @param userId User Id.
+     * @param holdId Hold Id.
+     * @return Booked ticket object or null if the hold is not active or the ticket can not be booked.
+     */
+    Ticket confirmHeldTicket(long userId, String holdId);
+
+    /**
+     * Release held ticket, the seat can be booked by anyone again.
+     * @param userId User Id.
+     * @param holdId Hold Id.
+     * @return Flag whether the hold has been released.
+     */
+    boolean releaseHeldTicket(long userId, String holdId);
+
     /**
      * Get all booked tickets for specified user. Tickets should be sorted by event date in descending order.
      * @param user User
@@ -124,6 +256,33 @@ public interface BookingFacade {
      */
     List<Ticket> getBookedTickets(User user, int pageSize, int pageNum);
 
+    /**
+     * Get page of booked tickets for specified user.
+     * The tickets are ordered by id, the next page starts after the cursor returned with the previous one.
+     * @param user User
+     * @param pageSize Pagination param. Number of tickets to return on a page.
+     * @param after Pagination param. Cursor of the page to return, null for the first page.
+     * @return Page of tickets with the cursor of the next page.
+     */
+    CursorSlice<TicketSummary> getBookedTickets(User user, int pageSize, String after);
+
+    /**
+     * Gets the approximate number of the booked tickets of the user.
+     *
+     * @param user the user
+     * @return the approximate number of the booked tickets of the user
+     */
+    long countBookedTickets(User user);
+
+    /**
+     * Writes all booked tickets of the user to the output as CSV.
+     *
+     * @param user   the user
+     * @param output the output
+     * @return the boolean
+     */
+    boolean exportBookedTickets(User user, OutputStream output);
+
     /**
      * Get all booked tickets for specified event. Tickets should be sorted in by user email in ascending order.
      * @param event Event
@@ -133,6 +292,24 @@ public interface BookingFacade {
      */
     List<Ticket> getBookedTickets(Event event, int pageSize, int pageNum);
 
+    /**
+     * Get page of booked tickets for specified event.
+     * The tickets are ordered by id, the next page starts after the cursor returned with the previous one.
+     * @param event Event
+     * @param pageSize Pagination param. Number of tickets to return on a page.
+     * @param after Pagination param. Cursor of the page to return, null for the first page.
+     * @return Page of tickets with the cursor of the next page.
+     */
+    CursorSlice<TicketSummary> getBookedTickets(Event event, int pageSize, String after);
+
+    /**
+     * Gets the approximate number of the booked tickets of the event.
+     *
+     * @param event the event
+     * @return the approximate number of the booked tickets of the event
+     */
+    long countBookedTickets(Event event);
+
     /**
      * Cancel ticket with a specified id.
      * @param ticketId Ticket id.
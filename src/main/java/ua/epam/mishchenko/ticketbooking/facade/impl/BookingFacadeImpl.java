@@ -1,20 +1,33 @@
 package ua.epam.mishchenko.ticketbooking.facade.impl;
 
 import org.springframework.stereotype.Component;
+import ua.epam.mishchenko.ticketbooking.booking.AsyncBookingDispatcher;
+import ua.epam.mishchenko.ticketbooking.booking.BookingRequest;
+import ua.epam.mishchenko.ticketbooking.booking.SeatHold;
 import ua.epam.mishchenko.ticketbooking.facade.BookingFacade;
 import ua.epam.mishchenko.ticketbooking.model.Category;
 import ua.epam.mishchenko.ticketbooking.model.Event;
+import ua.epam.mishchenko.ticketbooking.model.Seat;
 import ua.epam.mishchenko.ticketbooking.model.Ticket;
 import ua.epam.mishchenko.ticketbooking.model.User;
 import ua.epam.mishchenko.ticketbooking.model.UserAccount;
+import ua.epam.mishchenko.ticketbooking.paging.CursorSlice;
+import ua.epam.mishchenko.ticketbooking.refill.BulkRefillProgress;
+import ua.epam.mishchenko.ticketbooking.repository.projection.EventSummary;
+import ua.epam.mishchenko.ticketbooking.repository.projection.TicketSummary;
+import ua.epam.mishchenko.ticketbooking.repository.projection.UserSummary;
 import ua.epam.mishchenko.ticketbooking.service.EventService;
+import ua.epam.mishchenko.ticketbooking.service.SeatAllocationService;
 import ua.epam.mishchenko.ticketbooking.service.TicketService;
 import ua.epam.mishchenko.ticketbooking.service.UserAccountService;
 import ua.epam.mishchenko.ticketbooking.service.UserService;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The type Booking facade.
@@ -42,20 +55,35 @@ public class BookingFacadeImpl implements BookingFacade {
      */
     private final UserAccountService userAccountService;
 
+    /**
+     * The Seat allocation service.
+     */
+    private final SeatAllocationService seatAllocationService;
+
+    /**
+     * The Async booking dispatcher.
+     */
+    private final AsyncBookingDispatcher asyncBookingDispatcher;
+
     /**
      * Instantiates a new Booking facade.
      *
-     * @param eventService       the event service
-     * @param userService        the user service
-     * @param ticketService      the ticket service
-     * @param userAccountService the user account service
+     * @param eventService           the event service
+     * @param userService            the user service
+     * @param ticketService          the ticket service
+     * @param userAccountService     the user account service
+     * @param seatAllocationService  the seat allocation service
+     * @param asyncBookingDispatcher the async booking dispatcher
      */
     public BookingFacadeImpl(EventService eventService, UserService userService, TicketService ticketService,
-                             UserAccountService userAccountService) {
+                             UserAccountService userAccountService, SeatAllocationService seatAllocationService,
+                             AsyncBookingDispatcher asyncBookingDispatcher) {
         this.eventService = eventService;
         this.ticketService = ticketService;
         this.userService = userService;
         this.userAccountService = userAccountService;
+        this.seatAllocationService = seatAllocationService;
+        this.asyncBookingDispatcher = asyncBookingDispatcher;
     }
 
     /**
@@ -82,6 +110,30 @@ public class BookingFacadeImpl implements BookingFacade {
         return eventService.getEventsByTitle(title, pageSize, pageNum);
     }
 
+    /**
+     * Gets the events by title after the cursor.
+     *
+     * @param title    the title
+     * @param pageSize the page size
+     * @param after    the cursor of the page
+     * @return the page of the events by title
+     */
+    @Override
+    public CursorSlice<EventSummary> getEventsByTitle(String title, int pageSize, String after) {
+        return eventService.getEventsByTitle(title, pageSize, after);
+    }
+
+    /**
+     * Gets the approximate number of events by title.
+     *
+     * @param title the title
+     * @return the approximate number of events by title
+     */
+    @Override
+    public long countEventsByTitle(String title) {
+        return eventService.countEventsByTitle(title);
+    }
+
     /**
      * Gets events for day.
      *
@@ -95,6 +147,30 @@ public class BookingFacadeImpl implements BookingFacade {
         return eventService.getEventsForDay(day, pageSize, pageNum);
     }
 
+    /**
+     * Gets the events for day after the cursor.
+     *
+     * @param day      the day
+     * @param pageSize the page size
+     * @param after    the cursor of the page
+     * @return the page of the events for day
+     */
+    @Override
+    public CursorSlice<EventSummary> getEventsForDay(Date day, int pageSize, String after) {
+        return eventService.getEventsForDay(day, pageSize, after);
+    }
+
+    /**
+     * Gets the approximate number of events for day.
+     *
+     * @param day the day
+     * @return the approximate number of events for day
+     */
+    @Override
+    public long countEventsForDay(Date day) {
+        return eventService.countEventsForDay(day);
+    }
+
     /**
      * Create event.
      *
@@ -163,6 +239,30 @@ public class BookingFacadeImpl implements BookingFacade {
         return userService.getUsersByName(name, pageSize, pageNum);
     }
 
+    /**
+     * Gets the users by name after the cursor.
+     *
+     * @param name     the name
+     * @param pageSize the page size
+     * @param after    the cursor of the page
+     * @return the page of the users by name
+     */
+    @Override
+    public CursorSlice<UserSummary> getUsersByName(String name, int pageSize, String after) {
+        return userService.getUsersByName(name, pageSize, after);
+    }
+
+    /**
+     * Gets the approximate number of users by name.
+     *
+     * @param name the name
+     * @return the approximate number of users by name
+     */
+    @Override
+    public long countUsersByName(String name) {
+        return userService.countUsersByName(name);
+    }
+
     /**
      * Create user.
      *
@@ -210,6 +310,101 @@ public class BookingFacadeImpl implements BookingFacade {
         return ticketService.bookTicket(userId, eventId, place, category);
     }
 
+    /**
+     * Book ticket with an idempotency key.
+     *
+     * @param userId         the user id
+     * @param eventId        the event id
+     * @param place          the place
+     * @param category       the category
+     * @param idempotencyKey the idempotency key, may be null
+     * @return the ticket
+     */
+    @Override
+    public Ticket bookTicket(long userId, long eventId, int place, Category category, String idempotencyKey) {
+        return ticketService.bookTicket(userId, eventId, place, category, idempotencyKey);
+    }
+
+    /**
+     * Book tickets.
+     *
+     * @param userId  the user id
+     * @param eventId the event id
+     * @param seats   the seats
+     * @return the tickets
+     */
+    @Override
+    public List<Ticket> bookTickets(long userId, long eventId, List<Seat> seats) {
+        return ticketService.bookTickets(userId, eventId, seats);
+    }
+
+    /**
+     * Book best available tickets.
+     *
+     * @param userId   the user id
+     * @param eventId  the event id
+     * @param category the category
+     * @param count    the number of seats
+     * @return the tickets
+     */
+    @Override
+    public List<Ticket> bookBestAvailableTickets(long userId, long eventId, Category category, int count) {
+        return seatAllocationService.bookBestAvailableTickets(userId, eventId, category, count);
+    }
+
+    /**
+     * Book ticket asynchronously.
+     *
+     * @param userId   the user id
+     * @param eventId  the event id
+     * @param place    the place
+     * @param category the category
+     * @return the future of the ticket, it completes with null if the ticket can not be booked
+     */
+    @Override
+    public CompletableFuture<Ticket> bookTicketAsync(long userId, long eventId, int place, Category category) {
+        return asyncBookingDispatcher.submit(new BookingRequest(userId, eventId, new Seat(place, category)));
+    }
+
+    /**
+     * Hold ticket.
+     *
+     * @param userId     the user id
+     * @param eventId    the event id
+     * @param place      the place
+     * @param category   the category
+     * @param ttlSeconds the time to live of the hold in seconds
+     * @return the seat hold
+     */
+    @Override
+    public SeatHold holdTicket(long userId, long eventId, int place, Category category, long ttlSeconds) {
+        return ticketService.holdTicket(userId, eventId, place, category, ttlSeconds);
+    }
+
+    /**
+     * Confirm held ticket.
+     *
+     * @param userId the user id
+     * @param holdId the hold id
+     * @return the ticket
+     */
+    @Override
+    public Ticket confirmHeldTicket(long userId, String holdId) {
+        return ticketService.confirmHeldTicket(userId, holdId);
+    }
+
+    /**
+     * Release held ticket.
+     *
+     * @param userId the user id
+     * @param holdId the hold id
+     * @return the boolean
+     */
+    @Override
+    public boolean releaseHeldTicket(long userId, String holdId) {
+        return ticketService.releaseHeldTicket(userId, holdId);
+    }
+
     /**
      * Gets booked tickets.
      *
@@ -223,6 +418,42 @@ public class BookingFacadeImpl implements BookingFacade {
         return ticketService.getBookedTickets(user, pageSize, pageNum);
     }
 
+    /**
+     * Gets the booked tickets of the user after the cursor.
+     *
+     * @param user     the user
+     * @param pageSize the page size
+     * @param after    the cursor of the page
+     * @return the page of the booked tickets of the user
+     */
+    @Override
+    public CursorSlice<TicketSummary> getBookedTickets(User user, int pageSize, String after) {
+        return ticketService.getBookedTickets(user, pageSize, after);
+    }
+
+    /**
+     * Gets the approximate number of the booked tickets of the user.
+     *
+     * @param user the user
+     * @return the approximate number of the booked tickets of the user
+     */
+    @Override
+    public long countBookedTickets(User user) {
+        return ticketService.countBookedTickets(user);
+    }
+
+    /**
+     * Writes all booked tickets of the user to the output as CSV.
+     *
+     * @param user   the user
+     * @param output the output
+     * @return the boolean
+     */
+    @Override
+    public boolean exportBookedTickets(User user, OutputStream output) {
+        return ticketService.exportBookedTickets(user, output);
+    }
+
     /**
      * Gets booked tickets.
      *
@@ -236,6 +467,30 @@ public class BookingFacadeImpl implements BookingFacade {
         return ticketService.getBookedTickets(event, pageSize, pageNum);
     }
 
+    /**
+     * Gets the booked tickets of the event after the cursor.
+     *
+     * @param event    the event
+     * @param pageSize the page size
+     * @param after    the cursor of the page
+     * @return the page of the booked tickets of the event
+     */
+    @Override
+    public CursorSlice<TicketSummary> getBookedTickets(Event event, int pageSize, String after) {
+        return ticketService.getBookedTickets(event, pageSize, after);
+    }
+
+    /**
+     * Gets the approximate number of the booked tickets of the event.
+     *
+     * @param event the event
+     * @return the approximate number of the booked tickets of the event
+     */
+    @Override
+    public long countBookedTickets(Event event) {
+        return ticketService.countBookedTickets(event);
+    }
+
     /**
      * Cancel ticket boolean.
      *
@@ -250,4 +505,20 @@ public class BookingFacadeImpl implements BookingFacade {
     public UserAccount refillUserAccount(long userId, BigDecimal money) {
         return userAccountService.refillAccount(userId, money);
     }
+
+    public UserAccount refillUserAccount(long userId, BigDecimal money, String idempotencyKey) {
+        return userAccountService.refillAccount(userId, money, idempotencyKey);
+    }
+
+    public BigDecimal getUserAccountBalance(long userId) {
+        return userAccountService.getBalance(userId);
+    }
+
+    public BulkRefillProgress refillUserAccounts(InputStream records, boolean json) {
+        return userAccountService.refillAccounts(records, json);
+    }
+
+    public List<BulkRefillProgress> getBulkRefills() {
+        return userAccountService.getBulkRefills();
+    }
 }
@@ -0,0 +1,179 @@
+package ua.epam.mishchenko.ticketbooking.idempotency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.epam.mishchenko.ticketbooking.model.IdempotencyKey;
+import ua.epam.mishchenko.ticketbooking.repository.IdempotencyKeyRepository;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The store of idempotency keys.
+ * <p>
+ * A key is written to the idempotency_keys table in the transaction of its operation, so the key exists
+ * if and only if the operation is committed, and the primary key of the table stops a concurrent duplicate.
+ * The recently used keys are kept in an in-memory LRU cache, so a replay usually costs no query for the key.
+ * A key is kept for its time to live at least, the expired keys are purged from the table and the cache
+ * periodically.
+ */
+@Component
+public class IdempotencyStore {
+
+    /**
+     * The constant log.
+     */
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    /**
+     * The maximum length of a key.
+     */
+    static final int MAX_KEY_LENGTH = 100;
+
+    /**
+     * The idempotency key repository.
+     */
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    /**
+     * The recently used keys, in access order.
+     */
+    private final Map<String, IdempotencyKey> recentKeys;
+
+    /**
+     * The transaction template of a purge.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The time to live of a key in milliseconds.
+     */
+    private final long ttlMs;
+
+    /**
+     * Instantiates a new Idempotency store.
+     *
+     * @param idempotencyKeyRepository the idempotency key repository
+     * @param transactionManager       the transaction manager
+     * @param cacheSize                the number of keys kept in memory
+     * @param ttlSeconds               the time to live of a key in seconds
+     */
+    public IdempotencyStore(IdempotencyKeyRepository idempotencyKeyRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${ticket-booking.idempotency.cache-size:10000}") int cacheSize,
+                            @Value("${ticket-booking.idempotency.ttl-seconds:86400}") long ttlSeconds) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttlMs = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.recentKeys = new LinkedHashMap<String, IdempotencyKey>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyKey> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Finds the id of the resource produced by the operation done with the key.
+     *
+     * @param key       the key, may be null
+     * @param operation the operation
+     * @param userId    the user id
+     * @return the resource id or null if the key is null or no operation is done with it yet
+     */
+    public Long findResourceId(String key, IdempotentOperation operation, long userId) {
+        if (key == null) {
+            return null;
+        }
+        throwRuntimeExceptionIfKeyNotValid(key);
+        IdempotencyKey idempotencyKey = getRecentKey(key);
+        if (idempotencyKey == null) {
+            idempotencyKey = idempotencyKeyRepository.findById(key).orElse(null);
+            if (idempotencyKey == null) {
+                return null;
+            }
+            putRecentKey(idempotencyKey);
+        }
+        if (idempotencyKey.getOperation() != operation || idempotencyKey.getUserId() != userId) {
+            throw new RuntimeException("The idempotency key " + key + " is already used by another request");
+        }
+        log.info("Replaying the request with idempotency key {}", idempotencyKey);
+        return idempotencyKey.getResourceId();
+    }
+
+    /**
+     * Saves the key of the operation in the current transaction, the key is cached after the commit.
+     *
+     * @param key        the key, may be null
+     * @param operation  the operation
+     * @param userId     the user id
+     * @param resourceId the id of the resource produced by the operation
+     */
+    public void save(String key, IdempotentOperation operation, long userId, long resourceId) {
+        if (key == null) {
+            return;
+        }
+        throwRuntimeExceptionIfKeyNotValid(key);
+        Date now = new Date();
+        IdempotencyKey idempotencyKey = idempotencyKeyRepository.save(
+                new IdempotencyKey(key, operation, userId, resourceId, now, new Date(now.getTime() + ttlMs)));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            putRecentKey(idempotencyKey);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                putRecentKey(idempotencyKey);
+            }
+        });
+    }
+
+    /**
+     * Purges the expired keys from the table and the cache.
+     */
+    @Scheduled(initialDelayString = "${ticket-booking.idempotency.purge-interval-ms:3600000}",
+            fixedDelayString = "${ticket-booking.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        Date now = new Date();
+        try {
+            Integer purged = transactionTemplate.execute(status -> idempotencyKeyRepository.deleteExpired(now));
+            synchronized (recentKeys) {
+                recentKeys.values().removeIf(idempotencyKey -> idempotencyKey.getExpiresAt().before(now));
+            }
+            if (purged != null && purged > 0) {
+                log.info("{} expired idempotency keys successfully purged", purged);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Can not to purge the expired idempotency keys", e);
+        }
+    }
+
+    private void throwRuntimeExceptionIfKeyNotValid(String key) {
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("The idempotency key must be from 1 to " + MAX_KEY_LENGTH +
+                    " characters long");
+        }
+    }
+
+    private IdempotencyKey getRecentKey(String key) {
+        synchronized (recentKeys) {
+            return recentKeys.get(key);
+        }
+    }
+
+    private void putRecentKey(IdempotencyKey idempotencyKey) {
+        synchronized (recentKeys) {
+            recentKeys.put(idempotencyKey.getKey(), idempotencyKey);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ua.epam.mishchenko.ticketbooking.idempotency;
+
+/**
+ * The operations which can be replayed by an idempotency key.
+ */
+public enum IdempotentOperation {
+
+    /**
+     * Booking of a ticket, the resource is the ticket.
+     */
+    BOOK_TICKET,
+
+    /**
+     * Refilling of a user account, the resource is the user account.
+     */
+    REFILL_ACCOUNT
+}
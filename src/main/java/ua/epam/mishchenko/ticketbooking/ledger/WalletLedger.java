@@ -0,0 +1,316 @@
+package ua.epam.mishchenko.ticketbooking.ledger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.epam.mishchenko.ticketbooking.model.LedgerEntryType;
+import ua.epam.mishchenko.ticketbooking.model.Money;
+import ua.epam.mishchenko.ticketbooking.model.UserAccount;
+import ua.epam.mishchenko.ticketbooking.repository.LedgerEntryRepository;
+import ua.epam.mishchenko.ticketbooking.repository.UserAccountRepository;
+import ua.epam.mishchenko.ticketbooking.repository.projection.LedgerHead;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The append-only wallet ledger.
+ * <p>
+ * Every change of money is an inserted ledger entry, so concurrent bookings and refills never update
+ * the same row. The balance of a user is the money of the last snapshot in the user account plus
+ * the entries after it, the snapshots are folded periodically. Every entry also carries its position
+ * in the ledger of its user and the balance after it, and an entry is appended after the last one by one
+ * conditional insert which checks that balance, so a debit costs one statement without a read lock and never
+ * overdraws the wallet: of two concurrent appends at the same position, the unique position lets only one
+ * insert, and the other is repeated after it. No row is locked by an append or by a snapshot.
+ * <p>
+ * The committed heads of the ledgers are cached in memory for reading the balances. An append replaces
+ * the cached head of its user after it commits, and a head loaded from the database replaces the cached one
+ * only if it is newer, so a balance never goes back. The heads appended by other instances are seen after
+ * the cached head is evicted.
+ */
+@Component
+public class WalletLedger {
+
+    /**
+     * The constant log.
+     */
+    private static final Logger log = LoggerFactory.getLogger(WalletLedger.class);
+
+    /**
+     * The ledger entry repository.
+     */
+    private final LedgerEntryRepository ledgerEntryRepository;
+
+    /**
+     * The user account repository.
+     */
+    private final UserAccountRepository userAccountRepository;
+
+    /**
+     * The transaction template of a snapshot.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The committed heads by user id.
+     */
+    private final ConcurrentMap<Long, CachedHead> heads = new ConcurrentHashMap<>();
+
+    /**
+     * The maximum number of attempts of an append which loses the position to concurrent appends.
+     */
+    private final int maxAppendAttempts;
+
+    /**
+     * Instantiates a new Wallet ledger.
+     *
+     * @param ledgerEntryRepository the ledger entry repository
+     * @param userAccountRepository the user account repository
+     * @param transactionManager    the transaction manager
+     * @param maxAppendAttempts     the maximum number of attempts of an append
+     */
+    public WalletLedger(LedgerEntryRepository ledgerEntryRepository, UserAccountRepository userAccountRepository,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${ticket-booking.ledger.max-append-attempts:10}") int maxAppendAttempts) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.userAccountRepository = userAccountRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAppendAttempts = Math.max(1, maxAppendAttempts);
+    }
+
+    /**
+     * Gets the committed balance of the user.
+     *
+     * @param userId the user id
+     * @return the balance
+     */
+    public Money getBalance(long userId) {
+        CachedHead head = heads.get(userId);
+        if (head == null) {
+            head = cacheHead(userId, new CachedHead(getHead(userId)));
+        }
+        return head.balance;
+    }
+
+    /**
+     * Debits the wallet of the user in the current transaction.
+     *
+     * @param userId the user id
+     * @param amount the amount
+     * @param type   the type of the entry
+     */
+    public void debit(long userId, Money amount, LedgerEntryType type) {
+        append(userId, amount.negate(), type);
+    }
+
+    /**
+     * Credits the wallet of the user in the current transaction.
+     *
+     * @param userId the user id
+     * @param amount the amount
+     * @param type   the type of the entry
+     */
+    public void credit(long userId, Money amount, LedgerEntryType type) {
+        append(userId, amount, type);
+    }
+
+    /**
+     * Appends the entry after the head of the ledger of the user with one conditional insert. If nothing
+     * is appended, the head is read again: the entry is rejected if the balance is not enough, otherwise
+     * a concurrent append took the position first and the insert is repeated after it.
+     *
+     * @param userId the user id
+     * @param amount the signed amount
+     * @param type   the type of the entry
+     */
+    private void append(long userId, Money amount, LedgerEntryType type) {
+        LedgerTransaction ledgerTransaction = currentLedgerTransaction();
+        for (int attempt = 1; ; attempt++) {
+            Optional<LedgerHead> appended = ledgerEntryRepository.appendAtHead(userId, amount.toBigDecimal(),
+                    type.name());
+            if (appended.isPresent()) {
+                ledgerTransaction.appended.merge(userId, new CachedHead(appended.get()), CachedHead::newer);
+                return;
+            }
+            Money balance = Money.of(getHead(userId).getBalance());
+            if (balance.isLessThan(amount.negate())) {
+                throw new RuntimeException("The user with id " + userId + " does not have enough money: " + balance +
+                        " is less than " + amount.negate());
+            }
+            if (attempt == maxAppendAttempts) {
+                throw new RuntimeException("Can not to append to the ledger of the user with id " + userId +
+                        ", it is appended concurrently");
+            }
+        }
+    }
+
+    /**
+     * Evicts the cached balances, they are loaded again on next access. Needed after the ledger
+     * or the user accounts are changed outside of the application.
+     */
+    public void evictBalances() {
+        heads.clear();
+    }
+
+    /**
+     * Folds the ledger entries after the last snapshot into the user accounts.
+     */
+    @Scheduled(initialDelayString = "${ticket-booking.ledger.snapshot-interval-ms:60000}",
+            fixedDelayString = "${ticket-booking.ledger.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        List<Long> userIds = ledgerEntryRepository.findUserIdsWithEntriesAfterSnapshot();
+        int snapshots = 0;
+        for (Long userId : userIds) {
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> foldTail(userId)))) {
+                    snapshots++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Can not to snapshot the balance of the user with id {}", userId, e);
+            }
+        }
+        if (snapshots > 0) {
+            log.info("The balances of {} users successfully snapshotted", snapshots);
+        }
+    }
+
+    /**
+     * Folds the ledger entries of the user after the last snapshot into the user account: the money
+     * of the account becomes the balance of the head and the position the id of its entry. No lock is needed,
+     * an entry commits only after the entry before it in the ledger of its user, so the entries up to
+     * the head are all committed and have lower ids than it. A snapshot which moved the position
+     * concurrently wins.
+     *
+     * @param userId the user id
+     * @return true if the entries were folded
+     */
+    private boolean foldTail(Long userId) {
+        UserAccount userAccount = getUserAccount(userId);
+        LedgerHead head = getHead(userId);
+        if (head.getId() <= userAccount.getLedgerPosition()) {
+            return false;
+        }
+        return userAccountRepository.applySnapshot(userId, Money.of(head.getBalance()),
+                userAccount.getLedgerPosition(), head.getId()) > 0;
+    }
+
+    /**
+     * Caches the head of the user unless a newer head is cached.
+     *
+     * @param userId the user id
+     * @param head   the head
+     * @return the cached head
+     */
+    private CachedHead cacheHead(Long userId, CachedHead head) {
+        return heads.merge(userId, head, CachedHead::newer);
+    }
+
+    /**
+     * Gets the head of the ledger of the user.
+     *
+     * @param userId the user id
+     * @return the head
+     */
+    private LedgerHead getHead(Long userId) {
+        return ledgerEntryRepository.findHead(userId)
+                .orElseThrow(() -> new RuntimeException("Can not to find a user account by user id: " + userId));
+    }
+
+    /**
+     * Gets the user account of the user.
+     *
+     * @param userId the user id
+     * @return the user account
+     */
+    private UserAccount getUserAccount(Long userId) {
+        return userAccountRepository.findByUserId(userId)
+                .orElseThrow(() -> new RuntimeException("Can not to find a user account by user id: " + userId));
+    }
+
+    /**
+     * Gets the ledger transaction bound to the current transaction.
+     *
+     * @return the ledger transaction
+     */
+    private LedgerTransaction currentLedgerTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("The wallet ledger can be appended in a transaction only");
+        }
+        LedgerTransaction ledgerTransaction = (LedgerTransaction) TransactionSynchronizationManager.getResource(this);
+        if (ledgerTransaction == null) {
+            ledgerTransaction = new LedgerTransaction();
+            TransactionSynchronizationManager.bindResource(this, ledgerTransaction);
+            TransactionSynchronizationManager.registerSynchronization(ledgerTransaction);
+        }
+        return ledgerTransaction;
+    }
+
+    /**
+     * The committed head of the ledger of a user.
+     */
+    private static final class CachedHead {
+
+        /**
+         * The position of the head.
+         */
+        private final long seq;
+
+        /**
+         * The balance at the head.
+         */
+        private final Money balance;
+
+        /**
+         * Instantiates a new Cached head.
+         *
+         * @param head the head
+         */
+        private CachedHead(LedgerHead head) {
+            this.seq = head.getSeq();
+            this.balance = Money.of(head.getBalance());
+        }
+
+        /**
+         * Gets the newer of two heads.
+         *
+         * @param first  the first head
+         * @param second the second head
+         * @return the head at the higher position
+         */
+        private static CachedHead newer(CachedHead first, CachedHead second) {
+            return second.seq > first.seq ? second : first;
+        }
+    }
+
+    /**
+     * The appends of one transaction, their heads are cached after it commits.
+     */
+    private final class LedgerTransaction implements TransactionSynchronization {
+
+        /**
+         * The last appended heads by user id.
+         */
+        private final Map<Long, CachedHead> appended = new HashMap<>();
+
+        @Override
+        public void afterCommit() {
+            appended.forEach(WalletLedger.this::cacheHead);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(WalletLedger.this);
+        }
+    }
+}
@@ -1,15 +1,19 @@
 package ua.epam.mishchenko.ticketbooking.model;
 
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import java.math.BigDecimal;
@@ -24,7 +28,9 @@ import static ua.epam.mishchenko.ticketbooking.utils.Constants.DATE_FORMATTER;
  * The type Event.
  */
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "ix_events_title_id", columnList = "title, id"),
+        @Index(name = "ix_events_date_id", columnList = "date, id")})
 @Cacheable
 @org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Event {
@@ -33,7 +39,11 @@ public class Event {
      * The Id.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @GenericGenerator(name = "events_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = "sequence_name", value = "events_seq"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo")})
     private Long id;
 
 
@@ -53,7 +63,8 @@ public class Event {
      * The ticket price.
      */
     @Column(name = "ticket_price", nullable = false)
-    private BigDecimal ticketPrice;
+    @Convert(converter = MoneyConverter.class)
+    private Money ticketPrice;
 
     /**
      * The tickets for the event.
@@ -77,7 +88,7 @@ public class Event {
     public Event(String title, Date date, BigDecimal ticketPrice) {
         this.title = title;
         this.date = date;
-        this.ticketPrice = ticketPrice;
+        this.ticketPrice = toMoney(ticketPrice);
     }
 
     /**
@@ -92,7 +103,7 @@ public class Event {
         this.id = id;
         this.title = title;
         this.date = date;
-        this.ticketPrice = ticketPrice;
+        this.ticketPrice = toMoney(ticketPrice);
     }
 
     /**
@@ -155,7 +166,7 @@ public class Event {
      * @return the price
      */
     public BigDecimal getTicketPrice() {
-        return ticketPrice;
+        return ticketPrice == null ? null : ticketPrice.toBigDecimal();
     }
 
     /**
@@ -164,7 +175,16 @@ public class Event {
      * @param ticketPrice the ticket price
      */
     public void setTicketPrice(BigDecimal ticketPrice) {
-        this.ticketPrice = ticketPrice;
+        this.ticketPrice = toMoney(ticketPrice);
+    }
+
+    /**
+     * Gets price amount.
+     *
+     * @return the price amount
+     */
+    public Money getTicketPriceAmount() {
+        return ticketPrice;
     }
 
     /**
@@ -186,6 +206,10 @@ public class Event {
         return tickets;
     }
 
+    private static Money toMoney(BigDecimal amount) {
+        return amount == null ? null : Money.of(amount);
+    }
+
     /**
      * Equals boolean.
      *
@@ -0,0 +1,185 @@
+package ua.epam.mishchenko.ticketbooking.model;
+
+import org.springframework.data.domain.Persistable;
+import ua.epam.mishchenko.ticketbooking.idempotency.IdempotentOperation;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/**
+ * The idempotency key of a done operation and the id of the resource the operation produced.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyKey implements Persistable<String> {
+
+    /**
+     * The key.
+     */
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String key;
+
+    /**
+     * The operation.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false)
+    private IdempotentOperation operation;
+
+    /**
+     * The user id.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * The id of the resource the operation produced.
+     */
+    @Column(name = "resource_id", nullable = false)
+    private Long resourceId;
+
+    /**
+     * The creation time.
+     */
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_at", nullable = false)
+    private Date createdAt;
+
+    /**
+     * The expiration time, the expired keys are purged.
+     */
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "expires_at", nullable = false)
+    private Date expiresAt;
+
+    /**
+     * The flag of a key which is not stored yet, so saving it does not select it first.
+     */
+    @Transient
+    private boolean isNew = true;
+
+    /**
+     * Instantiates a new Idempotency key.
+     */
+    public IdempotencyKey() {
+    }
+
+    /**
+     * Instantiates a new Idempotency key.
+     *
+     * @param key        the key
+     * @param operation  the operation
+     * @param userId     the user id
+     * @param resourceId the resource id
+     * @param createdAt  the creation time
+     * @param expiresAt  the expiration time
+     */
+    public IdempotencyKey(String key, IdempotentOperation operation, Long userId, Long resourceId, Date createdAt,
+                          Date expiresAt) {
+        this.key = key;
+        this.operation = operation;
+        this.userId = userId;
+        this.resourceId = resourceId;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Gets id.
+     *
+     * @return the id
+     */
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    /**
+     * Is new boolean.
+     *
+     * @return the boolean
+     */
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    /**
+     * Marks the key as stored.
+     */
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    /**
+     * Gets key.
+     *
+     * @return the key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets operation.
+     *
+     * @return the operation
+     */
+    public IdempotentOperation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Gets user id.
+     *
+     * @return the user id
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Gets resource id.
+     *
+     * @return the resource id
+     */
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    /**
+     * Gets creation time.
+     *
+     * @return the creation time
+     */
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Gets expiration time.
+     *
+     * @return the expiration time
+     */
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * To string string.
+     *
+     * @return the string
+     */
+    @Override
+    public String toString() {
+        return "{" +
+                "'key' : '" + key +
+                "', 'operation' : '" + operation +
+                "', 'userId' : " + userId +
+                ", 'resourceId' : " + resourceId +
+                "}";
+    }
+}
@@ -0,0 +1,166 @@
+package ua.epam.mishchenko.ticketbooking.model;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/**
+ * The entry of the wallet ledger. Entries are only appended, every entry carries its position
+ * in the ledger of its user and the balance of the user after it.
+ */
+@Entity
+@Table(name = "ledger_entries", indexes = @Index(name = "ix_ledger_entries_user_id_id", columnList = "user_id, id"),
+        uniqueConstraints = @UniqueConstraint(name = "uq_ledger_entries_user_id_seq", columnNames = {"user_id", "seq"}))
+public class LedgerEntry {
+
+    /**
+     * The Id, the position of the entry in the ledger.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The user id.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * The position of the entry in the ledger of the user, the entries of a user are numbered from 1 without gaps.
+     */
+    @Column(name = "seq", nullable = false)
+    private Long seq;
+
+    /**
+     * The amount, positive for a credit and negative for a debit.
+     */
+    @Column(name = "amount", nullable = false)
+    @Convert(converter = MoneyConverter.class)
+    private Money amount;
+
+    /**
+     * The balance of the user after the entry.
+     */
+    @Column(name = "balance", nullable = false)
+    @Convert(converter = MoneyConverter.class)
+    private Money balance;
+
+    /**
+     * The Type.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private LedgerEntryType type;
+
+    /**
+     * The creation time.
+     */
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_at", nullable = false)
+    private Date createdAt;
+
+    /**
+     * Instantiates a new Ledger entry.
+     */
+    public LedgerEntry() {
+    }
+
+    /**
+     * Instantiates a new Ledger entry.
+     *
+     * @param userId    the user id
+     * @param seq       the position of the entry in the ledger of the user
+     * @param amount    the amount
+     * @param balance   the balance after the entry
+     * @param type      the type
+     * @param createdAt the creation time
+     */
+    public LedgerEntry(Long userId, Long seq, Money amount, Money balance, LedgerEntryType type, Date createdAt) {
+        this.userId = userId;
+        this.seq = seq;
+        this.amount = amount;
+        this.balance = balance;
+        this.type = type;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Gets id.
+     *
+     * @return the id
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Gets user id.
+     *
+     * @return the user id
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Gets the position of the entry in the ledger of the user.
+     *
+     * @return the position
+     */
+    public Long getSeq() {
+        return seq;
+    }
+
+    /**
+     * Gets amount.
+     *
+     * @return the amount
+     */
+    public Money getAmount() {
+        return amount;
+    }
+
+    /**
+     * Gets the balance after the entry.
+     *
+     * @return the balance
+     */
+    public Money getBalance() {
+        return balance;
+    }
+
+    /**
+     * Gets type.
+     *
+     * @return the type
+     */
+    public LedgerEntryType getType() {
+        return type;
+    }
+
+    /**
+     * Gets creation time.
+     *
+     * @return the creation time
+     */
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * To string string.
+     *
+     * @return the string
+     */
+    @Override
+    public String toString() {
+        return "{" +
+                "'id' : " + id +
+                ", 'userId' : " + userId +
+                ", 'seq' : " + seq +
+                ", 'amount' : " + amount +
+                ", 'balance' : " + balance +
+                ", 'type' : '" + type +
+                "'}";
+    }
+}
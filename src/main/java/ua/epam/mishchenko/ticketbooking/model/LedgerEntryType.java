@@ -0,0 +1,7 @@
+package ua.epam.mishchenko.ticketbooking.model;
+
+public enum LedgerEntryType {
+    REFILL,
+    BOOKING,
+    CANCELLATION
+}
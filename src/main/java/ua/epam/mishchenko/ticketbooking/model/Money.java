@@ -0,0 +1,185 @@
+package ua.epam.mishchenko.ticketbooking.model;
+
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * The amount of money in minor units, cents.
+ * <p>
+ * The amount is a primitive long, so the arithmetic of the booking path does not allocate the
+ * intermediate big integers of {@link BigDecimal}. Money is converted from and to {@link BigDecimal}
+ * at the boundaries only: the columns of the entities and the parameters of the web layer.
+ * Money is immutable, so Hibernate neither copies it for dirty checking nor for the second level cache.
+ */
+@Immutable
+public final class Money implements Comparable<Money>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The constant number of fraction digits of the major unit.
+     */
+    public static final int SCALE = 2;
+
+    /**
+     * The constant zero.
+     */
+    public static final Money ZERO = new Money(0);
+
+    /**
+     * The amount in minor units.
+     */
+    private final long minorUnits;
+
+    /**
+     * Instantiates a new Money.
+     *
+     * @param minorUnits the amount in minor units
+     */
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    /**
+     * Gets money of the amount in minor units.
+     *
+     * @param minorUnits the amount in minor units
+     * @return the money
+     */
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * Gets money of the decimal amount.
+     *
+     * @param amount the amount
+     * @return the money
+     * @throws ArithmeticException if the amount has more than two fraction digits or does not fit into a long
+     */
+    public static Money of(BigDecimal amount) {
+        return ofMinor(amount.movePointRight(SCALE).longValueExact());
+    }
+
+    /**
+     * Gets the amount in minor units.
+     *
+     * @return the amount in minor units
+     */
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    /**
+     * Adds the money.
+     *
+     * @param other the other money
+     * @return the sum
+     */
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    /**
+     * Subtracts the money.
+     *
+     * @param other the other money
+     * @return the difference
+     */
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    /**
+     * Multiplies the money.
+     *
+     * @param multiplier the multiplier
+     * @return the product
+     */
+    public Money times(int multiplier) {
+        return ofMinor(Math.multiplyExact(minorUnits, multiplier));
+    }
+
+    /**
+     * Negates the money.
+     *
+     * @return the negated money
+     */
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    /**
+     * Is less than boolean.
+     *
+     * @param other the other money
+     * @return the boolean
+     */
+    public boolean isLessThan(Money other) {
+        return minorUnits < other.minorUnits;
+    }
+
+    /**
+     * Is positive boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    /**
+     * Converts the money to a decimal with two fraction digits.
+     *
+     * @return the decimal
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Compare to int.
+     *
+     * @param other the other money
+     * @return the int
+     */
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    /**
+     * Equals boolean.
+     *
+     * @param o the o
+     * @return the boolean
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return minorUnits == ((Money) o).minorUnits;
+    }
+
+    /**
+     * Hash code int.
+     *
+     * @return the int
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    /**
+     * To string string.
+     *
+     * @return the string
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,153 @@
+package ua.epam.mishchenko.ticketbooking.model;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/**
+ * The refund of a canceled ticket waiting in the outbox. The entry is saved in the transaction
+ * of the cancellation and deleted in the transaction which credits the refund. The failed credits
+ * are counted, a refund which failed too many times is left in the outbox as a dead letter.
+ */
+@Entity
+@Table(name = "refund_outbox", indexes = @Index(name = "ix_refund_outbox_created_at", columnList = "created_at"))
+public class RefundOutboxEntry {
+
+    /**
+     * The Id.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The ticket id.
+     */
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    /**
+     * The user id.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * The amount.
+     */
+    @Column(name = "amount", nullable = false)
+    @Convert(converter = MoneyConverter.class)
+    private Money amount;
+
+    /**
+     * The creation time.
+     */
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_at", nullable = false)
+    private Date createdAt;
+
+    /**
+     * The number of failed credits.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * Instantiates a new Refund outbox entry.
+     */
+    public RefundOutboxEntry() {
+    }
+
+    /**
+     * Instantiates a new Refund outbox entry.
+     *
+     * @param ticketId  the ticket id
+     * @param userId    the user id
+     * @param amount    the amount
+     * @param createdAt the creation time
+     */
+    public RefundOutboxEntry(Long ticketId, Long userId, Money amount, Date createdAt) {
+        this.ticketId = ticketId;
+        this.userId = userId;
+        this.amount = amount;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Gets id.
+     *
+     * @return the id
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Sets id.
+     *
+     * @param id the id
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets ticket id.
+     *
+     * @return the ticket id
+     */
+    public Long getTicketId() {
+        return ticketId;
+    }
+
+    /**
+     * Gets user id.
+     *
+     * @return the user id
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Gets amount.
+     *
+     * @return the amount
+     */
+    public Money getAmount() {
+        return amount;
+    }
+
+    /**
+     * Gets creation time.
+     *
+     * @return the creation time
+     */
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Gets the number of failed credits.
+     *
+     * @return the number of failed credits
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * To string string.
+     *
+     * @return the string
+     */
+    @Override
+    public String toString() {
+        return "{" +
+                "'id' : " + id +
+                ", 'ticketId' : " + ticketId +
+                ", 'userId' : " + userId +
+                ", 'amount' : " + amount +
+                ", 'attempts' : " + attempts +
+                "}";
+    }
+}
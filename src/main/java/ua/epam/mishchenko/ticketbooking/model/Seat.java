@@ -0,0 +1,85 @@
+package ua.epam.mishchenko.ticketbooking.model;
+
+import java.util.Objects;
+
+/**
+ * The seat of an event, a place in a category.
+ */
+public final class Seat {
+
+    /**
+     * The Place.
+     */
+    private final int place;
+
+    /**
+     * The Category.
+     */
+    private final Category category;
+
+    /**
+     * Instantiates a new Seat.
+     *
+     * @param place    the place
+     * @param category the category
+     */
+    public Seat(int place, Category category) {
+        this.place = place;
+        this.category = Objects.requireNonNull(category, "The category can not be null");
+    }
+
+    /**
+     * Gets place.
+     *
+     * @return the place
+     */
+    public int getPlace() {
+        return place;
+    }
+
+    /**
+     * Gets category.
+     *
+     * @return the category
+     */
+    public Category getCategory() {
+        return category;
+    }
+
+    /**
+     * Equals boolean.
+     *
+     * @param o the o
+     * @return the boolean
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Seat seat = (Seat) o;
+        return place == seat.place && category == seat.category;
+    }
+
+    /**
+     * Hash code int.
+     *
+     * @return the int
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(place, category);
+    }
+
+    /**
+     * To string string.
+     *
+     * @return the string
+     */
+    @Override
+    public String toString() {
+        return "{" +
+                "'place' : " + place +
+                ", 'category' : '" + category +
+                "'}";
+    }
+}
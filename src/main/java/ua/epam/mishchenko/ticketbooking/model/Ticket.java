@@ -1,6 +1,8 @@
 package ua.epam.mishchenko.ticketbooking.model;
 
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.math.BigDecimal;
@@ -10,30 +12,35 @@ import java.util.Objects;
  * The type Ticket.
  */
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets", indexes = @Index(name = "ix_tickets_user_id_id", columnList = "user_id, id"))
 @Cacheable
 @org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Ticket {
 
     /**
-     * The Id.
+     * The Id. The ids are allocated from the sequence in blocks of 50, the value of the sequence being
+     * the lowest id of a block, so the inserts are not needed to get the ids and are sent in JDBC batches.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tickets_seq")
+    @GenericGenerator(name = "tickets_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = "sequence_name", value = "tickets_seq"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo")})
     private Long id;
 
     /**
-     * The User entity.
+     * The User entity, loaded on first access or by the finders which fetch it.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
     /**
-     * The Event entity.
+     * The Event entity, loaded on first access or by the finders which fetch it.
      */
-    @ManyToOne
-    @JoinColumn(name = "event_id")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
     private Event event;
 
     /**
@@ -49,6 +56,13 @@ public class Ticket {
     @Column(name = "category", nullable = false)
     private Category category;
 
+    /**
+     * The amount paid for the ticket, refunded when the ticket is canceled.
+     */
+    @Column(name = "paid_amount", nullable = false)
+    @Convert(converter = MoneyConverter.class)
+    private Money paidAmount;
+
     /**
      * Instantiates a new Ticket.
      */
@@ -58,33 +72,37 @@ public class Ticket {
     /**
      * Instantiates a new Ticket.
      *
-     * @param id       the id
-     * @param user     the user entity
-     * @param event    the event entity
-     * @param place    the place
-     * @param category the category
+     * @param id         the id
+     * @param user       the user entity
+     * @param event      the event entity
+     * @param place      the place
+     * @param category   the category
+     * @param paidAmount the paid amount
      */
-    public Ticket(Long id, User user, Event event, int place, Category category) {
+    public Ticket(Long id, User user, Event event, int place, Category category, Money paidAmount) {
         this.id = id;
         this.user = user;
         this.event = event;
         this.place = place;
         this.category = category;
+        this.paidAmount = paidAmount;
     }
 
     /**
      * Instantiates a new Ticket.
      *
-     * @param user     the user entity
-     * @param event    the event entity
-     * @param place    the place
-     * @param category the category
+     * @param user       the user entity
+     * @param event      the event entity
+     * @param place      the place
+     * @param category   the category
+     * @param paidAmount the paid amount
      */
-    public Ticket(User user, Event event, int place, Category category) {
+    public Ticket(User user, Event event, int place, Category category, Money paidAmount) {
         this.user = user;
         this.event = event;
         this.place = place;
         this.category = category;
+        this.paidAmount = paidAmount;
     }
 
     /**
@@ -141,6 +159,24 @@ public class Ticket {
         this.user = user;
     }
 
+    /**
+     * Gets the id of the user, the user itself is not initialized if it is a proxy.
+     *
+     * @return the user id
+     */
+    public Long getUserId() {
+        return user == null ? null : user.getId();
+    }
+
+    /**
+     * Gets the id of the event, the event itself is not initialized if it is a proxy.
+     *
+     * @return the event id
+     */
+    public Long getEventId() {
+        return event == null ? null : event.getId();
+    }
+
     /**
      * Gets category.
      *
@@ -178,7 +214,26 @@ public class Ticket {
     }
 
     /**
-     * Equals boolean.
+     * Gets paid amount.
+     *
+     * @return the paid amount
+     */
+    public Money getPaidAmount() {
+        return paidAmount;
+    }
+
+    /**
+     * Sets paid amount.
+     *
+     * @param paidAmount the paid amount
+     */
+    public void setPaidAmount(Money paidAmount) {
+        this.paidAmount = paidAmount;
+    }
+
+    /**
+     * Equals boolean. The user and the event are compared by their ids, so a lazy proxy is not initialized
+     * and equals the loaded entity.
      *
      * @param o the o
      * @return the boolean
@@ -187,7 +242,7 @@ public class Ticket {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Ticket ticket = (Ticket) o;
-        return Objects.equals(id, ticket.id) && Objects.equals(user, ticket.user) && Objects.equals(event, ticket.event) && Objects.equals(place, ticket.place) && category == ticket.category;
+        return Objects.equals(id, ticket.id) && Objects.equals(getUserId(), ticket.getUserId()) && Objects.equals(getEventId(), ticket.getEventId()) && Objects.equals(place, ticket.place) && category == ticket.category;
     }
 
     /**
@@ -196,7 +251,7 @@ public class Ticket {
      * @return the int
      */
     public int hashCode() {
-        return Objects.hash(id, user, event, place, category);
+        return Objects.hash(id, getUserId(), getEventId(), place, category);
     }
 
     /**
@@ -207,8 +262,8 @@ public class Ticket {
     public String toString() {
         return "{" +
                 "'id' : " + id +
-                ", 'userId' : " + user.getId() +
-                ", 'eventId' : " + event.getId() +
+                ", 'userId' : " + getUserId() +
+                ", 'eventId' : " + getEventId() +
                 ", 'place' : " + place +
                 ", 'category' : '" + category +
                 "'}";
@@ -1,6 +1,8 @@
 package ua.epam.mishchenko.ticketbooking.model;
 
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -11,7 +13,7 @@ import java.util.Objects;
  * The type User.
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "ix_users_name_id", columnList = "name, id"))
 @Cacheable
 @org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class User {
@@ -20,7 +22,11 @@ public class User {
      * The Id.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @GenericGenerator(name = "users_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = "sequence_name", value = "users_seq"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo")})
     private Long id;
 
     /**
@@ -41,8 +47,12 @@ public class User {
     @OneToMany(mappedBy = "user", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private final List<Ticket> tickets = new ArrayList<>();
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL)
-    private UserAccount userAccount;
+    /**
+     * The account of the user. Hibernate can not proxy the inverse side of a one-to-one association and
+     * would load the account with every user, so it is mapped as a lazy collection of at most one account.
+     */
+    @OneToMany(mappedBy = "user", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    private final List<UserAccount> userAccounts = new ArrayList<>();
 
     /**
      * Instantiates a new User.
@@ -140,7 +150,7 @@ public class User {
      * @return userAccount
      */
     public UserAccount getUserAccount() {
-        return userAccount;
+        return userAccounts.isEmpty() ? null : userAccounts.get(0);
     }
 
     /**
@@ -148,7 +158,10 @@ public class User {
      * @param userAccount the user account
      */
     public void setUserAccount(UserAccount userAccount) {
-        this.userAccount = userAccount;
+        userAccounts.clear();
+        if (userAccount != null) {
+            userAccounts.add(userAccount);
+        }
     }
 
     /**
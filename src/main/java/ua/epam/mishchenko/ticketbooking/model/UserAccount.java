@@ -1,6 +1,8 @@
 package ua.epam.mishchenko.ticketbooking.model;
 
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.math.BigDecimal;
@@ -15,34 +17,46 @@ public class UserAccount {
      * The user account id.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_accounts_seq")
+    @GenericGenerator(name = "user_accounts_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = "sequence_name", value = "user_accounts_seq"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo")})
     private Long id;
 
     /**
-     * The user entity.
+     * The user entity, loaded on first access. The association is mapped as many-to-one so the user
+     * can be a proxy, the unique user id keeps one account per user.
      */
-    @OneToOne
-    @JoinColumn(name = "user_id")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", unique = true)
     private User user;
 
     /**
-     * The amount of user money.
+     * The amount of user money at the last ledger snapshot.
      */
     @Column(name = "money", nullable = false)
-    private BigDecimal money;
+    @Convert(converter = MoneyConverter.class)
+    private Money money;
+
+    /**
+     * The id of the last ledger entry folded into the money.
+     */
+    @Column(name = "ledger_position", nullable = false, columnDefinition = "bigint default 0")
+    private Long ledgerPosition = 0L;
 
     public UserAccount() {
     }
 
     public UserAccount(User user, BigDecimal money) {
         this.user = user;
-        this.money = money;
+        this.money = toMoney(money);
     }
 
     public UserAccount(Long id, User user, BigDecimal money) {
         this.id = id;
         this.user = user;
-        this.money = money;
+        this.money = toMoney(money);
     }
 
     public Long getId() {
@@ -62,10 +76,26 @@ public class UserAccount {
     }
 
     public BigDecimal getMoney() {
-        return money;
+        return money == null ? null : money.toBigDecimal();
     }
 
     public void setMoney(BigDecimal money) {
-        this.money = money;
+        this.money = toMoney(money);
+    }
+
+    public Money getMoneyAmount() {
+        return money;
+    }
+
+    private static Money toMoney(BigDecimal amount) {
+        return amount == null ? null : Money.of(amount);
+    }
+
+    public Long getLedgerPosition() {
+        return ledgerPosition;
+    }
+
+    public void setLedgerPosition(Long ledgerPosition) {
+        this.ledgerPosition = ledgerPosition;
     }
 }
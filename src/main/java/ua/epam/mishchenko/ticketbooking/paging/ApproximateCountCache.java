@@ -0,0 +1,101 @@
+package ua.epam.mishchenko.ticketbooking.paging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * The cache of the totals of the list queries.
+ * <p>
+ * The list queries return slices, which cost no count query. A total is counted only when it is asked for,
+ * and it is cached for a while, so it is approximate: the entities created or deleted since the count
+ * are not in it. The recently used totals are kept in an LRU cache.
+ */
+@Component
+public class ApproximateCountCache {
+
+    /**
+     * The recently used totals by query and filter, in access order.
+     */
+    private final Map<List<Object>, CachedCount> counts;
+
+    /**
+     * The time in milliseconds a total is used for.
+     */
+    private final long ttlMs;
+
+    /**
+     * Instantiates a new Approximate count cache.
+     *
+     * @param ttlMs     the time in milliseconds a total is used for
+     * @param cacheSize the number of totals kept in memory
+     */
+    public ApproximateCountCache(@Value("${ticket-booking.paging.count-ttl-ms:60000}") long ttlMs,
+                                 @Value("${ticket-booking.paging.count-cache-size:10000}") int cacheSize) {
+        this.ttlMs = ttlMs;
+        this.counts = new LinkedHashMap<List<Object>, CachedCount>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, CachedCount> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the total of the query with the filter, counting it if it is not cached or expired.
+     * The count runs outside the lock of the cache, so concurrent requests of an expired total may count it twice.
+     *
+     * @param query  the query
+     * @param filter the filter of the query
+     * @param count  the count of the query with the filter
+     * @return the approximate total
+     */
+    public long get(String query, Object filter, LongSupplier count) {
+        List<Object> key = Arrays.asList(query, filter);
+        long now = System.currentTimeMillis();
+        CachedCount cached;
+        synchronized (counts) {
+            cached = counts.get(key);
+        }
+        if (cached != null && cached.expiresAt > now) {
+            return cached.total;
+        }
+        long total = count.getAsLong();
+        synchronized (counts) {
+            counts.put(key, new CachedCount(total, now + ttlMs));
+        }
+        return total;
+    }
+
+    /**
+     * A cached total.
+     */
+    private static class CachedCount {
+
+        /**
+         * The total.
+         */
+        private final long total;
+
+        /**
+         * The expiration time in milliseconds.
+         */
+        private final long expiresAt;
+
+        /**
+         * Instantiates a new Cached count.
+         *
+         * @param total     the total
+         * @param expiresAt the expiration time in milliseconds
+         */
+        CachedCount(long total, long expiresAt) {
+            this.total = total;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package ua.epam.mishchenko.ticketbooking.paging;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * The page of a keyset pagination: the entities and the cursor of the next page.
+ *
+ * @param <T> the type of the entities
+ */
+public final class CursorSlice<T> {
+
+    /**
+     * The entities.
+     */
+    private final List<T> content;
+
+    /**
+     * The cursor of the next page, null if this page is the last one.
+     */
+    private final String next;
+
+    /**
+     * Instantiates a new Cursor slice.
+     *
+     * @param content the entities
+     * @param next    the cursor of the next page, null if this page is the last one
+     */
+    public CursorSlice(List<T> content, String next) {
+        this.content = Collections.unmodifiableList(new ArrayList<>(content));
+        this.next = next;
+    }
+
+    /**
+     * Gets the page of the slice of the entities ordered by id.
+     *
+     * @param slice the slice
+     * @param idOf  the id of an entity
+     * @param <T>   the type of the entities
+     * @return the page
+     */
+    public static <T> CursorSlice<T> of(Slice<T> slice, ToLongFunction<T> idOf) {
+        List<T> content = slice.getContent();
+        String next = slice.hasNext() && !content.isEmpty()
+                ? KeysetCursor.encode(idOf.applyAsLong(content.get(content.size() - 1)))
+                : null;
+        return new CursorSlice<>(content, next);
+    }
+
+    /**
+     * Gets the empty last page.
+     *
+     * @param <T> the type of the entities
+     * @return the page
+     */
+    public static <T> CursorSlice<T> empty() {
+        return new CursorSlice<>(Collections.emptyList(), null);
+    }
+
+    /**
+     * Gets content.
+     *
+     * @return the entities
+     */
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * Gets next.
+     *
+     * @return the cursor of the next page, null if this page is the last one
+     */
+    public String getNext() {
+        return next;
+    }
+
+    /**
+     * Has next boolean.
+     *
+     * @return the boolean
+     */
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    /**
+     * Is empty boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isEmpty() {
+        return content.isEmpty();
+    }
+}
@@ -0,0 +1,60 @@
+package ua.epam.mishchenko.ticketbooking.paging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * The opaque cursor of the keyset pagination.
+ * <p>
+ * The lists are ordered by id, a cursor holds the id of the last entity of a page and the next page
+ * is the entities with greater ids. The next page is found by the index of the filter and the id,
+ * so a deep page costs the same as the first one, unlike a page found by an offset.
+ */
+public final class KeysetCursor {
+
+    /**
+     * The constant prefix of the encoded id, the version of the cursor format.
+     */
+    private static final String PREFIX = "v1:";
+
+    /**
+     * The constant id before the first entity.
+     */
+    public static final long FIRST = 0L;
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Encodes the id of the last entity of a page.
+     *
+     * @param lastId the id of the last entity of a page
+     * @return the cursor of the next page
+     */
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes the id of the last entity of the previous page.
+     *
+     * @param after the cursor, null or empty for the first page
+     * @return the id of the last entity of the previous page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static long decode(String after) {
+        if (after == null || after.isEmpty()) {
+            return FIRST;
+        }
+        String decoded = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.US_ASCII);
+        if (!decoded.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("The cursor is malformed: " + after);
+        }
+        try {
+            return Long.parseLong(decoded.substring(PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("The cursor is malformed: " + after, e);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package ua.epam.mishchenko.ticketbooking.refill;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.epam.mishchenko.ticketbooking.ledger.WalletLedger;
+import ua.epam.mishchenko.ticketbooking.model.LedgerEntryType;
+import ua.epam.mishchenko.ticketbooking.repository.LedgerEntryRepository;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * The job of bulk wallet refills.
+ * <p>
+ * Streams the records from a reader and applies them in chunks, every chunk in one transaction with two
+ * JDBC batches: the first creates the missing user accounts, the second appends the refills to the wallet
+ * ledger. Records of users which do not exist are skipped by the statements themselves, so a chunk costs
+ * a few round trips whatever its size. A refill is appended after the head of the ledger of its user like
+ * every other append, so no wallet is locked; the few refills which lose their position to a concurrent
+ * append are appended again through the wallet ledger.
+ */
+@Component
+public class BulkRefillJob {
+
+    /**
+     * The constant log.
+     */
+    private static final Logger log = LoggerFactory.getLogger(BulkRefillJob.class);
+
+    /**
+     * The constant statement creating the account of an existing user if it does not exist. The id is taken
+     * from the sequence of the entity, the blocks of ids allocated by Hibernate start at the values of the
+     * sequence, so the id never collides with them.
+     */
+    private static final String CREATE_ACCOUNT_SQL = "INSERT INTO user_accounts (id, user_id, money) " +
+            "SELECT nextval('user_accounts_seq'), u.id, 0 FROM users u WHERE u.id = ? ON CONFLICT (user_id) DO NOTHING";
+
+    /**
+     * The constant statement appending a refill of an existing user after the head of the ledger.
+     */
+    private static final String APPEND_REFILL_SQL = "INSERT INTO ledger_entries (user_id, seq, amount, balance, " +
+            "type, created_at) SELECT head.user_id, head.seq + 1, ?, head.balance + ?, ?, ? " +
+            "FROM (" + LedgerEntryRepository.HEAD_SQL.replace(":userId", "?") + ") head " +
+            "ON CONFLICT (user_id, seq) DO NOTHING";
+
+    /**
+     * The jdbc template.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The wallet ledger.
+     */
+    private final WalletLedger walletLedger;
+
+    /**
+     * The transaction template of a chunk.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The number of records applied in one transaction.
+     */
+    private final int chunkSize;
+
+    /**
+     * The progress of the recent jobs by id, the oldest job is evicted first.
+     */
+    private final Map<String, BulkRefillProgress> recentJobs;
+
+    /**
+     * Instantiates a new Bulk refill job.
+     *
+     * @param jdbcTemplate       the jdbc template
+     * @param walletLedger       the wallet ledger
+     * @param transactionManager the transaction manager
+     * @param chunkSize          the number of records applied in one transaction
+     * @param recentJobs         the number of recent jobs whose progress is kept
+     */
+    public BulkRefillJob(JdbcTemplate jdbcTemplate, WalletLedger walletLedger,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${ticket-booking.bulk-refill.chunk-size:1000}") int chunkSize,
+                         @Value("${ticket-booking.bulk-refill.recent-jobs:20}") int recentJobs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.walletLedger = walletLedger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        int maxRecentJobs = Math.max(1, recentJobs);
+        this.recentJobs = Collections.synchronizedMap(new LinkedHashMap<String, BulkRefillProgress>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BulkRefillProgress> eldest) {
+                return size() > maxRecentJobs;
+            }
+        });
+    }
+
+    /**
+     * Runs the refill of the records of the reader. The chunks committed before a failure stay committed.
+     *
+     * @param reader the reader
+     * @return the progress of the finished job
+     */
+    public BulkRefillProgress run(RefillRecordReader reader) {
+        BulkRefillProgress progress = new BulkRefillProgress(UUID.randomUUID().toString(), System.currentTimeMillis());
+        recentJobs.put(progress.getId(), progress);
+        log.info("The bulk refill {} started", progress.getId());
+        try {
+            List<RefillRecord> chunk = new ArrayList<>(chunkSize);
+            RefillRecord record;
+            while ((record = reader.next()) != null) {
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    applyChunk(chunk, progress);
+                    progress.setRejected(reader.getRejected());
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                applyChunk(chunk, progress);
+            }
+            progress.setRejected(reader.getRejected());
+            progress.finish(false);
+            log.info("The bulk refill successfully finished: {}", progress);
+        } catch (RuntimeException e) {
+            progress.setRejected(reader.getRejected());
+            progress.finish(true);
+            log.warn("The bulk refill failed: {}", progress, e);
+        }
+        return progress;
+    }
+
+    /**
+     * Gets the progress of the recent jobs, the running ones included.
+     *
+     * @return the progress of the recent jobs
+     */
+    public List<BulkRefillProgress> getRecentJobs() {
+        synchronized (recentJobs) {
+            return new ArrayList<>(recentJobs.values());
+        }
+    }
+
+    /**
+     * Applies the chunk in one transaction.
+     *
+     * @param chunk    the chunk
+     * @param progress the progress
+     */
+    private void applyChunk(List<RefillRecord> chunk, BulkRefillProgress progress) {
+        Set<Long> userIds = new TreeSet<>();
+        for (RefillRecord record : chunk) {
+            userIds.add(record.getUserId());
+        }
+        Long refilled = transactionTemplate.execute(status -> {
+            createMissingAccounts(userIds);
+            int[] appended = appendRefills(chunk);
+            long count = 0;
+            for (int i = 0; i < appended.length; i++) {
+                if (appended[i] > 0 || appended[i] == Statement.SUCCESS_NO_INFO || appendAgain(chunk.get(i))) {
+                    count++;
+                }
+            }
+            return count;
+        });
+        progress.chunkCommitted(refilled, chunk.size() - refilled);
+        log.info("The bulk refill {}: {} records refilled, {} skipped, {} records per second",
+                progress.getId(), progress.getRefilled(), progress.getSkipped(), progress.getRecordsPerSecond());
+    }
+
+    /**
+     * Appends the refill which was not appended by the batch through the wallet ledger, the refill lost its
+     * position to a concurrent append or the user does not exist.
+     *
+     * @param record the record
+     * @return true if the refill was appended
+     */
+    private boolean appendAgain(RefillRecord record) {
+        try {
+            walletLedger.credit(record.getUserId(), record.getAmount(), LedgerEntryType.REFILL);
+            return true;
+        } catch (RuntimeException e) {
+            log.debug("Can not to refill the wallet of the user with id {}", record.getUserId(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Creates the missing accounts of the users.
+     *
+     * @param userIds the user ids
+     */
+    private void createMissingAccounts(Collection<Long> userIds) {
+        List<Object[]> args = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            args.add(new Object[]{userId});
+        }
+        jdbcTemplate.batchUpdate(CREATE_ACCOUNT_SQL, args);
+    }
+
+    /**
+     * Appends the refills to the ledger.
+     *
+     * @param chunk the chunk
+     * @return the number of appended entries per record
+     */
+    private int[] appendRefills(List<RefillRecord> chunk) {
+        Timestamp createdAt = new Timestamp(System.currentTimeMillis());
+        List<Object[]> args = new ArrayList<>(chunk.size());
+        for (RefillRecord record : chunk) {
+            args.add(new Object[]{record.getAmount().toBigDecimal(), record.getAmount().toBigDecimal(),
+                    LedgerEntryType.REFILL.name(), createdAt, record.getUserId()});
+        }
+        return jdbcTemplate.batchUpdate(APPEND_REFILL_SQL, args);
+    }
+}
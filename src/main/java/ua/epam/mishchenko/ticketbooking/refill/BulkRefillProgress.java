@@ -0,0 +1,205 @@
+package ua.epam.mishchenko.ticketbooking.refill;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The progress of a bulk refill. The counters are updated by the job after every chunk
+ * and can be read by other threads while the job runs.
+ */
+public class BulkRefillProgress {
+
+    /**
+     * The id.
+     */
+    private final String id;
+
+    /**
+     * The start time in milliseconds.
+     */
+    private final long startedAt;
+
+    /**
+     * The number of refilled records.
+     */
+    private final AtomicLong refilled = new AtomicLong();
+
+    /**
+     * The number of records of users which do not exist.
+     */
+    private final AtomicLong skipped = new AtomicLong();
+
+    /**
+     * The number of records which can not be parsed or have an invalid amount.
+     */
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * The number of committed chunks.
+     */
+    private final AtomicLong chunks = new AtomicLong();
+
+    /**
+     * The finish time in milliseconds, zero while the job runs.
+     */
+    private volatile long finishedAt;
+
+    /**
+     * Whether the job failed.
+     */
+    private volatile boolean failed;
+
+    /**
+     * Instantiates a new Bulk refill progress.
+     *
+     * @param id        the id
+     * @param startedAt the start time in milliseconds
+     */
+    public BulkRefillProgress(String id, long startedAt) {
+        this.id = id;
+        this.startedAt = startedAt;
+    }
+
+    /**
+     * Records a committed chunk.
+     *
+     * @param refilled the number of refilled records
+     * @param skipped  the number of records of users which do not exist
+     */
+    void chunkCommitted(long refilled, long skipped) {
+        this.refilled.addAndGet(refilled);
+        this.skipped.addAndGet(skipped);
+        this.chunks.incrementAndGet();
+    }
+
+    /**
+     * Sets the number of rejected records.
+     *
+     * @param rejected the number of rejected records
+     */
+    void setRejected(long rejected) {
+        this.rejected.set(rejected);
+    }
+
+    /**
+     * Marks the job as finished.
+     *
+     * @param failed whether the job failed
+     */
+    void finish(boolean failed) {
+        this.failed = failed;
+        this.finishedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Gets id.
+     *
+     * @return the id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Gets start time.
+     *
+     * @return the start time
+     */
+    public Date getStartedAt() {
+        return new Date(startedAt);
+    }
+
+    /**
+     * Gets refilled.
+     *
+     * @return the number of refilled records
+     */
+    public long getRefilled() {
+        return refilled.get();
+    }
+
+    /**
+     * Gets skipped.
+     *
+     * @return the number of records of users which do not exist
+     */
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    /**
+     * Gets rejected.
+     *
+     * @return the number of records which can not be parsed or have an invalid amount
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Gets chunks.
+     *
+     * @return the number of committed chunks
+     */
+    public long getChunks() {
+        return chunks.get();
+    }
+
+    /**
+     * Is finished boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isFinished() {
+        return finishedAt != 0;
+    }
+
+    /**
+     * Is failed boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * Gets the elapsed time in milliseconds, up to now while the job runs.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public long getElapsedMs() {
+        long end = finishedAt != 0 ? finishedAt : System.currentTimeMillis();
+        return Math.max(0, end - startedAt);
+    }
+
+    /**
+     * Gets the throughput in refilled records per second.
+     *
+     * @return the throughput
+     */
+    public long getRecordsPerSecond() {
+        long elapsedMs = getElapsedMs();
+        return elapsedMs == 0 ? getRefilled() : getRefilled() * 1000 / elapsedMs;
+    }
+
+    /**
+     * To string string.
+     *
+     * @return the string
+     */
+    @Override
+    public String toString() {
+        return "{" +
+                "'id' : '" + id + '\'' +
+                ", 'refilled' : " + getRefilled() +
+                ", 'skipped' : " + getSkipped() +
+                ", 'rejected' : " + getRejected() +
+                ", 'chunks' : " + getChunks() +
+                ", 'elapsedMs' : " + getElapsedMs() +
+                ", 'recordsPerSecond' : " + getRecordsPerSecond() +
+                ", 'finished' : " + isFinished() +
+                ", 'failed' : " + isFailed() +
+                "}";
+    }
+}
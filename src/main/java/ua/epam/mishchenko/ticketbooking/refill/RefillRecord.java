@@ -0,0 +1,61 @@
+package ua.epam.mishchenko.ticketbooking.refill;
+
+import ua.epam.mishchenko.ticketbooking.model.Money;
+
+/**
+ * The record of a bulk refill, the amount to credit to the wallet of one user.
+ */
+public final class RefillRecord {
+
+    /**
+     * The user id.
+     */
+    private final long userId;
+
+    /**
+     * The amount.
+     */
+    private final Money amount;
+
+    /**
+     * Instantiates a new Refill record.
+     *
+     * @param userId the user id
+     * @param amount the amount
+     */
+    public RefillRecord(long userId, Money amount) {
+        this.userId = userId;
+        this.amount = amount;
+    }
+
+    /**
+     * Gets user id.
+     *
+     * @return the user id
+     */
+    public long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Gets amount.
+     *
+     * @return the amount
+     */
+    public Money getAmount() {
+        return amount;
+    }
+
+    /**
+     * To string string.
+     *
+     * @return the string
+     */
+    @Override
+    public String toString() {
+        return "{" +
+                "'userId' : " + userId +
+                ", 'amount' : " + amount +
+                "}";
+    }
+}
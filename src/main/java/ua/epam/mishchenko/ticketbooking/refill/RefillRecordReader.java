@@ -0,0 +1,288 @@
+package ua.epam.mishchenko.ticketbooking.refill;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import ua.epam.mishchenko.ticketbooking.model.Money;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The streaming reader of refill records.
+ * <p>
+ * Reads one record at a time, so a file of any size is read in constant memory. A CSV file has a
+ * {@code userId,amount} line per record and an optional header line, a JSON file is an array of
+ * {@code {"userId": 1, "amount": 10.50}} objects. A record which can not be parsed or has an amount
+ * which is not positive or has more than two fraction digits is rejected and counted.
+ */
+public abstract class RefillRecordReader implements Closeable {
+
+    /**
+     * The number of rejected records.
+     */
+    private long rejected;
+
+    /**
+     * Gets a reader of the CSV input.
+     *
+     * @param input the input
+     * @return the reader
+     */
+    public static RefillRecordReader csv(InputStream input) {
+        return new CsvReader(input);
+    }
+
+    /**
+     * Gets a reader of the JSON input.
+     *
+     * @param input the input
+     * @return the reader
+     * @throws UncheckedIOException if the input can not be read
+     */
+    public static RefillRecordReader json(InputStream input) {
+        return new JsonReader(input);
+    }
+
+    /**
+     * Reads the next valid record.
+     *
+     * @return the record or null at the end of the input
+     * @throws UncheckedIOException if the input can not be read
+     */
+    public RefillRecord next() {
+        try {
+            while (true) {
+                Raw raw = readRaw();
+                if (raw == null) {
+                    return null;
+                }
+                RefillRecord record = toRecord(raw);
+                if (record != null) {
+                    return record;
+                }
+                rejected++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can not to read the refill records", e);
+        }
+    }
+
+    /**
+     * Gets the number of rejected records.
+     *
+     * @return the number of rejected records
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Reads the next raw record.
+     *
+     * @return the raw record or null at the end of the input
+     * @throws IOException if the input can not be read
+     */
+    protected abstract Raw readRaw() throws IOException;
+
+    /**
+     * Validates the raw record.
+     *
+     * @param raw the raw record
+     * @return the record or null if the raw record is not valid
+     */
+    private static RefillRecord toRecord(Raw raw) {
+        if (raw.userId == null || raw.amount == null) {
+            return null;
+        }
+        try {
+            Money amount = Money.of(raw.amount);
+            return amount.isPositive() ? new RefillRecord(raw.userId, amount) : null;
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The raw record, its fields are null if they can not be parsed.
+     */
+    protected static final class Raw {
+
+        /**
+         * The user id.
+         */
+        private final Long userId;
+
+        /**
+         * The amount.
+         */
+        private final BigDecimal amount;
+
+        /**
+         * Instantiates a new Raw.
+         *
+         * @param userId the user id
+         * @param amount the amount
+         */
+        private Raw(Long userId, BigDecimal amount) {
+            this.userId = userId;
+            this.amount = amount;
+        }
+    }
+
+    /**
+     * The reader of CSV lines.
+     */
+    private static final class CsvReader extends RefillRecordReader {
+
+        /**
+         * The lines.
+         */
+        private final BufferedReader lines;
+
+        /**
+         * Whether the first line is read.
+         */
+        private boolean started;
+
+        /**
+         * Instantiates a new Csv reader.
+         *
+         * @param input the input
+         */
+        private CsvReader(InputStream input) {
+            this.lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        protected Raw readRaw() throws IOException {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                line = line.trim();
+                boolean header = !started && !line.isEmpty() && !Character.isDigit(line.charAt(0));
+                started = started || !line.isEmpty();
+                if (!line.isEmpty() && !header) {
+                    return parse(line);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Parses the line.
+         *
+         * @param line the line
+         * @return the raw record
+         */
+        private Raw parse(String line) {
+            int separator = line.indexOf(',');
+            if (separator < 0) {
+                return new Raw(null, null);
+            }
+            try {
+                return new Raw(Long.valueOf(line.substring(0, separator).trim()),
+                        new BigDecimal(line.substring(separator + 1).trim()));
+            } catch (NumberFormatException e) {
+                return new Raw(null, null);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            lines.close();
+        }
+    }
+
+    /**
+     * The reader of a JSON array.
+     */
+    private static final class JsonReader extends RefillRecordReader {
+
+        /**
+         * The constant json factory.
+         */
+        private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+        /**
+         * The parser.
+         */
+        private final JsonParser parser;
+
+        /**
+         * Whether the start of the array is read.
+         */
+        private boolean started;
+
+        /**
+         * Instantiates a new Json reader.
+         *
+         * @param input the input
+         */
+        private JsonReader(InputStream input) {
+            try {
+                this.parser = JSON_FACTORY.createParser(input);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Can not to read the refill records", e);
+            }
+        }
+
+        @Override
+        protected Raw readRaw() throws IOException {
+            if (!started) {
+                started = true;
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new IOException("The refill records must be a JSON array");
+                }
+            }
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                return new Raw(null, null);
+            }
+            Long userId = null;
+            BigDecimal amount = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("userId".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    userId = parser.getLongValue();
+                } else if ("amount".equals(field) && value.isNumeric()) {
+                    amount = parser.getDecimalValue();
+                } else if ("amount".equals(field) && value == JsonToken.VALUE_STRING) {
+                    amount = parseDecimal(parser.getText());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new Raw(userId, amount);
+        }
+
+        /**
+         * Parses the decimal.
+         *
+         * @param text the text
+         * @return the decimal or null if the text is not a number
+         */
+        private BigDecimal parseDecimal(String text) {
+            try {
+                return new BigDecimal(text.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package ua.epam.mishchenko.ticketbooking.refund;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.epam.mishchenko.ticketbooking.ledger.WalletLedger;
+import ua.epam.mishchenko.ticketbooking.model.LedgerEntryType;
+import ua.epam.mishchenko.ticketbooking.model.Money;
+import ua.epam.mishchenko.ticketbooking.model.RefundOutboxEntry;
+import ua.epam.mishchenko.ticketbooking.repository.RefundOutboxRepository;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * The writer of refunds of canceled tickets.
+ * <p>
+ * A cancellation only saves its refund in the outbox table, the id of the refund is queued in memory after
+ * the cancellation commits. A single writer thread drains the queue in batches, groups the refunds
+ * of a batch by user and credits every user once, deleting the credited refunds from the outbox in the same
+ * transaction. Refunds which are not in the queue, because it was full or the application stopped,
+ * are queued again from the outbox on startup and periodically. A failed credit is counted on its refunds,
+ * and a refund which failed the maximum number of times stays in the outbox as a dead letter
+ * and is not queued again.
+ */
+@Component
+public class RefundOutboxWriter {
+
+    /**
+     * The constant log.
+     */
+    private static final Logger log = LoggerFactory.getLogger(RefundOutboxWriter.class);
+
+    /**
+     * The refund outbox repository.
+     */
+    private final RefundOutboxRepository refundOutboxRepository;
+
+    /**
+     * The wallet ledger.
+     */
+    private final WalletLedger walletLedger;
+
+    /**
+     * The transaction template of the refunds of one user.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The ids of the refunds to credit.
+     */
+    private final BlockingQueue<Long> queue;
+
+    /**
+     * The maximum number of refunds drained at once.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * The age of a refund in milliseconds after which it is queued again from the outbox.
+     */
+    private final long recoveryDelayMs;
+
+    /**
+     * The number of failed credits after which a refund is a dead letter.
+     */
+    private final int maxAttempts;
+
+    /**
+     * The writer.
+     */
+    private final Thread writer;
+
+    /**
+     * Instantiates a new Refund outbox writer.
+     *
+     * @param refundOutboxRepository the refund outbox repository
+     * @param walletLedger           the wallet ledger
+     * @param transactionManager     the transaction manager
+     * @param queueCapacity          the capacity of the queue
+     * @param maxBatchSize           the maximum number of refunds drained at once
+     * @param recoveryDelayMs        the age of a refund after which it is queued again from the outbox
+     * @param maxAttempts            the number of failed credits after which a refund is a dead letter
+     */
+    public RefundOutboxWriter(RefundOutboxRepository refundOutboxRepository, WalletLedger walletLedger,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${ticket-booking.refunds.queue-capacity:4096}") int queueCapacity,
+                              @Value("${ticket-booking.refunds.max-batch-size:256}") int maxBatchSize,
+                              @Value("${ticket-booking.refunds.recovery-delay-ms:30000}") long recoveryDelayMs,
+                              @Value("${ticket-booking.refunds.max-attempts:10}") int maxAttempts) {
+        this.refundOutboxRepository = refundOutboxRepository;
+        this.walletLedger = walletLedger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.recoveryDelayMs = recoveryDelayMs;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.writer = new Thread(this::drain, "refund-outbox-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Saves the refund in the outbox in the current transaction, it is queued for the writer
+     * after the transaction commits.
+     *
+     * @param ticketId the id of the canceled ticket
+     * @param userId   the user id
+     * @param amount   the amount
+     */
+    public void scheduleRefund(long ticketId, long userId, Money amount) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("A refund can be scheduled in a transaction only");
+        }
+        RefundOutboxEntry refund = refundOutboxRepository.save(
+                new RefundOutboxEntry(ticketId, userId, amount, new Date()));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (!queue.offer(refund.getId())) {
+                    log.warn("The refund queue is full, the refund {} stays in the outbox", refund);
+                }
+            }
+        });
+    }
+
+    /**
+     * Queues the refunds left in the outbox, the ones older than the recovery delay which are not dead letters.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${ticket-booking.refunds.recovery-delay-ms:30000}",
+            fixedDelayString = "${ticket-booking.refunds.recovery-delay-ms:30000}")
+    public void recover() {
+        try {
+            List<Long> ids = refundOutboxRepository.findIdsCreatedBefore(
+                    new Date(System.currentTimeMillis() - recoveryDelayMs), maxAttempts);
+            int queued = 0;
+            for (Long id : ids) {
+                if (!queue.offer(id)) {
+                    break;
+                }
+                queued++;
+            }
+            if (!ids.isEmpty()) {
+                log.info("{} of {} refunds left in the outbox are queued again", queued, ids.size());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Can not to recover the refunds left in the outbox", e);
+        }
+    }
+
+    /**
+     * Stops the writer, the refunds left in the queue stay in the outbox.
+     */
+    @PreDestroy
+    public void shutdown() {
+        writer.interrupt();
+    }
+
+    /**
+     * Drains the queue in batches until the writer is interrupted.
+     */
+    private void drain() {
+        List<Long> batch = new ArrayList<>(maxBatchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            queue.drainTo(batch, maxBatchSize - 1);
+            apply(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Credits the refunds of the batch, one ledger entry per user. A refund queued twice is credited once,
+     * since it is deleted from the outbox together with its credit.
+     *
+     * @param ids the ids of the refunds
+     */
+    void apply(Collection<Long> ids) {
+        try {
+            Map<Long, List<RefundOutboxEntry>> refundsByUser = new TreeMap<>();
+            for (RefundOutboxEntry refund : refundOutboxRepository.findAllById(new LinkedHashSet<>(ids))) {
+                refundsByUser.computeIfAbsent(refund.getUserId(), userId -> new ArrayList<>()).add(refund);
+            }
+            refundsByUser.forEach(this::applyUserRefunds);
+        } catch (RuntimeException e) {
+            log.warn("Can not to load a batch of {} refunds, they stay in the outbox", ids.size(), e);
+        }
+    }
+
+    /**
+     * Credits the refunds of the user in one transaction.
+     *
+     * @param userId  the user id
+     * @param refunds the refunds
+     */
+    private void applyUserRefunds(Long userId, List<RefundOutboxEntry> refunds) {
+        List<Long> ids = new ArrayList<>(refunds.size());
+        Money amount = Money.ZERO;
+        for (RefundOutboxEntry refund : refunds) {
+            ids.add(refund.getId());
+            amount = amount.plus(refund.getAmount());
+        }
+        Money refundedAmount = amount;
+        try {
+            transactionTemplate.execute(status -> {
+                if (refundOutboxRepository.deleteByIds(ids) != ids.size()) {
+                    throw new IllegalStateException("The refunds " + ids + " are already credited");
+                }
+                walletLedger.credit(userId, refundedAmount, LedgerEntryType.CANCELLATION);
+                return null;
+            });
+            log.debug("The refunds {} of the user with id {} successfully credited", ids, userId);
+        } catch (RuntimeException e) {
+            log.warn("Can not to credit the refunds {} of the user with id {}, they stay in the outbox",
+                    ids, userId, e);
+            countFailedAttempt(refunds);
+        }
+    }
+
+    /**
+     * Counts a failed credit of the refunds, the refunds which failed the maximum number of times
+     * become dead letters.
+     *
+     * @param refunds the refunds
+     */
+    private void countFailedAttempt(List<RefundOutboxEntry> refunds) {
+        List<Long> ids = new ArrayList<>(refunds.size());
+        for (RefundOutboxEntry refund : refunds) {
+            ids.add(refund.getId());
+        }
+        try {
+            transactionTemplate.execute(status -> refundOutboxRepository.incrementAttempts(ids));
+        } catch (RuntimeException e) {
+            log.warn("Can not to count the failed credit of the refunds {}", ids, e);
+            return;
+        }
+        for (RefundOutboxEntry refund : refunds) {
+            if (refund.getAttempts() + 1 >= maxAttempts) {
+                log.error("The refund {} failed {} times, it stays in the outbox as a dead letter",
+                        refund, maxAttempts);
+            }
+        }
+    }
+}
@@ -1,19 +1,42 @@
 package ua.epam.mishchenko.ticketbooking.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ua.epam.mishchenko.ticketbooking.model.Event;
+import ua.epam.mishchenko.ticketbooking.repository.projection.EventSummary;
 
+import javax.persistence.QueryHint;
 import java.util.Date;
 
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 @Repository
 public interface EventRepository extends CrudRepository<Event, Long> {
 
-    Page<Event> getAllByTitle(Pageable pageable, String title);
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    Slice<Event> getAllByTitle(Pageable pageable, String title);
+
+    long countByTitle(String title);
+
+    @Query("select e.id as id, e.title as title, e.date as date from Event e " +
+            "where e.title = :title and e.id > :afterId order by e.id")
+    Slice<EventSummary> getAllByTitleAndIdGreaterThanOrderById(Pageable pageable, @Param("title") String title,
+                                                               @Param("afterId") Long afterId);
+
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    Slice<Event> getAllByDate(Pageable pageable, Date day);
+
+    long countByDate(Date day);
 
-    Page<Event> getAllByDate(Pageable pageable, Date day);
+    @Query("select e.id as id, e.title as title, e.date as date from Event e " +
+            "where e.date = :day and e.id > :afterId order by e.id")
+    Slice<EventSummary> getAllByDateAndIdGreaterThanOrderById(Pageable pageable, @Param("day") Date day,
+                                                              @Param("afterId") Long afterId);
 
     Boolean existsByTitleAndDate(String title, Date date);
 }
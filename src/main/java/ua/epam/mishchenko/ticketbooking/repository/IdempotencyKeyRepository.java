@@ -0,0 +1,18 @@
+package ua.epam.mishchenko.ticketbooking.repository;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ua.epam.mishchenko.ticketbooking.model.IdempotencyKey;
+
+import java.util.Date;
+
+@Repository
+public interface IdempotencyKeyRepository extends CrudRepository<IdempotencyKey, String> {
+
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.expiresAt < :now")
+    int deleteExpired(@Param("now") Date now);
+}
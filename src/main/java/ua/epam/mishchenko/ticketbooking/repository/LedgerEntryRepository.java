@@ -0,0 +1,57 @@
+package ua.epam.mishchenko.ticketbooking.repository;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ua.epam.mishchenko.ticketbooking.model.LedgerEntry;
+import ua.epam.mishchenko.ticketbooking.repository.projection.LedgerHead;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LedgerEntryRepository extends CrudRepository<LedgerEntry, Long> {
+
+    /**
+     * The constant query of the head of the ledger of the user: the last entry, or the money of the account
+     * at the position 0 if there are no entries. Only the newest entry is read, through the unique index
+     * of the positions.
+     */
+    String HEAD_SQL = "SELECT ua.user_id, COALESCE(e.id, 0) AS id, COALESCE(e.seq, 0) AS seq, " +
+            "COALESCE(e.balance, ua.money) AS balance FROM user_accounts ua " +
+            "LEFT JOIN LATERAL (SELECT le.id, le.seq, le.balance FROM ledger_entries le " +
+            "WHERE le.user_id = ua.user_id ORDER BY le.seq DESC LIMIT 1) e ON TRUE WHERE ua.user_id = :userId";
+
+    @Query("select distinct e.userId from LedgerEntry e, UserAccount ua " +
+            "where ua.user.id = e.userId and e.id > ua.ledgerPosition")
+    List<Long> findUserIdsWithEntriesAfterSnapshot();
+
+    /**
+     * Finds the head of the ledger of the user.
+     *
+     * @param userId the user id
+     * @return the head or empty if the user has no account
+     */
+    @Query(value = HEAD_SQL, nativeQuery = true)
+    Optional<LedgerHead> findHead(@Param("userId") Long userId);
+
+    /**
+     * Appends the entry after the head of the ledger of the user if the balance stays not negative, in one
+     * statement which neither updates nor locks a row. Nothing is appended if the user has no account,
+     * if the balance would become negative or if a concurrent append of the user took the position first,
+     * the unique position of the entries stops the second of two appends on the same balance.
+     *
+     * @param userId the user id
+     * @param amount the amount, positive for a credit and negative for a debit
+     * @param type   the type of the entry
+     * @return the appended entry or empty if nothing is appended
+     */
+    @Query(value = "INSERT INTO ledger_entries (user_id, seq, amount, balance, type, created_at) " +
+            "SELECT head.user_id, head.seq + 1, :amount, head.balance + :amount, :type, LOCALTIMESTAMP " +
+            "FROM (" + HEAD_SQL + ") head WHERE head.balance + :amount >= 0 " +
+            "ON CONFLICT (user_id, seq) DO NOTHING RETURNING id, seq, balance", nativeQuery = true)
+    Optional<LedgerHead> appendAtHead(@Param("userId") Long userId, @Param("amount") BigDecimal amount,
+                                      @Param("type") String type);
+}
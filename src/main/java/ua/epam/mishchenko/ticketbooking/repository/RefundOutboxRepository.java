@@ -0,0 +1,29 @@
+package ua.epam.mishchenko.ticketbooking.repository;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ua.epam.mishchenko.ticketbooking.model.RefundOutboxEntry;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface RefundOutboxRepository extends CrudRepository<RefundOutboxEntry, Long> {
+
+    @Query("select r.id from RefundOutboxEntry r where r.createdAt < :createdBefore " +
+            "and r.attempts < :maxAttempts order by r.id")
+    List<Long> findIdsCreatedBefore(@Param("createdBefore") Date createdBefore,
+                                    @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Query("update RefundOutboxEntry r set r.attempts = r.attempts + 1 where r.id in :ids")
+    int incrementAttempts(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from RefundOutboxEntry r where r.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
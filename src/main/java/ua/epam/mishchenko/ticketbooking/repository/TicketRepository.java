@@ -1,18 +1,78 @@
 package ua.epam.mishchenko.ticketbooking.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ua.epam.mishchenko.ticketbooking.model.Category;
 import ua.epam.mishchenko.ticketbooking.model.Ticket;
+import ua.epam.mishchenko.ticketbooking.repository.projection.BookedSeat;
+import ua.epam.mishchenko.ticketbooking.repository.projection.BookedTicketExport;
+import ua.epam.mishchenko.ticketbooking.repository.projection.TicketSummary;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface TicketRepository extends CrudRepository<Ticket, Long> {
 
-    Page<Ticket> getAllByUserId(Pageable pageable, Long userId);
+    /**
+     * Finds the ticket by id with its event, which the cancellation needs for the refund.
+     *
+     * @param id the id
+     * @return the ticket with its event
+     */
+    @EntityGraph(attributePaths = "event")
+    Optional<Ticket> findWithEventById(Long id);
+
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    Slice<Ticket> getAllByUserId(Pageable pageable, Long userId);
+
+    long countByUserId(Long userId);
+
+    @Query("select t.id as id, t.user.id as userId, t.event.id as eventId, t.place as place, " +
+            "t.category as category from Ticket t where t.user.id = :userId and t.id > :afterId order by t.id")
+    Slice<TicketSummary> getAllByUserIdAndIdGreaterThanOrderById(Pageable pageable, @Param("userId") Long userId,
+                                                                 @Param("afterId") Long afterId);
 
-    Page<Ticket> getAllByEventId(Pageable pageable, Long eventId);
+    /**
+     * Streams the booked tickets of the user ordered by id. The rows are read through a server-side cursor
+     * in batches of the fetch size, so the stream has to be consumed and closed inside a transaction.
+     *
+     * @param userId the user id
+     * @return the stream of the booked tickets
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")})
+    @Query("select t.id as id, e.id as eventId, e.title as eventTitle, e.date as eventDate, " +
+            "t.place as place, t.category as category from Ticket t join t.event e " +
+            "where t.user.id = :userId order by t.id")
+    Stream<BookedTicketExport> streamBookedTicketsByUserId(@Param("userId") Long userId);
+
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    Slice<Ticket> getAllByEventId(Pageable pageable, Long eventId);
+
+    long countByEventId(Long eventId);
+
+    @Query("select t.id as id, t.user.id as userId, t.event.id as eventId, t.place as place, " +
+            "t.category as category from Ticket t where t.event.id = :eventId and t.id > :afterId order by t.id")
+    Slice<TicketSummary> getAllByEventIdAndIdGreaterThanOrderById(Pageable pageable, @Param("eventId") Long eventId,
+                                                                  @Param("afterId") Long afterId);
 
     Boolean existsByEventIdAndPlaceAndCategory(Long eventId, Integer place, Category category);
+
+    @Query("select t.event.id as eventId, t.place as place, t.category as category from Ticket t " +
+            "where t.event.id = :eventId")
+    List<BookedSeat> findBookedSeatsByEventId(@Param("eventId") Long eventId);
 }
@@ -1,7 +1,11 @@
 package ua.epam.mishchenko.ticketbooking.repository;
 
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ua.epam.mishchenko.ticketbooking.model.Money;
 import ua.epam.mishchenko.ticketbooking.model.UserAccount;
 
 import java.util.Optional;
@@ -10,4 +14,20 @@ import java.util.Optional;
 public interface UserAccountRepository extends CrudRepository<UserAccount, Long> {
 
     Optional<UserAccount> findByUserId(Long userId);
+
+    /**
+     * Replaces the snapshot money of the account with the money folded up to the position,
+     * unless another snapshot moved the position since the account was read.
+     *
+     * @param userId       the user id
+     * @param money        the money at the new position
+     * @param fromPosition the position the money was folded from
+     * @param toPosition   the id of the last folded entry
+     * @return the number of updated accounts
+     */
+    @Modifying
+    @Query("update UserAccount ua set ua.money = :money, ua.ledgerPosition = :toPosition " +
+            "where ua.user.id = :userId and ua.ledgerPosition = :fromPosition")
+    int applySnapshot(@Param("userId") Long userId, @Param("money") Money money,
+                      @Param("fromPosition") Long fromPosition, @Param("toPosition") Long toPosition);
 }
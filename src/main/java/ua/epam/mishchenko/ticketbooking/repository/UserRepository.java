@@ -1,19 +1,34 @@
 package ua.epam.mishchenko.ticketbooking.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ua.epam.mishchenko.ticketbooking.model.User;
+import ua.epam.mishchenko.ticketbooking.repository.projection.UserSummary;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 @Repository
-public interface UserRepository extends CrudRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> getByEmail(String email);
 
-    Page<User> getAllByName(Pageable pageable, String name);
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    Slice<User> getAllByName(Pageable pageable, String name);
+
+    long countByName(String name);
+
+    @Query("select u.id as id, u.name as name, u.email as email from User u " +
+            "where u.name = :name and u.id > :afterId order by u.id")
+    Slice<UserSummary> getAllByNameAndIdGreaterThanOrderById(Pageable pageable, @Param("name") String name,
+                                                             @Param("afterId") Long afterId);
 
     Boolean existsByEmail(String email);
 }
@@ -0,0 +1,30 @@
+package ua.epam.mishchenko.ticketbooking.repository.projection;
+
+import ua.epam.mishchenko.ticketbooking.model.Category;
+
+/**
+ * The projection of a booked seat.
+ */
+public interface BookedSeat {
+
+    /**
+     * Gets event id.
+     *
+     * @return the event id
+     */
+    Long getEventId();
+
+    /**
+     * Gets place.
+     *
+     * @return the place
+     */
+    Integer getPlace();
+
+    /**
+     * Gets category.
+     *
+     * @return the category
+     */
+    Category getCategory();
+}
@@ -0,0 +1,53 @@
+package ua.epam.mishchenko.ticketbooking.repository.projection;
+
+import ua.epam.mishchenko.ticketbooking.model.Category;
+
+import java.util.Date;
+
+/**
+ * The projection of a booked ticket of a user with the columns of its event the export needs.
+ */
+public interface BookedTicketExport {
+
+    /**
+     * Gets id.
+     *
+     * @return the id
+     */
+    Long getId();
+
+    /**
+     * Gets event id.
+     *
+     * @return the event id
+     */
+    Long getEventId();
+
+    /**
+     * Gets event title.
+     *
+     * @return the event title
+     */
+    String getEventTitle();
+
+    /**
+     * Gets event date.
+     *
+     * @return the event date
+     */
+    Date getEventDate();
+
+    /**
+     * Gets place.
+     *
+     * @return the place
+     */
+    Integer getPlace();
+
+    /**
+     * Gets category.
+     *
+     * @return the category
+     */
+    Category getCategory();
+}
@@ -0,0 +1,30 @@
+package ua.epam.mishchenko.ticketbooking.repository.projection;
+
+import java.util.Date;
+
+/**
+ * The projection of an event with the columns the lists of events show.
+ */
+public interface EventSummary {
+
+    /**
+     * Gets id.
+     *
+     * @return the id
+     */
+    Long getId();
+
+    /**
+     * Gets title.
+     *
+     * @return the title
+     */
+    String getTitle();
+
+    /**
+     * Gets date.
+     *
+     * @return the date
+     */
+    Date getDate();
+}
@@ -0,0 +1,31 @@
+package ua.epam.mishchenko.ticketbooking.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * The projection of the last entry of the ledger of a user, the account itself with the position 0
+ * if the user has no entries yet.
+ */
+public interface LedgerHead {
+
+    /**
+     * Gets the id of the entry, 0 if the user has no entries.
+     *
+     * @return the id
+     */
+    Long getId();
+
+    /**
+     * Gets the position of the entry in the ledger of the user, 0 if the user has no entries.
+     *
+     * @return the position
+     */
+    Long getSeq();
+
+    /**
+     * Gets the balance after the entry.
+     *
+     * @return the balance
+     */
+    BigDecimal getBalance();
+}
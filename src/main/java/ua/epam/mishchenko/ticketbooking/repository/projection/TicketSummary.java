@@ -0,0 +1,44 @@
+package ua.epam.mishchenko.ticketbooking.repository.projection;
+
+import ua.epam.mishchenko.ticketbooking.model.Category;
+
+/**
+ * The projection of a ticket with the columns the lists of tickets show, the user and the event are not loaded.
+ */
+public interface TicketSummary {
+
+    /**
+     * Gets id.
+     *
+     * @return the id
+     */
+    Long getId();
+
+    /**
+     * Gets user id.
+     *
+     * @return the user id
+     */
+    Long getUserId();
+
+    /**
+     * Gets event id.
+     *
+     * @return the event id
+     */
+    Long getEventId();
+
+    /**
+     * Gets place.
+     *
+     * @return the place
+     */
+    Integer getPlace();
+
+    /**
+     * Gets category.
+     *
+     * @return the category
+     */
+    Category getCategory();
+}
@@ -0,0 +1,28 @@
+package ua.epam.mishchenko.ticketbooking.repository.projection;
+
+/**
+ * The projection of a user with the columns the lists of users show, the account is not loaded.
+ */
+public interface UserSummary {
+
+    /**
+     * Gets id.
+     *
+     * @return the id
+     */
+    Long getId();
+
+    /**
+     * Gets name.
+     *
+     * @return the name
+     */
+    String getName();
+
+    /**
+     * Gets email.
+     *
+     * @return the email
+     */
+    String getEmail();
+}
@@ -1,6 +1,8 @@
 package ua.epam.mishchenko.ticketbooking.service;
 
 import ua.epam.mishchenko.ticketbooking.model.Event;
+import ua.epam.mishchenko.ticketbooking.paging.CursorSlice;
+import ua.epam.mishchenko.ticketbooking.repository.projection.EventSummary;
 
 import java.util.Date;
 import java.util.List;
@@ -28,6 +30,24 @@ public interface EventService {
      */
     List<Event> getEventsByTitle(String title, int pageSize, int pageNum);
 
+    /**
+     * Gets the events by title after the cursor, ordered by id.
+     *
+     * @param title    the title
+     * @param pageSize the page size
+     * @param after    the cursor of the page, null for the first page
+     * @return the page of the events by title
+     */
+    CursorSlice<EventSummary> getEventsByTitle(String title, int pageSize, String after);
+
+    /**
+     * Gets the approximate number of events by title.
+     *
+     * @param title the title
+     * @return the approximate number of events by title
+     */
+    long countEventsByTitle(String title);
+
     /**
      * Gets events for day.
      *
@@ -38,6 +58,24 @@ public interface EventService {
      */
     List<Event> getEventsForDay(Date day, int pageSize, int pageNum);
 
+    /**
+     * Gets the events for day after the cursor, ordered by id.
+     *
+     * @param day      the day
+     * @param pageSize the page size
+     * @param after    the cursor of the page, null for the first page
+     * @return the page of the events for day
+     */
+    CursorSlice<EventSummary> getEventsForDay(Date day, int pageSize, String after);
+
+    /**
+     * Gets the approximate number of events for day.
+     *
+     * @param day the day
+     * @return the approximate number of events for day
+     */
+    long countEventsForDay(Date day);
+
     /**
      * Create event event.
      *
@@ -0,0 +1,24 @@
+package ua.epam.mishchenko.ticketbooking.service;
+
+import ua.epam.mishchenko.ticketbooking.model.Category;
+import ua.epam.mishchenko.ticketbooking.model.Ticket;
+
+import java.util.List;
+
+/**
+ * The interface Seat allocation service.
+ */
+public interface SeatAllocationService {
+
+    /**
+     * Book the best available adjacent seats of the category, the ones with the lowest places,
+     * all of them or none.
+     *
+     * @param userId   the user id
+     * @param eventId  the event id
+     * @param category the category
+     * @param count    the number of seats
+     * @return the tickets or an empty list if the tickets can not be booked
+     */
+    List<Ticket> bookBestAvailableTickets(long userId, long eventId, Category category, int count);
+}
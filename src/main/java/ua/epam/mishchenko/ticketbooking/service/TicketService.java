@@ -1,10 +1,16 @@
 package ua.epam.mishchenko.ticketbooking.service;
 
+import ua.epam.mishchenko.ticketbooking.booking.BookingRequest;
+import ua.epam.mishchenko.ticketbooking.booking.SeatHold;
 import ua.epam.mishchenko.ticketbooking.model.Category;
 import ua.epam.mishchenko.ticketbooking.model.Event;
+import ua.epam.mishchenko.ticketbooking.model.Seat;
 import ua.epam.mishchenko.ticketbooking.model.Ticket;
 import ua.epam.mishchenko.ticketbooking.model.User;
+import ua.epam.mishchenko.ticketbooking.paging.CursorSlice;
+import ua.epam.mishchenko.ticketbooking.repository.projection.TicketSummary;
 
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -23,6 +29,79 @@ public interface TicketService {
      */
     Ticket bookTicket(long userId, long eventId, int place, Category category);
 
+    /**
+     * Book ticket, a request replayed with the same idempotency key returns the ticket
+     * booked by the original request without booking it again.
+     *
+     * @param userId         the user id
+     * @param eventId        the event id
+     * @param place          the place
+     * @param category       the category
+     * @param idempotencyKey the idempotency key, may be null
+     * @return the ticket
+     */
+    Ticket bookTicket(long userId, long eventId, int place, Category category, String idempotencyKey);
+
+    /**
+     * Book tickets for several seats of one event, all of them or none.
+     *
+     * @param userId  the user id
+     * @param eventId the event id
+     * @param seats   the seats
+     * @return the tickets or an empty list if the tickets can not be booked
+     */
+    List<Ticket> bookTickets(long userId, long eventId, List<Seat> seats);
+
+    /**
+     * Book tickets of independent requests in one transaction, a request which can not be booked
+     * does not prevent the others.
+     *
+     * @param requests the booking requests
+     * @return the tickets in the order of the requests, null for a request which can not be booked
+     */
+    List<Ticket> bookTicketsInBatch(List<BookingRequest> requests);
+
+    /**
+     * Book tickets of the seats the caller already claimed in the seat inventory,
+     * the claims are released if the tickets can not be booked.
+     *
+     * @param userId  the user id
+     * @param eventId the event id
+     * @param seats   the claimed seats
+     * @return the tickets or an empty list if the tickets can not be booked
+     */
+    List<Ticket> bookClaimedTickets(long userId, long eventId, List<Seat> seats);
+
+    /**
+     * Hold ticket for a while, nobody else can book the seat until the hold is confirmed, released or expired.
+     *
+     * @param userId     the user id
+     * @param eventId    the event id
+     * @param place      the place
+     * @param category   the category
+     * @param ttlSeconds the time to live of the hold in seconds
+     * @return the seat hold or null if the seat can not be held
+     */
+    SeatHold holdTicket(long userId, long eventId, int place, Category category, long ttlSeconds);
+
+    /**
+     * Confirm held ticket, books the held seat.
+     *
+     * @param userId the user id
+     * @param holdId the hold id
+     * @return the ticket or null if the hold is not active or the ticket can not be booked
+     */
+    Ticket confirmHeldTicket(long userId, String holdId);
+
+    /**
+     * Release held ticket.
+     *
+     * @param userId the user id
+     * @param holdId the hold id
+     * @return the boolean
+     */
+    boolean releaseHeldTicket(long userId, String holdId);
+
     /**
      * Gets booked tickets.
      *
@@ -33,6 +112,33 @@ public interface TicketService {
      */
     List<Ticket> getBookedTickets(User user, int pageSize, int pageNum);
 
+    /**
+     * Gets the booked tickets of the user after the cursor, ordered by id.
+     *
+     * @param user     the user
+     * @param pageSize the page size
+     * @param after    the cursor of the page, null for the first page
+     * @return the page of the booked tickets of the user
+     */
+    CursorSlice<TicketSummary> getBookedTickets(User user, int pageSize, String after);
+
+    /**
+     * Gets the approximate number of the booked tickets of the user.
+     *
+     * @param user the user
+     * @return the approximate number of the booked tickets of the user
+     */
+    long countBookedTickets(User user);
+
+    /**
+     * Writes all booked tickets of the user to the output as CSV.
+     *
+     * @param user   the user
+     * @param output the output
+     * @return the boolean
+     */
+    boolean exportBookedTickets(User user, OutputStream output);
+
     /**
      * Gets booked tickets.
      *
@@ -43,6 +149,24 @@ public interface TicketService {
      */
     List<Ticket> getBookedTickets(Event event, int pageSize, int pageNum);
 
+    /**
+     * Gets the booked tickets of the event after the cursor, ordered by id.
+     *
+     * @param event    the event
+     * @param pageSize the page size
+     * @param after    the cursor of the page, null for the first page
+     * @return the page of the booked tickets of the event
+     */
+    CursorSlice<TicketSummary> getBookedTickets(Event event, int pageSize, String after);
+
+    /**
+     * Gets the approximate number of the booked tickets of the event.
+     *
+     * @param event the event
+     * @return the approximate number of the booked tickets of the event
+     */
+    long countBookedTickets(Event event);
+
     /**
      * Cancel ticket boolean.
      *
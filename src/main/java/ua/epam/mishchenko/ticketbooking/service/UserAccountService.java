@@ -1,10 +1,21 @@
 package ua.epam.mishchenko.ticketbooking.service;
 
 import ua.epam.mishchenko.ticketbooking.model.UserAccount;
+import ua.epam.mishchenko.ticketbooking.refill.BulkRefillProgress;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.util.List;
 
 public interface UserAccountService {
 
     UserAccount refillAccount(long userId, BigDecimal money);
+
+    UserAccount refillAccount(long userId, BigDecimal money, String idempotencyKey);
+
+    BigDecimal getBalance(long userId);
+
+    BulkRefillProgress refillAccounts(InputStream records, boolean json);
+
+    List<BulkRefillProgress> getBulkRefills();
 }
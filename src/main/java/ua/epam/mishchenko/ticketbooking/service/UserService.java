@@ -1,6 +1,8 @@
 package ua.epam.mishchenko.ticketbooking.service;
 
 import ua.epam.mishchenko.ticketbooking.model.User;
+import ua.epam.mishchenko.ticketbooking.paging.CursorSlice;
+import ua.epam.mishchenko.ticketbooking.repository.projection.UserSummary;
 
 import java.util.List;
 
@@ -35,6 +37,24 @@ public interface UserService {
      */
     List<User> getUsersByName(String name, int pageSize, int pageNum);
 
+    /**
+     * Gets the users by name after the cursor, ordered by id.
+     *
+     * @param name     the name
+     * @param pageSize the page size
+     * @param after    the cursor of the page, null for the first page
+     * @return the page of the users by name
+     */
+    CursorSlice<UserSummary> getUsersByName(String name, int pageSize, String after);
+
+    /**
+     * Gets the approximate number of users by name.
+     *
+     * @param name the name
+     * @return the approximate number of users by name
+     */
+    long countUsersByName(String name);
+
     /**
      * Create user user.
      *
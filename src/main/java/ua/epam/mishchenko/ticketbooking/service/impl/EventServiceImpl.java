@@ -2,11 +2,15 @@ package ua.epam.mishchenko.ticketbooking.service.impl;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import ua.epam.mishchenko.ticketbooking.model.Event;
+import ua.epam.mishchenko.ticketbooking.paging.ApproximateCountCache;
+import ua.epam.mishchenko.ticketbooking.paging.CursorSlice;
+import ua.epam.mishchenko.ticketbooking.paging.KeysetCursor;
 import ua.epam.mishchenko.ticketbooking.repository.EventRepository;
+import ua.epam.mishchenko.ticketbooking.repository.projection.EventSummary;
 import ua.epam.mishchenko.ticketbooking.service.EventService;
 
 import java.util.ArrayList;
@@ -29,13 +33,20 @@ public class EventServiceImpl implements EventService {
      */
     private final EventRepository eventRepository;
 
+    /**
+     * The cache of the approximate totals of the lists.
+     */
+    private final ApproximateCountCache approximateCountCache;
+
     /**
      * Instantiates a new EventServiceImpl.
      *
-     * @param eventRepository the event repository
+     * @param eventRepository       the event repository
+     * @param approximateCountCache the cache of the approximate totals of the lists
      */
-    public EventServiceImpl(EventRepository eventRepository) {
+    public EventServiceImpl(EventRepository eventRepository, ApproximateCountCache approximateCountCache) {
         this.eventRepository = eventRepository;
+        this.approximateCountCache = approximateCountCache;
     }
 
     /**
@@ -75,7 +86,7 @@ public class EventServiceImpl implements EventService {
                 log.warn("The title can not be empty");
                 return new ArrayList<>();
             }
-            Page<Event> eventsByTitle = eventRepository.getAllByTitle(PageRequest.of(pageNum - 1, pageSize), title);
+            Slice<Event> eventsByTitle = eventRepository.getAllByTitle(PageRequest.of(pageNum - 1, pageSize), title);
             if (!eventsByTitle.hasContent()) {
                 throw new RuntimeException("Can not to find a list of events by title: " + title);
             }
@@ -88,6 +99,49 @@ public class EventServiceImpl implements EventService {
         }
     }
 
+    /**
+     * Gets the events by title after the cursor, ordered by id.
+     *
+     * @param title    the title
+     * @param pageSize the page size
+     * @param after    the cursor of the page, null for the first page
+     * @return the page of the events by title
+     */
+    @Override
+    public CursorSlice<EventSummary> getEventsByTitle(String title, int pageSize, String after) {
+        log.info("Finding events by title {} with page size {} after {}", title, pageSize, after);
+        try {
+            if (title.isEmpty()) {
+                log.warn("The title can not be empty");
+                return CursorSlice.empty();
+            }
+            Slice<EventSummary> slice = eventRepository.getAllByTitleAndIdGreaterThanOrderById(
+                    PageRequest.of(0, pageSize), title, KeysetCursor.decode(after));
+            log.info("Events by title {} successfully found with page size {} after {}", title, pageSize, after);
+            return CursorSlice.of(slice, EventSummary::getId);
+        } catch (RuntimeException e) {
+            log.warn("Can not to find events by title {}", title, e);
+            return CursorSlice.empty();
+        }
+    }
+
+    /**
+     * Gets the approximate number of events by title.
+     *
+     * @param title the title
+     * @return the approximate number of events by title, 0 if it can not be counted
+     */
+    @Override
+    public long countEventsByTitle(String title) {
+        log.info("Counting events by title {}", title);
+        try {
+            return approximateCountCache.get("events.title", title, () -> eventRepository.countByTitle(title));
+        } catch (RuntimeException e) {
+            log.warn("Can not to count events by title {}", title, e);
+            return 0;
+        }
+    }
+
     /**
      * Gets events for day.
      *
@@ -105,7 +159,7 @@ public class EventServiceImpl implements EventService {
                 log.warn("The day can not be null");
                 return new ArrayList<>();
             }
-            Page<Event> eventsByTitle = eventRepository.getAllByDate(PageRequest.of(pageNum - 1, pageSize), day);
+            Slice<Event> eventsByTitle = eventRepository.getAllByDate(PageRequest.of(pageNum - 1, pageSize), day);
             if (!eventsByTitle.hasContent()) {
                 throw new RuntimeException("Can not to find a list of events for day: " + day);
             }
@@ -119,6 +173,49 @@ public class EventServiceImpl implements EventService {
         }
     }
 
+    /**
+     * Gets the events for day after the cursor, ordered by id.
+     *
+     * @param day      the day
+     * @param pageSize the page size
+     * @param after    the cursor of the page, null for the first page
+     * @return the page of the events for day
+     */
+    @Override
+    public CursorSlice<EventSummary> getEventsForDay(Date day, int pageSize, String after) {
+        log.info("Finding events for day {} with page size {} after {}", day, pageSize, after);
+        try {
+            if (day == null) {
+                log.warn("The day can not be null");
+                return CursorSlice.empty();
+            }
+            Slice<EventSummary> slice = eventRepository.getAllByDateAndIdGreaterThanOrderById(
+                    PageRequest.of(0, pageSize), day, KeysetCursor.decode(after));
+            log.info("Events for day {} successfully found with page size {} after {}", day, pageSize, after);
+            return CursorSlice.of(slice, EventSummary::getId);
+        } catch (RuntimeException e) {
+            log.warn("Can not to find events for day {}", day, e);
+            return CursorSlice.empty();
+        }
+    }
+
+    /**
+     * Gets the approximate number of events for day.
+     *
+     * @param day the day
+     * @return the approximate number of events for day, 0 if it can not be counted
+     */
+    @Override
+    public long countEventsForDay(Date day) {
+        log.info("Counting events for day {}", day);
+        try {
+            return approximateCountCache.get("events.day", day, () -> eventRepository.countByDate(day));
+        } catch (RuntimeException e) {
+            log.warn("Can not to count events for day {}", day, e);
+            return 0;
+        }
+    }
+
     /**
      * Create event.
      *
@@ -0,0 +1,98 @@
+package ua.epam.mishchenko.ticketbooking.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ua.epam.mishchenko.ticketbooking.booking.SeatInventory;
+import ua.epam.mishchenko.ticketbooking.model.Category;
+import ua.epam.mishchenko.ticketbooking.model.Seat;
+import ua.epam.mishchenko.ticketbooking.model.Ticket;
+import ua.epam.mishchenko.ticketbooking.repository.EventRepository;
+import ua.epam.mishchenko.ticketbooking.service.SeatAllocationService;
+import ua.epam.mishchenko.ticketbooking.service.TicketService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The type Seat allocation service.
+ * <p>
+ * The seats are picked and claimed in one step by the free run index of the seat inventory,
+ * so concurrent callers never probe the same places and never fail on each other's seats.
+ */
+@Service
+public class SeatAllocationServiceImpl implements SeatAllocationService {
+
+    /**
+     * The constant log.
+     */
+    private static final Logger log = LoggerFactory.getLogger(SeatAllocationServiceImpl.class);
+
+    private final SeatInventory seatInventory;
+
+    private final TicketService ticketService;
+
+    private final EventRepository eventRepository;
+
+    /**
+     * The number of places of every category of an event.
+     */
+    private final int placesPerCategory;
+
+    /**
+     * The maximum number of seats of one booking.
+     */
+    private final int maxSeatsPerBooking;
+
+    public SeatAllocationServiceImpl(SeatInventory seatInventory, TicketService ticketService,
+                                     EventRepository eventRepository,
+                                     @Value("${ticket-booking.allocation.places-per-category:1000}")
+                                             int placesPerCategory,
+                                     @Value("${ticket-booking.allocation.max-seats-per-booking:10}")
+                                             int maxSeatsPerBooking) {
+        this.seatInventory = seatInventory;
+        this.ticketService = ticketService;
+        this.eventRepository = eventRepository;
+        this.placesPerCategory = placesPerCategory;
+        this.maxSeatsPerBooking = maxSeatsPerBooking;
+    }
+
+    /**
+     * Book best available tickets.
+     *
+     * @param userId   the user id
+     * @param eventId  the event id
+     * @param category the category
+     * @param count    the number of seats
+     * @return the tickets
+     */
+    @Override
+    public List<Ticket> bookBestAvailableTickets(long userId, long eventId, Category category, int count) {
+        log.info("Start booking {} best available tickets for user with id {}, event with id {}, category {}",
+                count, userId, eventId, category);
+        try {
+            throwRuntimeExceptionIfCountNotValid(count);
+            if (!eventRepository.existsById(eventId)) {
+                throw new RuntimeException("Can not to find an event by id: " + eventId);
+            }
+            List<Seat> seats = seatInventory.tryClaimBestAvailable(eventId, category, count, placesPerCategory);
+            if (seats.isEmpty()) {
+                throw new RuntimeException("There are no " + count + " adjacent free seats in category " +
+                        category + " of the event with id " + eventId);
+            }
+            return ticketService.bookClaimedTickets(userId, eventId, seats);
+        } catch (RuntimeException e) {
+            log.warn("Can not to book {} best available tickets for user with id {}, event with id {}, category {}",
+                    count, userId, eventId, category, e);
+            return new ArrayList<>();
+        }
+    }
+
+    private void throwRuntimeExceptionIfCountNotValid(int count) {
+        if (count < 1 || count > maxSeatsPerBooking) {
+            throw new RuntimeException("The number of seats must be between 1 and " + maxSeatsPerBooking +
+                    ": " + count);
+        }
+    }
+}
@@ -1,27 +1,50 @@
 package ua.epam.mishchenko.ticketbooking.service.impl;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ua.epam.mishchenko.ticketbooking.booking.BookingRequest;
+import ua.epam.mishchenko.ticketbooking.booking.BookingTransactionExecutor;
+import ua.epam.mishchenko.ticketbooking.booking.SeatHold;
+import ua.epam.mishchenko.ticketbooking.booking.SeatHoldRegistry;
+import ua.epam.mishchenko.ticketbooking.booking.SeatInventory;
+import ua.epam.mishchenko.ticketbooking.db.QueryCountingStatementInspector;
+import ua.epam.mishchenko.ticketbooking.export.BookedTicketsCsvExporter;
+import ua.epam.mishchenko.ticketbooking.idempotency.IdempotencyStore;
+import ua.epam.mishchenko.ticketbooking.idempotency.IdempotentOperation;
+import ua.epam.mishchenko.ticketbooking.ledger.WalletLedger;
 import ua.epam.mishchenko.ticketbooking.model.Category;
 import ua.epam.mishchenko.ticketbooking.model.Event;
+import ua.epam.mishchenko.ticketbooking.model.LedgerEntryType;
+import ua.epam.mishchenko.ticketbooking.model.Money;
+import ua.epam.mishchenko.ticketbooking.model.Seat;
 import ua.epam.mishchenko.ticketbooking.model.Ticket;
 import ua.epam.mishchenko.ticketbooking.model.User;
-import ua.epam.mishchenko.ticketbooking.model.UserAccount;
+import ua.epam.mishchenko.ticketbooking.paging.ApproximateCountCache;
+import ua.epam.mishchenko.ticketbooking.paging.CursorSlice;
+import ua.epam.mishchenko.ticketbooking.paging.KeysetCursor;
+import ua.epam.mishchenko.ticketbooking.refund.RefundOutboxWriter;
 import ua.epam.mishchenko.ticketbooking.repository.EventRepository;
 import ua.epam.mishchenko.ticketbooking.repository.TicketRepository;
-import ua.epam.mishchenko.ticketbooking.repository.UserAccountRepository;
 import ua.epam.mishchenko.ticketbooking.repository.UserRepository;
+import ua.epam.mishchenko.ticketbooking.repository.projection.TicketSummary;
 import ua.epam.mishchenko.ticketbooking.service.TicketService;
 
-import java.math.BigDecimal;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * The type Ticket service.
@@ -34,20 +57,59 @@ public class TicketServiceImpl implements TicketService {
      */
     private static final Logger log = LoggerFactory.getLogger(TicketServiceImpl.class);
 
-    private final UserRepository userRepository;
-
     private final EventRepository eventRepository;
 
     private final TicketRepository ticketRepository;
 
-    private final UserAccountRepository userAccountRepository;
+    private final UserRepository userRepository;
 
-    public TicketServiceImpl(UserRepository userRepository, EventRepository eventRepository,
-                             TicketRepository ticketRepository, UserAccountRepository userAccountRepository) {
-        this.userRepository = userRepository;
+    private final WalletLedger walletLedger;
+
+    private final RefundOutboxWriter refundOutboxWriter;
+
+    private final SeatInventory seatInventory;
+
+    private final BookingTransactionExecutor bookingTransactionExecutor;
+
+    private final SeatHoldRegistry seatHoldRegistry;
+
+    private final IdempotencyStore idempotencyStore;
+
+    /**
+     * The cache of the approximate totals of the lists.
+     */
+    private final ApproximateCountCache approximateCountCache;
+
+    /**
+     * The exporter of the booked tickets to CSV.
+     */
+    private final BookedTicketsCsvExporter bookedTicketsCsvExporter;
+
+    /**
+     * The number of SQL statements per booking.
+     */
+    private final DistributionSummary bookingQueries;
+
+    public TicketServiceImpl(EventRepository eventRepository, TicketRepository ticketRepository,
+                             UserRepository userRepository, WalletLedger walletLedger,
+                             RefundOutboxWriter refundOutboxWriter, SeatInventory seatInventory,
+                             BookingTransactionExecutor bookingTransactionExecutor, SeatHoldRegistry seatHoldRegistry,
+                             IdempotencyStore idempotencyStore, ApproximateCountCache approximateCountCache,
+                             BookedTicketsCsvExporter bookedTicketsCsvExporter, MeterRegistry meterRegistry) {
         this.eventRepository = eventRepository;
         this.ticketRepository = ticketRepository;
-        this.userAccountRepository = userAccountRepository;
+        this.userRepository = userRepository;
+        this.walletLedger = walletLedger;
+        this.refundOutboxWriter = refundOutboxWriter;
+        this.seatInventory = seatInventory;
+        this.bookingTransactionExecutor = bookingTransactionExecutor;
+        this.seatHoldRegistry = seatHoldRegistry;
+        this.idempotencyStore = idempotencyStore;
+        this.approximateCountCache = approximateCountCache;
+        this.bookedTicketsCsvExporter = bookedTicketsCsvExporter;
+        this.bookingQueries = DistributionSummary.builder("booking.queries")
+                .description("The number of SQL statements per booking")
+                .register(meterRegistry);
     }
 
     /**
@@ -60,100 +122,364 @@ public class TicketServiceImpl implements TicketService {
      * @return the ticket
      */
     @Override
-    @Transactional(isolation = Isolation.SERIALIZABLE)
     public Ticket bookTicket(long userId, long eventId, int place, Category category) {
+        return bookTicket(userId, eventId, place, category, null);
+    }
+
+    /**
+     * Book ticket, a request replayed with the same idempotency key returns the ticket booked
+     * by the original request.
+     *
+     * @param userId         the user id
+     * @param eventId        the event id
+     * @param place          the place
+     * @param category       the category
+     * @param idempotencyKey the idempotency key, may be null
+     * @return the ticket
+     */
+    @Override
+    public Ticket bookTicket(long userId, long eventId, int place, Category category, String idempotencyKey) {
         log.info("Start booking a ticket for user with id {}, event with id event {}, place {}, category {}",
                 userId, eventId, place, category);
+        long statementCountBefore = QueryCountingStatementInspector.getStatementCount();
         try {
-            return processBookingTicket(userId, eventId, place, category);
+            Long bookedTicketId = idempotencyStore.findResourceId(idempotencyKey,
+                    IdempotentOperation.BOOK_TICKET, userId);
+            if (bookedTicketId != null) {
+                return getTicket(bookedTicketId);
+            }
+            List<Seat> seats = Collections.singletonList(new Seat(place, category));
+            return bookingTransactionExecutor.execute(eventId, () -> {
+                Ticket ticket = processBookingTickets(userId, eventId, seats, false).get(0);
+                idempotencyStore.save(idempotencyKey, IdempotentOperation.BOOK_TICKET, userId, ticket.getId());
+                return ticket;
+            });
+        } catch (DataIntegrityViolationException e) {
+            Ticket ticket = getTicketBookedConcurrently(userId, idempotencyKey);
+            if (ticket != null) {
+                return ticket;
+            }
+            log.warn("Can not to book a ticket for user with id {}, event with id {}, place {}, category {}",
+                    userId, eventId, place, category, e);
+            log.warn("Transaction rollback");
+            return null;
         } catch (RuntimeException e) {
             log.warn("Can not to book a ticket for user with id {}, event with id {}, place {}, category {}",
                     userId, eventId, place, category, e);
-            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             log.warn("Transaction rollback");
             return null;
+        } finally {
+            bookingQueries.record(QueryCountingStatementInspector.getStatementCount() - statementCountBefore);
         }
     }
 
-    private Ticket processBookingTicket(long userId, long eventId, int place, Category category) {
-        throwRuntimeExceptionIfUserNotExist(userId);
-        throwRuntimeExceptionIfEventNotExist(eventId);
-        throwRuntimeExceptionIfTicketAlreadyBooked(eventId, place, category);
-        UserAccount userAccount = getUserAccount(userId);
-        Event event = getEvent(eventId);
-        throwRuntimeExceptionIfUserNotHaveEnoughMoney(userAccount, event);
-        buyTicket(userAccount, event);
-        Ticket ticket = saveBookedTicket(userId, eventId, place, category);
-        log.info("Successfully booking of the ticket: {}", ticket);
-        return ticket;
+    /**
+     * Book tickets.
+     *
+     * @param userId  the user id
+     * @param eventId the event id
+     * @param seats   the seats
+     * @return the tickets
+     */
+    @Override
+    public List<Ticket> bookTickets(long userId, long eventId, List<Seat> seats) {
+        log.info("Start booking tickets for user with id {}, event with id {}, seats {}", userId, eventId, seats);
+        long statementCountBefore = QueryCountingStatementInspector.getStatementCount();
+        try {
+            throwRuntimeExceptionIfSeatsNotValid(seats);
+            return bookingTransactionExecutor.execute(eventId,
+                    () -> processBookingTickets(userId, eventId, seats, false));
+        } catch (RuntimeException e) {
+            log.warn("Can not to book tickets for user with id {}, event with id {}, seats {}",
+                    userId, eventId, seats, e);
+            log.warn("Transaction rollback");
+            return new ArrayList<>();
+        } finally {
+            bookingQueries.record(QueryCountingStatementInspector.getStatementCount() - statementCountBefore);
+        }
+    }
+
+    /**
+     * Book tickets in batch. The whole batch costs one transaction, if it fails the requests are booked
+     * one by one, so a broken request can not take the others down with it.
+     *
+     * @param requests the booking requests
+     * @return the tickets in the order of the requests, null for a request which can not be booked
+     */
+    @Override
+    public List<Ticket> bookTicketsInBatch(List<BookingRequest> requests) {
+        log.info("Start booking a batch of {} tickets", requests.size());
+        long statementCountBefore = QueryCountingStatementInspector.getStatementCount();
+        try {
+            return bookingTransactionExecutor.execute(eventIdsOf(requests), () -> processBookingBatch(requests));
+        } catch (RuntimeException e) {
+            log.warn("Can not to book a batch of {} tickets, booking them one by one", requests.size(), e);
+            log.warn("Transaction rollback");
+        } finally {
+            bookingQueries.record(QueryCountingStatementInspector.getStatementCount() - statementCountBefore);
+        }
+        List<Ticket> tickets = new ArrayList<>(requests.size());
+        for (BookingRequest request : requests) {
+            tickets.add(bookTicket(request.getUserId(), request.getEventId(),
+                    request.getSeat().getPlace(), request.getSeat().getCategory()));
+        }
+        return tickets;
     }
 
-    private Ticket saveBookedTicket(long userId, long eventId, int place, Category category) {
-        return ticketRepository.save(createNewTicket(userId, eventId, place, category));
+    private Set<Long> eventIdsOf(List<BookingRequest> requests) {
+        Set<Long> eventIds = new LinkedHashSet<>();
+        for (BookingRequest request : requests) {
+            eventIds.add(request.getEventId());
+        }
+        return eventIds;
     }
 
-    private void buyTicket(UserAccount userAccount, Event event) {
-        userAccount.setMoney(subtractTicketPriceFromUserMoney(userAccount, event));
+    /**
+     * Process booking batch. A request which can not be booked, because its seat is taken or its user
+     * does not have enough money, is skipped, a database error fails the whole batch.
+     *
+     * @param requests the booking requests
+     * @return the tickets in the order of the requests, null for a skipped request
+     */
+    private List<Ticket> processBookingBatch(List<BookingRequest> requests) {
+        List<Ticket> tickets = new ArrayList<>(requests.size());
+        List<Ticket> bookedTickets = new ArrayList<>(requests.size());
+        for (BookingRequest request : requests) {
+            try {
+                Ticket ticket = processBookingRequest(request);
+                tickets.add(ticket);
+                bookedTickets.add(ticket);
+            } catch (DataAccessException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                log.warn("Can not to book a ticket of the request {}", request, e);
+                tickets.add(null);
+            }
+        }
+        ticketRepository.saveAll(bookedTickets);
+        log.info("Successfully booking of {} tickets of a batch of {}", bookedTickets.size(), requests.size());
+        return tickets;
     }
 
-    private BigDecimal subtractTicketPriceFromUserMoney(UserAccount userAccount, Event event) {
-        return userAccount.getMoney().subtract(event.getTicketPrice());
+    private Ticket processBookingRequest(BookingRequest request) {
+        Event event = getEvent(request.getEventId());
+        List<Seat> seats = Collections.singletonList(request.getSeat());
+        if (!seatInventory.tryClaimAll(request.getEventId(), seats)) {
+            throw new RuntimeException("This ticket already booked");
+        }
+        try {
+            walletLedger.debit(request.getUserId(), event.getTicketPriceAmount(), LedgerEntryType.BOOKING);
+        } catch (RuntimeException e) {
+            seatInventory.releaseAll(request.getEventId(), seats);
+            throw e;
+        }
+        releaseSeatsIfNotCommitted(request.getEventId(), seats);
+        return new Ticket(userRepository.getReferenceById(request.getUserId()), event,
+                request.getSeat().getPlace(), request.getSeat().getCategory(), event.getTicketPriceAmount());
     }
 
-    private void throwRuntimeExceptionIfUserNotHaveEnoughMoney(UserAccount userAccount, Event event) {
-        if (!userHasEnoughMoneyForTicket(userAccount, event)) {
-            throw new RuntimeException(
-                    "The user with id " + userAccount.getUser().getId() +
-                            " does not have enough money for ticket with event id " + event.getId()
-            );
+    /**
+     * Hold ticket.
+     *
+     * @param userId     the user id
+     * @param eventId    the event id
+     * @param place      the place
+     * @param category   the category
+     * @param ttlSeconds the time to live of the hold in seconds
+     * @return the seat hold
+     */
+    @Override
+    public SeatHold holdTicket(long userId, long eventId, int place, Category category, long ttlSeconds) {
+        log.info("Start holding a ticket for user with id {}, event with id {}, place {}, category {} for {} s",
+                userId, eventId, place, category, ttlSeconds);
+        try {
+            SeatHold hold = seatHoldRegistry.hold(userId, eventId, new Seat(place, category), ttlSeconds);
+            if (hold == null) {
+                throw new RuntimeException("This ticket already booked or held");
+            }
+            log.info("Successfully holding of the ticket: {}", hold);
+            return hold;
+        } catch (RuntimeException e) {
+            log.warn("Can not to hold a ticket for user with id {}, event with id {}, place {}, category {}",
+                    userId, eventId, place, category, e);
+            return null;
         }
     }
 
-    private void throwRuntimeExceptionIfTicketAlreadyBooked(long eventId, int place, Category category) {
-        if (ticketRepository.existsByEventIdAndPlaceAndCategory(eventId, place, category)) {
-            throw new RuntimeException("This ticket already booked");
+    /**
+     * Confirm held ticket.
+     *
+     * @param userId the user id
+     * @param holdId the hold id
+     * @return the ticket
+     */
+    @Override
+    public Ticket confirmHeldTicket(long userId, String holdId) {
+        log.info("Start confirming the ticket hold {} of user with id {}", holdId, userId);
+        SeatHold hold = seatHoldRegistry.take(holdId, userId);
+        if (hold == null) {
+            log.warn("Can not to find an active ticket hold {} of user with id {}", holdId, userId);
+            return null;
         }
+        List<Ticket> tickets = bookClaimedTickets(userId, hold.getEventId(), Collections.singletonList(hold.getSeat()));
+        if (tickets.isEmpty()) {
+            log.warn("Can not to confirm the ticket hold {}", hold);
+            return null;
+        }
+        return tickets.get(0);
     }
 
-    private Event getEvent(long eventId) {
-        return eventRepository.findById(eventId)
-                .orElseThrow(() -> new RuntimeException("Can not to find an event by id: " + eventId));
+    /**
+     * Book tickets of the seats the caller already claimed in the seat inventory,
+     * the claims are released if the tickets can not be booked.
+     *
+     * @param userId  the user id
+     * @param eventId the event id
+     * @param seats   the claimed seats
+     * @return the tickets or an empty list if the tickets can not be booked
+     */
+    @Override
+    public List<Ticket> bookClaimedTickets(long userId, long eventId, List<Seat> seats) {
+        long statementCountBefore = QueryCountingStatementInspector.getStatementCount();
+        try {
+            return bookingTransactionExecutor.execute(eventId,
+                    () -> processBookingTickets(userId, eventId, seats, true));
+        } catch (RuntimeException e) {
+            log.warn("Can not to book the claimed seats {} for user with id {}, event with id {}",
+                    seats, userId, eventId, e);
+            seatInventory.releaseAll(eventId, seats);
+            return new ArrayList<>();
+        } finally {
+            bookingQueries.record(QueryCountingStatementInspector.getStatementCount() - statementCountBefore);
+        }
     }
 
-    private UserAccount getUserAccount(long userId) {
-        return userAccountRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("Can not to find a user account by user id: " + userId));
+    /**
+     * Release held ticket.
+     *
+     * @param userId the user id
+     * @param holdId the hold id
+     * @return the boolean
+     */
+    @Override
+    public boolean releaseHeldTicket(long userId, String holdId) {
+        log.info("Start releasing the ticket hold {} of user with id {}", holdId, userId);
+        boolean released = seatHoldRegistry.release(holdId, userId);
+        if (released) {
+            log.info("Successfully releasing of the ticket hold {}", holdId);
+        } else {
+            log.warn("Can not to find an active ticket hold {} of user with id {}", holdId, userId);
+        }
+        return released;
+    }
+
+    private void throwRuntimeExceptionIfSeatsNotValid(List<Seat> seats) {
+        if (seats == null || seats.isEmpty()) {
+            throw new RuntimeException("The seats can not be empty");
+        }
+        if (new HashSet<>(seats).size() != seats.size()) {
+            throw new RuntimeException("The seats can not repeat");
+        }
     }
 
-    private void throwRuntimeExceptionIfEventNotExist(long eventId) {
-        if (!eventRepository.existsById(eventId)) {
-            throw new RuntimeException("The event with id " + eventId + " does not exist");
+    /**
+     * Process booking tickets. The event comes from the second level cache in most cases, the seats are checked
+     * in memory and the money is debited by an entry appended to the wallet ledger, so a booking costs
+     * the ledger insert and the ticket inserts.
+     *
+     * @param userId       the user id
+     * @param eventId      the event id
+     * @param seats        the seats
+     * @param seatsClaimed true if the caller already owns the claims of the seats and releases them on failure
+     * @return the tickets
+     */
+    private List<Ticket> processBookingTickets(long userId, long eventId, List<Seat> seats, boolean seatsClaimed) {
+        Event event = getEvent(eventId);
+        if (!seatsClaimed) {
+            claimSeats(eventId, seats);
         }
+        Money price = event.getTicketPriceAmount().times(seats.size());
+        walletLedger.debit(userId, price, LedgerEntryType.BOOKING);
+        User user = userRepository.getReferenceById(userId);
+        List<Ticket> tickets = new ArrayList<>(seats.size());
+        for (Seat seat : seats) {
+            tickets.add(new Ticket(user, event, seat.getPlace(), seat.getCategory(), event.getTicketPriceAmount()));
+        }
+        tickets = toList(ticketRepository.saveAll(tickets));
+        log.info("Successfully booking of the tickets: {}", tickets);
+        return tickets;
+    }
+
+    private List<Ticket> toList(Iterable<Ticket> tickets) {
+        List<Ticket> list = new ArrayList<>();
+        tickets.forEach(list::add);
+        return list;
     }
 
-    private void throwRuntimeExceptionIfUserNotExist(long userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new RuntimeException("The user with id " + userId + " does not exist");
+    /**
+     * Claims the seats in the seat inventory, the claims are released if the transaction is not committed.
+     *
+     * @param eventId the event id
+     * @param seats   the seats
+     */
+    private void claimSeats(long eventId, List<Seat> seats) {
+        if (!seatInventory.tryClaimAll(eventId, seats)) {
+            throw new RuntimeException("This ticket already booked");
         }
+        releaseSeatsIfNotCommitted(eventId, seats);
     }
 
-    private boolean userHasEnoughMoneyForTicket(UserAccount userAccount, Event event) {
-        return userAccount.getMoney().compareTo(event.getTicketPrice()) > -1;
+    /**
+     * Releases the claimed seats if the transaction is not committed.
+     *
+     * @param eventId the event id
+     * @param seats   the seats
+     */
+    private void releaseSeatsIfNotCommitted(long eventId, List<Seat> seats) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    seatInventory.releaseAll(eventId, seats);
+                }
+            }
+        });
     }
 
     /**
-     * Create new ticket.
+     * Gets the ticket booked by a concurrent request with the same idempotency key. The key or the seat of
+     * that request made this one fail on a duplicate key, and the key is committed by now.
      *
-     * @param userId   the user id
-     * @param eventId  the event id
-     * @param place    the place
-     * @param category the category
-     * @return the ticket
+     * @param userId         the user id
+     * @param idempotencyKey the idempotency key, may be null
+     * @return the ticket or null if there is no such request
      */
-    private Ticket createNewTicket(long userId, long eventId, int place, Category category) {
-        User user = userRepository.findById(userId).get();
-        Event event = eventRepository.findById(eventId).get();
-        return new Ticket(user, event, place, category);
+    private Ticket getTicketBookedConcurrently(long userId, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return null;
+        }
+        try {
+            Long bookedTicketId = idempotencyStore.findResourceId(idempotencyKey,
+                    IdempotentOperation.BOOK_TICKET, userId);
+            if (bookedTicketId == null) {
+                return null;
+            }
+            log.info("The ticket with idempotency key {} was booked by a concurrent request", idempotencyKey);
+            return getTicket(bookedTicketId);
+        } catch (RuntimeException e) {
+            log.warn("Can not to find the ticket booked with idempotency key {}", idempotencyKey, e);
+            return null;
+        }
+    }
+
+    private Ticket getTicket(long ticketId) {
+        return ticketRepository.findWithEventById(ticketId)
+                .orElseThrow(() -> new RuntimeException("Can not to find a ticket by id: " + ticketId));
+    }
+
+    private Event getEvent(long eventId) {
+        return eventRepository.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Can not to find an event by id: " + eventId));
     }
 
     /**
@@ -173,8 +499,7 @@ public class TicketServiceImpl implements TicketService {
                 log.warn("The user can not be a null");
                 return new ArrayList<>();
             }
-            System.out.println(ticketRepository.findAll());
-            Page<Ticket> ticketsByUser = ticketRepository.getAllByUserId(
+            Slice<Ticket> ticketsByUser = ticketRepository.getAllByUserId(
                     PageRequest.of(pageNum - 1, pageSize), user.getId());
             if (!ticketsByUser.hasContent()) {
                 throw new RuntimeException("Can not to fina a list of booked tickets by user with id: " + user.getId());
@@ -188,6 +513,79 @@ public class TicketServiceImpl implements TicketService {
         }
     }
 
+    /**
+     * Gets the booked tickets of the user after the cursor, ordered by id.
+     *
+     * @param user     the user
+     * @param pageSize the page size
+     * @param after    the cursor of the page, null for the first page
+     * @return the page of the booked tickets of the user
+     */
+    @Override
+    public CursorSlice<TicketSummary> getBookedTickets(User user, int pageSize, String after) {
+        log.info("Finding booked tickets by user {} with page size {} after {}", user, pageSize, after);
+        try {
+            if (isUserNull(user)) {
+                log.warn("The user can not be a null");
+                return CursorSlice.empty();
+            }
+            Slice<TicketSummary> slice = ticketRepository.getAllByUserIdAndIdGreaterThanOrderById(
+                    PageRequest.of(0, pageSize), user.getId(), KeysetCursor.decode(after));
+            log.info("Booked tickets by user {} successfully found with page size {} after {}",
+                    user, pageSize, after);
+            return CursorSlice.of(slice, TicketSummary::getId);
+        } catch (RuntimeException e) {
+            log.warn("Can not to find booked tickets by user {}", user, e);
+            return CursorSlice.empty();
+        }
+    }
+
+    /**
+     * Gets the approximate number of the booked tickets of the user.
+     *
+     * @param user the user
+     * @return the approximate number of the booked tickets of the user, 0 if it can not be counted
+     */
+    @Override
+    public long countBookedTickets(User user) {
+        log.info("Counting the booked tickets of the user {}", user);
+        if (user == null) {
+            log.warn("The user can not be a null");
+            return 0;
+        }
+        try {
+            return approximateCountCache.get("tickets.user", user.getId(), () -> ticketRepository.countByUserId(user.getId()));
+        } catch (RuntimeException e) {
+            log.warn("Can not to count the booked tickets of the user {}", user, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Writes all booked tickets of the user to the output as CSV, the tickets are streamed
+     * from the database without being loaded into memory at once.
+     *
+     * @param user   the user
+     * @param output the output
+     * @return the boolean
+     */
+    @Override
+    public boolean exportBookedTickets(User user, OutputStream output) {
+        log.info("Exporting all booked tickets by user {}", user);
+        try {
+            if (isUserNull(user)) {
+                log.warn("The user can not be a null");
+                return false;
+            }
+            long exported = bookedTicketsCsvExporter.export(user.getId(), output);
+            log.info("{} booked tickets successfully exported by user {}", exported, user);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Can not to export the booked tickets by user '{}'", user, e);
+            return false;
+        }
+    }
+
     /**
      * Is user null boolean.
      *
@@ -215,7 +613,7 @@ public class TicketServiceImpl implements TicketService {
                 log.warn("The event can not be a null");
                 return new ArrayList<>();
             }
-            Page<Ticket> ticketsByEvent = ticketRepository.getAllByEventId(
+            Slice<Ticket> ticketsByEvent = ticketRepository.getAllByEventId(
                     PageRequest.of(pageNum - 1, pageSize), event.getId());
             if (!ticketsByEvent.hasContent()) {
                 throw new RuntimeException("Can not to fina a list of booked tickets by event with id: " + event.getId());
@@ -229,6 +627,54 @@ public class TicketServiceImpl implements TicketService {
         }
     }
 
+    /**
+     * Gets the booked tickets of the event after the cursor, ordered by id.
+     *
+     * @param event    the event
+     * @param pageSize the page size
+     * @param after    the cursor of the page, null for the first page
+     * @return the page of the booked tickets of the event
+     */
+    @Override
+    public CursorSlice<TicketSummary> getBookedTickets(Event event, int pageSize, String after) {
+        log.info("Finding booked tickets by event {} with page size {} after {}", event, pageSize, after);
+        try {
+            if (isEventNull(event)) {
+                log.warn("The event can not be a null");
+                return CursorSlice.empty();
+            }
+            Slice<TicketSummary> slice = ticketRepository.getAllByEventIdAndIdGreaterThanOrderById(
+                    PageRequest.of(0, pageSize), event.getId(), KeysetCursor.decode(after));
+            log.info("Booked tickets by event {} successfully found with page size {} after {}",
+                    event, pageSize, after);
+            return CursorSlice.of(slice, TicketSummary::getId);
+        } catch (RuntimeException e) {
+            log.warn("Can not to find booked tickets by event {}", event, e);
+            return CursorSlice.empty();
+        }
+    }
+
+    /**
+     * Gets the approximate number of the booked tickets of the event.
+     *
+     * @param event the event
+     * @return the approximate number of the booked tickets of the event, 0 if it can not be counted
+     */
+    @Override
+    public long countBookedTickets(Event event) {
+        log.info("Counting the booked tickets of the event {}", event);
+        if (event == null) {
+            log.warn("The event can not be a null");
+            return 0;
+        }
+        try {
+            return approximateCountCache.get("tickets.event", event.getId(), () -> ticketRepository.countByEventId(event.getId()));
+        } catch (RuntimeException e) {
+            log.warn("Can not to count the booked tickets of the event {}", event, e);
+            return 0;
+        }
+    }
+
     /**
      * Is event null boolean.
      *
@@ -240,7 +686,8 @@ public class TicketServiceImpl implements TicketService {
     }
 
     /**
-     * Cancel ticket boolean.
+     * Cancel ticket boolean. The refund of the ticket is saved in the outbox together with the deletion
+     * and credited later by the refund writer.
      *
      * @param ticketId the ticket id
      * @return the boolean
@@ -249,7 +696,13 @@ public class TicketServiceImpl implements TicketService {
     public boolean cancelTicket(long ticketId) {
         log.info("Start canceling a ticket with id: {}", ticketId);
         try {
-            ticketRepository.deleteById(ticketId);
+            Ticket ticket = getTicket(ticketId);
+            bookingTransactionExecutor.execute(ticket.getEvent().getId(), () -> {
+                ticketRepository.deleteById(ticketId);
+                refundOutboxWriter.scheduleRefund(ticketId, ticket.getUserId(), ticket.getPaidAmount());
+                return ticket;
+            });
+            releaseSeat(ticket);
             log.info("Successfully canceling of the ticket with id: {}", ticketId);
             return true;
         } catch (RuntimeException e) {
@@ -257,4 +710,13 @@ public class TicketServiceImpl implements TicketService {
             return false;
         }
     }
+
+    /**
+     * Releases the seat of the canceled ticket in the seat inventory.
+     *
+     * @param ticket the ticket
+     */
+    private void releaseSeat(Ticket ticket) {
+        seatInventory.release(ticket.getEvent().getId(), ticket.getPlace(), ticket.getCategory());
+    }
 }
@@ -2,13 +2,28 @@ package ua.epam.mishchenko.ticketbooking.service.impl;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.epam.mishchenko.ticketbooking.idempotency.IdempotencyStore;
+import ua.epam.mishchenko.ticketbooking.idempotency.IdempotentOperation;
+import ua.epam.mishchenko.ticketbooking.ledger.WalletLedger;
+import ua.epam.mishchenko.ticketbooking.model.LedgerEntryType;
+import ua.epam.mishchenko.ticketbooking.model.Money;
 import ua.epam.mishchenko.ticketbooking.model.UserAccount;
+import ua.epam.mishchenko.ticketbooking.refill.BulkRefillJob;
+import ua.epam.mishchenko.ticketbooking.refill.BulkRefillProgress;
+import ua.epam.mishchenko.ticketbooking.refill.RefillRecordReader;
 import ua.epam.mishchenko.ticketbooking.repository.UserAccountRepository;
 import ua.epam.mishchenko.ticketbooking.repository.UserRepository;
 import ua.epam.mishchenko.ticketbooking.service.UserAccountService;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
 
 @Service
 public class UserAccountServiceImpl implements UserAccountService {
@@ -19,49 +34,150 @@ public class UserAccountServiceImpl implements UserAccountService {
 
     private final UserAccountRepository userAccountRepository;
 
-    public UserAccountServiceImpl(UserRepository userRepository, UserAccountRepository userAccountRepository) {
+    private final IdempotencyStore idempotencyStore;
+
+    private final WalletLedger walletLedger;
+
+    private final BulkRefillJob bulkRefillJob;
+
+    /**
+     * The transaction template of a refill, the account and the idempotency key are saved together.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    public UserAccountServiceImpl(UserRepository userRepository, UserAccountRepository userAccountRepository,
+                                  IdempotencyStore idempotencyStore, WalletLedger walletLedger,
+                                  BulkRefillJob bulkRefillJob, PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.userAccountRepository = userAccountRepository;
+        this.idempotencyStore = idempotencyStore;
+        this.walletLedger = walletLedger;
+        this.bulkRefillJob = bulkRefillJob;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
     public UserAccount refillAccount(long userId, BigDecimal money) {
+        return refillAccount(userId, money, null);
+    }
+
+    @Override
+    public UserAccount refillAccount(long userId, BigDecimal money, String idempotencyKey) {
         log.info("Refilling user account for user with id: {}", userId);
         try {
-            thrownRuntimeExceptionIfMoneyLessZero(money);
+            Long refilledAccountId = idempotencyStore.findResourceId(idempotencyKey,
+                    IdempotentOperation.REFILL_ACCOUNT, userId);
+            if (refilledAccountId != null) {
+                return getUserAccount(refilledAccountId);
+            }
+            Money amount = Money.of(money);
+            thrownRuntimeExceptionIfMoneyLessZero(amount);
             throwRuntimeExceptionIfUserNotExist(userId);
-            UserAccount userAccount = getUserAccountAndRefillIfNotExistCreate(userId, money);
-            userAccount = userAccountRepository.save(userAccount);
+            UserAccount refilledAccount = transactionTemplate.execute(status -> {
+                UserAccount userAccount = getUserAccountAndIfNotExistCreate(userId);
+                walletLedger.credit(userId, amount, LedgerEntryType.REFILL);
+                idempotencyStore.save(idempotencyKey, IdempotentOperation.REFILL_ACCOUNT, userId,
+                        userAccount.getId());
+                return userAccount;
+            });
             log.info("The user account with user id {} successfully refilled", userId);
-            return userAccount;
+            return refilledAccount;
+        } catch (DataIntegrityViolationException e) {
+            UserAccount refilledAccount = getUserAccountRefilledConcurrently(userId, idempotencyKey);
+            if (refilledAccount != null) {
+                return refilledAccount;
+            }
+            log.warn("Can not to refill account with user id: {}", userId, e);
+            return null;
         } catch (RuntimeException e) {
             log.warn("Can not to refill account with user id: {}", userId);
             return null;
         }
     }
 
-    private void thrownRuntimeExceptionIfMoneyLessZero(BigDecimal money) {
-        if (money.compareTo(BigDecimal.ZERO) < 1) {
+    /**
+     * Gets the user account refilled by a concurrent request with the same idempotency key, whose key
+     * made this request fail on a duplicate key.
+     *
+     * @param userId         the user id
+     * @param idempotencyKey the idempotency key, may be null
+     * @return the user account or null if there is no such request
+     */
+    private UserAccount getUserAccountRefilledConcurrently(long userId, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return null;
+        }
+        try {
+            Long refilledAccountId = idempotencyStore.findResourceId(idempotencyKey,
+                    IdempotentOperation.REFILL_ACCOUNT, userId);
+            if (refilledAccountId == null) {
+                return null;
+            }
+            log.info("The user account with idempotency key {} was refilled by a concurrent request", idempotencyKey);
+            return getUserAccount(refilledAccountId);
+        } catch (RuntimeException e) {
+            log.warn("Can not to find the user account refilled with idempotency key {}", idempotencyKey, e);
+            return null;
+        }
+    }
+
+    private UserAccount getUserAccount(long userAccountId) {
+        return userAccountRepository.findById(userAccountId)
+                .orElseThrow(() -> new RuntimeException("Can not to find a user account by id: " + userAccountId));
+    }
+
+    @Override
+    public BigDecimal getBalance(long userId) {
+        log.info("Finding the balance of the user with id: {}", userId);
+        try {
+            return walletLedger.getBalance(userId).toBigDecimal();
+        } catch (RuntimeException e) {
+            log.warn("Can not to find the balance of the user with id: {}", userId, e);
+            return null;
+        }
+    }
+
+    @Override
+    public BulkRefillProgress refillAccounts(InputStream records, boolean json) {
+        log.info("Refilling user accounts from {} records", json ? "JSON" : "CSV");
+        try (RefillRecordReader reader = json ? RefillRecordReader.json(records) : RefillRecordReader.csv(records)) {
+            return bulkRefillJob.run(reader);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Can not to refill user accounts", e);
+            return null;
+        }
+    }
+
+    @Override
+    public List<BulkRefillProgress> getBulkRefills() {
+        try {
+            return bulkRefillJob.getRecentJobs();
+        } catch (RuntimeException e) {
+            log.warn("Can not to find the bulk refills", e);
+            return Collections.emptyList();
+        }
+    }
+
+    private void thrownRuntimeExceptionIfMoneyLessZero(Money money) {
+        if (!money.isPositive()) {
             throw new RuntimeException("The money can not to be less zero");
         }
     }
 
-    private UserAccount getUserAccountAndRefillIfNotExistCreate(long userId, BigDecimal money) {
-        UserAccount userAccount = userAccountRepository.findById(userId).orElse(null);
+    private UserAccount getUserAccountAndIfNotExistCreate(long userId) {
+        UserAccount userAccount = userAccountRepository.findByUserId(userId).orElse(null);
         if (userAccount == null) {
-            return createNewUserAccount(userId, money);
+            return userAccountRepository.save(createNewUserAccount(userId));
         }
-        BigDecimal money1 = userAccount.getMoney();
-        userAccount.setMoney(money1.add(money));
         return userAccount;
     }
 
-    private UserAccount createNewUserAccount(long userId, BigDecimal money) {
+    private UserAccount createNewUserAccount(long userId) {
         log.info("The user account with user id {} does not exist", userId);
         log.info("Creating new user account for user with id {}", userId);
         UserAccount userAccount = new UserAccount();
         userAccount.setUser(userRepository.findById(userId).get());
-        userAccount.setMoney(money);
+        userAccount.setMoney(BigDecimal.ZERO);
         log.info("The user account for user with id {} successfully created", userId);
         return userAccount;
     }
@@ -2,11 +2,15 @@ package ua.epam.mishchenko.ticketbooking.service.impl;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import ua.epam.mishchenko.ticketbooking.model.User;
+import ua.epam.mishchenko.ticketbooking.paging.ApproximateCountCache;
+import ua.epam.mishchenko.ticketbooking.paging.CursorSlice;
+import ua.epam.mishchenko.ticketbooking.paging.KeysetCursor;
 import ua.epam.mishchenko.ticketbooking.repository.UserRepository;
+import ua.epam.mishchenko.ticketbooking.repository.projection.UserSummary;
 import ua.epam.mishchenko.ticketbooking.service.UserService;
 
 import java.util.ArrayList;
@@ -28,8 +32,14 @@ public class UserServiceImpl implements UserService {
      */
     private final UserRepository userRepository;
 
-    public UserServiceImpl(UserRepository userRepository) {
+    /**
+     * The cache of the approximate totals of the lists.
+     */
+    private final ApproximateCountCache approximateCountCache;
+
+    public UserServiceImpl(UserRepository userRepository, ApproximateCountCache approximateCountCache) {
         this.userRepository = userRepository;
+        this.approximateCountCache = approximateCountCache;
     }
 
     /**
@@ -92,7 +102,7 @@ public class UserServiceImpl implements UserService {
                 log.warn("The name can not be null");
                 return new ArrayList<>();
             }
-            Page<User> usersByName = userRepository.getAllByName(PageRequest.of(pageNum - 1, pageSize), name);
+            Slice<User> usersByName = userRepository.getAllByName(PageRequest.of(pageNum - 1, pageSize), name);
             if (!usersByName.hasContent()) {
                 log.warn("Can not to find a list of users by name '{}'", name);
             }
@@ -105,6 +115,49 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    /**
+     * Gets the users by name after the cursor, ordered by id.
+     *
+     * @param name     the name
+     * @param pageSize the page size
+     * @param after    the cursor of the page, null for the first page
+     * @return the page of the users by name
+     */
+    @Override
+    public CursorSlice<UserSummary> getUsersByName(String name, int pageSize, String after) {
+        log.info("Finding users by name {} with page size {} after {}", name, pageSize, after);
+        try {
+            if (name.isEmpty()) {
+                log.warn("The name can not be empty");
+                return CursorSlice.empty();
+            }
+            Slice<UserSummary> slice = userRepository.getAllByNameAndIdGreaterThanOrderById(
+                    PageRequest.of(0, pageSize), name, KeysetCursor.decode(after));
+            log.info("Users by name {} successfully found with page size {} after {}", name, pageSize, after);
+            return CursorSlice.of(slice, UserSummary::getId);
+        } catch (RuntimeException e) {
+            log.warn("Can not to find users by name {}", name, e);
+            return CursorSlice.empty();
+        }
+    }
+
+    /**
+     * Gets the approximate number of users by name.
+     *
+     * @param name the name
+     * @return the approximate number of users by name, 0 if it can not be counted
+     */
+    @Override
+    public long countUsersByName(String name) {
+        log.info("Counting users by name {}", name);
+        try {
+            return approximateCountCache.get("users.name", name, () -> userRepository.countByName(name));
+        } catch (RuntimeException e) {
+            log.warn("Can not to count users by name {}", name, e);
+            return 0;
+        }
+    }
+
     /**
      * Create user.
      *
@@ -0,0 +1,102 @@
+package ua.epam.mishchenko.ticketbooking.web.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import ua.epam.mishchenko.ticketbooking.facade.impl.BookingFacadeImpl;
+import ua.epam.mishchenko.ticketbooking.model.User;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * The type Booked tickets csv controller.
+ * <p>
+ * Exports all booked tickets of a user without pagination. The response body is written by the async
+ * task of the request as the tickets are read from the database, so it is sent in chunks and its size
+ * does not depend on the memory of the application. The task has its own timeout, so a long export is
+ * not cut off by the default timeout of the other async requests.
+ * <p>
+ * The status and the header of the CSV are sent before the export can fail, so a failed export throws
+ * from the task and the container aborts the response instead of completing a truncated file.
+ */
+@RestController
+@RequestMapping("/tickets/user")
+public class BookedTicketsCsvController {
+
+    /**
+     * The constant content type of the export.
+     */
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    /**
+     * The constant log.
+     */
+    private static final Logger log = LoggerFactory.getLogger(BookedTicketsCsvController.class);
+
+    /**
+     * The Booking facade.
+     */
+    private final BookingFacadeImpl bookingFacade;
+
+    /**
+     * The timeout of an export in milliseconds.
+     */
+    private final long exportTimeoutMs;
+
+    /**
+     * Instantiates a new Booked tickets csv controller.
+     *
+     * @param bookingFacade   the booking facade
+     * @param exportTimeoutMs the timeout of an export in milliseconds
+     */
+    public BookedTicketsCsvController(BookingFacadeImpl bookingFacade,
+                                      @Value("${ticket-booking.export.timeout-ms:600000}") long exportTimeoutMs) {
+        this.bookingFacade = bookingFacade;
+        this.exportTimeoutMs = exportTimeoutMs;
+    }
+
+    /**
+     * Gets all booked tickets by user as csv.
+     *
+     * @param userId   the user id
+     * @param response the response the csv is streamed to
+     * @return the async task streaming the booked tickets by user csv
+     */
+    @GetMapping(value = "/{userId}/export", produces = TEXT_CSV_VALUE)
+    public WebAsyncTask<Void> exportBookedTicketsByUserCSV(@PathVariable long userId, HttpServletResponse response) {
+        log.info("Exporting the tickets by user with id: {}", userId);
+
+        User userById = getUserById(userId);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"Booked Tickets.csv\"");
+        response.setContentType(TEXT_CSV_VALUE);
+
+        return new WebAsyncTask<>(exportTimeoutMs, () -> {
+            if (!bookingFacade.exportBookedTickets(userById, response.getOutputStream())) {
+                log.warn("Can not to export the tickets by user with id: {}", userId);
+                throw new RuntimeException("Can not to export the tickets by user with id: " + userId);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Gets user by id.
+     *
+     * @param userId the user id
+     * @return the user by id
+     */
+    private User getUserById(long userId) {
+        User userById = bookingFacade.getUserById(userId);
+        if (userById == null) {
+            log.info("Can not to find a user by id: {}", userId);
+            throw new RuntimeException("Can not to find a user by id: " + userId);
+        }
+        return userById;
+    }
+}
@@ -13,6 +13,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.ModelAndView;
 import ua.epam.mishchenko.ticketbooking.facade.impl.BookingFacadeImpl;
 import ua.epam.mishchenko.ticketbooking.model.Event;
+import ua.epam.mishchenko.ticketbooking.paging.CursorSlice;
+import ua.epam.mishchenko.ticketbooking.repository.projection.EventSummary;
 
 import java.math.BigDecimal;
 import java.text.ParseException;
@@ -88,7 +90,7 @@ public class EventsController {
      * @param pageNum  the page num
      * @return the model and view
      */
-    @GetMapping("/title/{title}")
+    @GetMapping(value = "/title/{title}", params = "pageNum")
     public ModelAndView showEventsByTitle(@PathVariable String title,
                                           @RequestParam int pageSize,
                                           @RequestParam int pageNum) {
@@ -105,6 +107,46 @@ public class EventsController {
         return new ModelAndView("events", model);
     }
 
+    /**
+     * Show the page of events by title after the cursor model and view.
+     *
+     * @param title    the title
+     * @param pageSize the page size
+     * @param after    the cursor of the page, null for the first page
+     * @return the model and view
+     */
+    @GetMapping(value = "/title/{title}", params = "!pageNum")
+    public ModelAndView showEventsByTitle(@PathVariable String title,
+                                          @RequestParam int pageSize,
+                                          @RequestParam(required = false) String after) {
+        log.info("Showing events by title: {} after {}", title, after);
+        Map<String, Object> model = new HashMap<>();
+        CursorSlice<EventSummary> eventsByTitle = bookingFacade.getEventsByTitle(title, pageSize, after);
+        if (eventsByTitle.isEmpty()) {
+            model.put("message", "Can not to get events by title: " + title);
+            log.info("Can not to get events by title: {}", title);
+        } else {
+            model.put("events", eventsByTitle.getContent());
+            putNextPage(model, eventsByTitle, pageSize);
+            log.info("Events by title '{}' successfully found", title);
+        }
+        return new ModelAndView("events", model);
+    }
+
+    /**
+     * Puts the cursor of the next page into the model if the page is not the last one.
+     *
+     * @param model    the model
+     * @param page     the page
+     * @param pageSize the page size
+     */
+    private void putNextPage(Map<String, Object> model, CursorSlice<?> page, int pageSize) {
+        if (page.hasNext()) {
+            model.put("next", page.getNext());
+            model.put("pageSize", pageSize);
+        }
+    }
+
     /**
      * Show events for day model and view.
      *
@@ -113,7 +155,7 @@ public class EventsController {
      * @param pageNum  the page num
      * @return the model and view
      */
-    @GetMapping("/day/{day}")
+    @GetMapping(value = "/day/{day}", params = "pageNum")
     public ModelAndView showEventsForDay(@PathVariable String day,
                                          @RequestParam int pageSize,
                                          @RequestParam int pageNum) {
@@ -136,6 +178,38 @@ public class EventsController {
         return new ModelAndView("events", model);
     }
 
+    /**
+     * Show the page of events for day after the cursor model and view.
+     *
+     * @param day      the day
+     * @param pageSize the page size
+     * @param after    the cursor of the page, null for the first page
+     * @return the model and view
+     */
+    @GetMapping(value = "/day/{day}", params = "!pageNum")
+    public ModelAndView showEventsForDay(@PathVariable String day,
+                                         @RequestParam int pageSize,
+                                         @RequestParam(required = false) String after) {
+        log.info("Showing events for day: {} after {}", day, after);
+        Map<String, Object> model = new HashMap<>();
+        try {
+            Date date = parseFromStringToDate(day);
+            CursorSlice<EventSummary> eventsForDay = bookingFacade.getEventsForDay(date, pageSize, after);
+            if (eventsForDay.isEmpty()) {
+                model.put("message", "Can not to get events for day: " + day);
+                log.info("Can not to get events for day: {}", day);
+            } else {
+                model.put("events", eventsForDay.getContent());
+                putNextPage(model, eventsForDay, pageSize);
+                log.info("Events for day: {} successfully found", day);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Can not to get events for day={}", day, e);
+            model.put("message", "Can not to parse string " + day + " to date object");
+        }
+        return new ModelAndView("events", model);
+    }
+
     /**
      * Create event model and view.
      *
@@ -7,18 +7,25 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.ModelAndView;
+import ua.epam.mishchenko.ticketbooking.booking.SeatHold;
 import ua.epam.mishchenko.ticketbooking.facade.impl.BookingFacadeImpl;
 import ua.epam.mishchenko.ticketbooking.model.Category;
 import ua.epam.mishchenko.ticketbooking.model.Event;
+import ua.epam.mishchenko.ticketbooking.model.Seat;
 import ua.epam.mishchenko.ticketbooking.model.Ticket;
 import ua.epam.mishchenko.ticketbooking.model.User;
+import ua.epam.mishchenko.ticketbooking.paging.CursorSlice;
+import ua.epam.mishchenko.ticketbooking.repository.projection.TicketSummary;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The type Tickets controller.
@@ -49,20 +56,22 @@ public class TicketsController {
     /**
      * Book ticket model and view.
      *
-     * @param userId   the user id
-     * @param eventId  the event id
-     * @param place    the place
-     * @param category the category
+     * @param userId         the user id
+     * @param eventId        the event id
+     * @param place          the place
+     * @param category       the category
+     * @param idempotencyKey the idempotency key, a retried request with the same key is not booked twice
      * @return the model and view
      */
     @PostMapping
     public ModelAndView bookTicket(@RequestParam long userId,
                                    @RequestParam long eventId,
                                    @RequestParam int place,
-                                   @RequestParam Category category) {
+                                   @RequestParam Category category,
+                                   @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         log.info("Booking a ticket: userId={}, eventId={}, place={}, category={}", userId, eventId, place, category);
         Map<String, Object> model = new HashMap<>();
-        Ticket ticket = bookingFacade.bookTicket(userId, eventId, place, category);
+        Ticket ticket = bookingFacade.bookTicket(userId, eventId, place, category, idempotencyKey);
         if (isNull(ticket)) {
             model.put("message", "Can not to book a ticket");
             log.info("Can not to book a ticket: userId={}, eventId={}, place={}, category={}",
@@ -74,6 +83,192 @@ public class TicketsController {
         return new ModelAndView("ticket", model);
     }
 
+    /**
+     * Book ticket asynchronously, the servlet thread is released while the booking waits in the queue
+     * of its event and the response is written when the ticket is committed.
+     *
+     * @param userId   the user id
+     * @param eventId  the event id
+     * @param place    the place
+     * @param category the category
+     * @return the future of the model and view
+     */
+    @PostMapping("/async")
+    public CompletableFuture<ModelAndView> bookTicketAsync(@RequestParam long userId,
+                                                           @RequestParam long eventId,
+                                                           @RequestParam int place,
+                                                           @RequestParam Category category) {
+        log.info("Booking a ticket asynchronously: userId={}, eventId={}, place={}, category={}",
+                userId, eventId, place, category);
+        return bookingFacade.bookTicketAsync(userId, eventId, place, category).thenApply(ticket -> {
+            Map<String, Object> model = new HashMap<>();
+            if (isNull(ticket)) {
+                model.put("message", "Can not to book a ticket");
+                log.info("Can not to book a ticket asynchronously: userId={}, eventId={}, place={}, category={}",
+                        userId, eventId, place, category);
+            } else {
+                model.put("ticket", ticket);
+                log.info("The ticket successfully booked asynchronously");
+            }
+            return new ModelAndView("ticket", model);
+        });
+    }
+
+    /**
+     * Book tickets for several seats of one event, the places and the categories are matched by position.
+     *
+     * @param userId     the user id
+     * @param eventId    the event id
+     * @param places     the places
+     * @param categories the categories
+     * @return the model and view
+     */
+    @PostMapping("/batch")
+    public ModelAndView bookTickets(@RequestParam long userId,
+                                    @RequestParam long eventId,
+                                    @RequestParam List<Integer> places,
+                                    @RequestParam List<Category> categories) {
+        log.info("Booking tickets: userId={}, eventId={}, places={}, categories={}",
+                userId, eventId, places, categories);
+        Map<String, Object> model = new HashMap<>();
+        if (places.size() != categories.size()) {
+            model.put("message", "The number of places and categories must be the same");
+            log.info("Can not to book tickets, the number of places {} and categories {} differ",
+                    places.size(), categories.size());
+            return new ModelAndView("tickets", model);
+        }
+        List<Ticket> tickets = bookingFacade.bookTickets(userId, eventId, createSeats(places, categories));
+        if (tickets.isEmpty()) {
+            model.put("message", "Can not to book tickets");
+            log.info("Can not to book tickets: userId={}, eventId={}, places={}, categories={}",
+                    userId, eventId, places, categories);
+        } else {
+            model.put("tickets", tickets);
+            log.info("The tickets successfully booked");
+        }
+        return new ModelAndView("tickets", model);
+    }
+
+    /**
+     * Book the best available adjacent tickets of the category, the caller does not pick the places.
+     *
+     * @param userId   the user id
+     * @param eventId  the event id
+     * @param category the category
+     * @param count    the number of tickets
+     * @return the model and view
+     */
+    @PostMapping("/best")
+    public ModelAndView bookBestAvailableTickets(@RequestParam long userId,
+                                                 @RequestParam long eventId,
+                                                 @RequestParam Category category,
+                                                 @RequestParam(defaultValue = "1") int count) {
+        log.info("Booking best available tickets: userId={}, eventId={}, category={}, count={}",
+                userId, eventId, category, count);
+        Map<String, Object> model = new HashMap<>();
+        List<Ticket> tickets = bookingFacade.bookBestAvailableTickets(userId, eventId, category, count);
+        if (tickets.isEmpty()) {
+            model.put("message", "Can not to book " + count + " best available tickets");
+            log.info("Can not to book best available tickets: userId={}, eventId={}, category={}, count={}",
+                    userId, eventId, category, count);
+        } else {
+            model.put("tickets", tickets);
+            log.info("The best available tickets successfully booked");
+        }
+        return new ModelAndView("tickets", model);
+    }
+
+    /**
+     * Hold ticket model and view.
+     *
+     * @param userId     the user id
+     * @param eventId    the event id
+     * @param place      the place
+     * @param category   the category
+     * @param ttlSeconds the time to live of the hold in seconds
+     * @return the model and view
+     */
+    @PostMapping("/holds")
+    public ModelAndView holdTicket(@RequestParam long userId,
+                                   @RequestParam long eventId,
+                                   @RequestParam int place,
+                                   @RequestParam Category category,
+                                   @RequestParam(defaultValue = "300") long ttlSeconds) {
+        log.info("Holding a ticket: userId={}, eventId={}, place={}, category={}, ttlSeconds={}",
+                userId, eventId, place, category, ttlSeconds);
+        Map<String, Object> model = new HashMap<>();
+        SeatHold hold = bookingFacade.holdTicket(userId, eventId, place, category, ttlSeconds);
+        if (isNull(hold)) {
+            model.put("message", "Can not to hold a ticket");
+            log.info("Can not to hold a ticket: userId={}, eventId={}, place={}, category={}",
+                    userId, eventId, place, category);
+        } else {
+            model.put("hold", hold);
+            log.info("The ticket successfully held");
+        }
+        return new ModelAndView("hold", model);
+    }
+
+    /**
+     * Confirm held ticket model and view.
+     *
+     * @param holdId the hold id
+     * @param userId the user id
+     * @return the model and view
+     */
+    @PostMapping("/holds/{holdId}")
+    public ModelAndView confirmHeldTicket(@PathVariable String holdId,
+                                          @RequestParam long userId) {
+        log.info("Confirming the ticket hold {} of user with id {}", holdId, userId);
+        Map<String, Object> model = new HashMap<>();
+        Ticket ticket = bookingFacade.confirmHeldTicket(userId, holdId);
+        if (isNull(ticket)) {
+            model.put("message", "Can not to confirm the ticket hold " + holdId);
+            log.info("Can not to confirm the ticket hold {} of user with id {}", holdId, userId);
+        } else {
+            model.put("ticket", ticket);
+            log.info("The ticket hold {} successfully confirmed", holdId);
+        }
+        return new ModelAndView("ticket", model);
+    }
+
+    /**
+     * Release held ticket model and view.
+     *
+     * @param holdId the hold id
+     * @param userId the user id
+     * @return the model and view
+     */
+    @DeleteMapping("/holds/{holdId}")
+    public ModelAndView releaseHeldTicket(@PathVariable String holdId,
+                                          @RequestParam long userId) {
+        log.info("Releasing the ticket hold {} of user with id {}", holdId, userId);
+        Map<String, Object> model = new HashMap<>();
+        if (bookingFacade.releaseHeldTicket(userId, holdId)) {
+            model.put("message", "The ticket hold " + holdId + " successfully released");
+            log.info("The ticket hold {} successfully released", holdId);
+        } else {
+            model.put("message", "The ticket hold " + holdId + " not released");
+            log.info("The ticket hold {} not released", holdId);
+        }
+        return new ModelAndView("hold", model);
+    }
+
+    /**
+     * Create seats list.
+     *
+     * @param places     the places
+     * @param categories the categories
+     * @return the list of seats
+     */
+    private List<Seat> createSeats(List<Integer> places, List<Category> categories) {
+        List<Seat> seats = new ArrayList<>(places.size());
+        for (int i = 0; i < places.size(); i++) {
+            seats.add(new Seat(places.get(i), categories.get(i)));
+        }
+        return seats;
+    }
+
     /**
      * Is null boolean.
      *
@@ -92,7 +287,7 @@ public class TicketsController {
      * @param pageNum  the page num
      * @return the model and view
      */
-    @GetMapping("/user/{userId}")
+    @GetMapping(value = "/user/{userId}", params = "pageNum")
     public ModelAndView showTicketsByUser(@PathVariable long userId,
                                           @RequestParam int pageSize,
                                           @RequestParam int pageNum) {
@@ -115,6 +310,38 @@ public class TicketsController {
         return new ModelAndView("tickets", model);
     }
 
+    /**
+     * Show the page of tickets by user after the cursor model and view.
+     *
+     * @param userId   the user id
+     * @param pageSize the page size
+     * @param after    the cursor of the page, null for the first page
+     * @return the model and view
+     */
+    @GetMapping(value = "/user/{userId}", params = "!pageNum")
+    public ModelAndView showTicketsByUser(@PathVariable long userId,
+                                          @RequestParam int pageSize,
+                                          @RequestParam(required = false) String after) {
+        log.info("Showing the tickets by user with id: {} after {}", userId, after);
+        Map<String, Object> model = new HashMap<>();
+        User userById = bookingFacade.getUserById(userId);
+        if (isNull(userById)) {
+            model.put("message", "Can not to find a user by id: " + userId);
+            log.info("Can not to find a user by id: {}", userId);
+        } else {
+            CursorSlice<TicketSummary> bookedTickets = bookingFacade.getBookedTickets(userById, pageSize, after);
+            if (bookedTickets.isEmpty()) {
+                model.put("message", "Can not to find the tickets by user with id: " + userId);
+                log.info("Can not to find the tickets by user with id: {}", userId);
+            } else {
+                model.put("tickets", bookedTickets.getContent());
+                putNextPage(model, bookedTickets, pageSize);
+                log.info("The tickets successfully found");
+            }
+        }
+        return new ModelAndView("tickets", model);
+    }
+
     /**
      * Show tickets by event model and view.
      *
@@ -123,7 +350,7 @@ public class TicketsController {
      * @param pageNum  the page num
      * @return the model and view
      */
-    @GetMapping("/event/{eventId}")
+    @GetMapping(value = "/event/{eventId}", params = "pageNum")
     public ModelAndView showTicketsByEvent(@PathVariable long eventId,
                                            @RequestParam int pageSize,
                                            @RequestParam int pageNum) {
@@ -146,6 +373,52 @@ public class TicketsController {
         return new ModelAndView("tickets", model);
     }
 
+    /**
+     * Show the page of tickets by event after the cursor model and view.
+     *
+     * @param eventId  the event id
+     * @param pageSize the page size
+     * @param after    the cursor of the page, null for the first page
+     * @return the model and view
+     */
+    @GetMapping(value = "/event/{eventId}", params = "!pageNum")
+    public ModelAndView showTicketsByEvent(@PathVariable long eventId,
+                                           @RequestParam int pageSize,
+                                           @RequestParam(required = false) String after) {
+        log.info("Showing the tickets by event with id: {} after {}", eventId, after);
+        Map<String, Object> model = new HashMap<>();
+        Event eventById = bookingFacade.getEventById(eventId);
+        if (isNull(eventById)) {
+            model.put("message", "Can not to find an event by id: " + eventId);
+            log.info("Can not to find an event by id: {}", eventId);
+        } else {
+            CursorSlice<TicketSummary> bookedTickets = bookingFacade.getBookedTickets(eventById, pageSize, after);
+            if (bookedTickets.isEmpty()) {
+                model.put("message", "Can not to find the tickets by event with id: " + eventId);
+                log.info("Can not to find the tickets by event with id: {}", eventId);
+            } else {
+                model.put("tickets", bookedTickets.getContent());
+                putNextPage(model, bookedTickets, pageSize);
+                log.info("The tickets successfully found");
+            }
+        }
+        return new ModelAndView("tickets", model);
+    }
+
+    /**
+     * Puts the cursor of the next page into the model if the page is not the last one.
+     *
+     * @param model    the model
+     * @param page     the page
+     * @param pageSize the page size
+     */
+    private void putNextPage(Map<String, Object> model, CursorSlice<?> page, int pageSize) {
+        if (page.hasNext()) {
+            model.put("next", page.getNext());
+            model.put("pageSize", pageSize);
+        }
+    }
+
     /**
      * Cancel ticket model and view.
      *
@@ -2,18 +2,28 @@ package ua.epam.mishchenko.ticketbooking.web.controller;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.ModelAndView;
 import ua.epam.mishchenko.ticketbooking.facade.impl.BookingFacadeImpl;
 import ua.epam.mishchenko.ticketbooking.model.User;
+import ua.epam.mishchenko.ticketbooking.model.UserAccount;
+import ua.epam.mishchenko.ticketbooking.paging.CursorSlice;
+import ua.epam.mishchenko.ticketbooking.refill.BulkRefillProgress;
+import ua.epam.mishchenko.ticketbooking.repository.projection.UserSummary;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -68,11 +78,11 @@ public class UsersController {
     /**
      * Is null boolean.
      *
-     * @param user the user
+     * @param object the object
      * @return the boolean
      */
-    private boolean isNull(User user) {
-        return user == null;
+    private boolean isNull(Object object) {
+        return object == null;
     }
 
     /**
@@ -83,7 +93,7 @@ public class UsersController {
      * @param pageNum  the page num
      * @return the model and view
      */
-    @GetMapping("/name/{name}")
+    @GetMapping(value = "/name/{name}", params = "pageNum")
     public ModelAndView showUsersByName(@PathVariable String name,
                                         @RequestParam int pageSize,
                                         @RequestParam int pageNum) {
@@ -100,6 +110,46 @@ public class UsersController {
         return new ModelAndView("users", model);
     }
 
+    /**
+     * Show the page of users by name after the cursor model and view.
+     *
+     * @param name     the name
+     * @param pageSize the page size
+     * @param after    the cursor of the page, null for the first page
+     * @return the model and view
+     */
+    @GetMapping(value = "/name/{name}", params = "!pageNum")
+    public ModelAndView showUsersByName(@PathVariable String name,
+                                        @RequestParam int pageSize,
+                                        @RequestParam(required = false) String after) {
+        log.info("Showing users by name: {} after {}", name, after);
+        Map<String, Object> model = new HashMap<>();
+        CursorSlice<UserSummary> usersByName = bookingFacade.getUsersByName(name, pageSize, after);
+        if (usersByName.isEmpty()) {
+            model.put("message", "Can not to find users by name: " + name);
+            log.info("Can not to find users by name: {}", name);
+        } else {
+            model.put("users", usersByName.getContent());
+            putNextPage(model, usersByName, pageSize);
+            log.info("The users by name: {} successfully found", name);
+        }
+        return new ModelAndView("users", model);
+    }
+
+    /**
+     * Puts the cursor of the next page into the model if the page is not the last one.
+     *
+     * @param model    the model
+     * @param page     the page
+     * @param pageSize the page size
+     */
+    private void putNextPage(Map<String, Object> model, CursorSlice<?> page, int pageSize) {
+        if (page.hasNext()) {
+            model.put("next", page.getNext());
+            model.put("pageSize", pageSize);
+        }
+    }
+
     /**
      * Show user by email model and view.
      *
@@ -198,6 +248,82 @@ public class UsersController {
         return user;
     }
 
+    /**
+     * Refill user account model and view.
+     *
+     * @param id             the user id
+     * @param money          the money
+     * @param idempotencyKey the idempotency key, a retried request with the same key is not credited twice
+     * @return the model and view
+     */
+    @PostMapping("/{id}/account")
+    public ModelAndView refillUserAccount(@PathVariable long id,
+                                          @RequestParam BigDecimal money,
+                                          @RequestHeader(value = "Idempotency-Key", required = false)
+                                                  String idempotencyKey) {
+        log.info("Refilling the account of the user with id: {}", id);
+        Map<String, Object> model = new HashMap<>();
+        UserAccount userAccount = bookingFacade.refillUserAccount(id, money, idempotencyKey);
+        if (isNull(userAccount)) {
+            model.put("message", "Can not to refill the account of the user with id: " + id);
+            log.info("Can not to refill the account of the user with id: {}", id);
+        } else {
+            model.put("userAccount", userAccount);
+            model.put("balance", bookingFacade.getUserAccountBalance(id));
+            log.info("The account of the user with id: {} successfully refilled", id);
+        }
+        return new ModelAndView("account", model);
+    }
+
+    /**
+     * Refill the accounts of many users model and view. The body is streamed, a CSV file of
+     * {@code userId,amount} lines or a JSON array of {@code {"userId": 1, "amount": 10.50}} objects.
+     *
+     * @param contentType the content type
+     * @param records     the records
+     * @return the model and view
+     */
+    @PostMapping(value = "/accounts/bulk", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ModelAndView refillUserAccounts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                           InputStream records) {
+        log.info("Refilling the accounts of users in bulk");
+        Map<String, Object> model = new HashMap<>();
+        boolean json = MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        BulkRefillProgress progress = bookingFacade.refillUserAccounts(records, json);
+        if (isNull(progress)) {
+            model.put("message", "Can not to refill the accounts of users");
+            log.info("Can not to refill the accounts of users");
+        } else {
+            model.put("progress", progress);
+            model.put("bulkRefills", Collections.singletonList(progress));
+            if (progress.isFailed()) {
+                model.put("message", "The bulk refill failed after " + progress.getRefilled() + " refilled records");
+            }
+            log.info("The bulk refill of the accounts of users finished: {}", progress);
+        }
+        return new ModelAndView("bulk-refills", model);
+    }
+
+    /**
+     * Show bulk refills model and view.
+     *
+     * @return the model and view
+     */
+    @GetMapping("/accounts/bulk")
+    public ModelAndView showBulkRefills() {
+        log.info("Showing the bulk refills");
+        Map<String, Object> model = new HashMap<>();
+        List<BulkRefillProgress> bulkRefills = bookingFacade.getBulkRefills();
+        if (bulkRefills.isEmpty()) {
+            model.put("message", "Can not to find bulk refills");
+            log.info("Can not to find bulk refills");
+        } else {
+            model.put("bulkRefills", bulkRefills);
+            log.info("The bulk refills successfully found");
+        }
+        return new ModelAndView("bulk-refills", model);
+    }
+
     /**
      * Delete user model and view.
      *
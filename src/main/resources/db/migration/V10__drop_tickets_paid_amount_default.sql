@@ -0,0 +1,5 @@
+-- Every ticket is booked with the amount paid for it, a ticket inserted without one must fail
+-- instead of being refunded nothing.
+
+ALTER TABLE tickets
+    ALTER COLUMN paid_amount DROP DEFAULT;
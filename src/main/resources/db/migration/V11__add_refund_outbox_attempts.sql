@@ -0,0 +1,5 @@
+-- The failed credits of a refund are counted, a refund which failed the maximum number of times
+-- stays in the outbox as a dead letter and is not queued again.
+
+ALTER TABLE refund_outbox
+    ADD COLUMN attempts INT NOT NULL DEFAULT (0);
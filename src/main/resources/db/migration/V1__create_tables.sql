@@ -0,0 +1,63 @@
+CREATE SEQUENCE events_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE tickets_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE user_accounts_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE events
+(
+    id    BIGINT NOT NULL DEFAULT nextval('events_seq'),
+    title VARCHAR(50)   NOT NULL,
+    date  TIMESTAMP     NOT NULL,
+    ticket_price DECIMAL(6, 2) NOT NULL DEFAULT (0)
+);
+
+CREATE TABLE users
+(
+    id    BIGINT NOT NULL DEFAULT nextval('users_seq'),
+    name  VARCHAR(50) NOT NULL,
+    email VARCHAR(50) NOT NULL
+);
+
+CREATE TABLE tickets
+(
+    id       BIGINT NOT NULL DEFAULT nextval('tickets_seq'),
+    user_id  BIGINT,
+    event_id BIGINT,
+    place    INT         NOT NULL,
+    category VARCHAR(50) NOT NULL
+);
+
+CREATE TABLE user_accounts
+(
+    id              BIGINT NOT NULL DEFAULT nextval('user_accounts_seq'),
+    user_id         BIGINT,
+    money           DECIMAL(6, 2) NOT NULL,
+    ledger_position BIGINT        NOT NULL DEFAULT (0)
+);
+
+CREATE TABLE idempotency_keys
+(
+    idempotency_key VARCHAR(100) NOT NULL,
+    operation       VARCHAR(20)  NOT NULL,
+    user_id         BIGINT       NOT NULL,
+    resource_id     BIGINT       NOT NULL,
+    created_at      TIMESTAMP    NOT NULL
+);
+
+CREATE TABLE ledger_entries
+(
+    id         BIGINT GENERATED ALWAYS AS IDENTITY,
+    user_id    BIGINT         NOT NULL,
+    amount     DECIMAL(12, 2) NOT NULL,
+    type       VARCHAR(20)    NOT NULL,
+    created_at TIMESTAMP      NOT NULL
+);
+
+CREATE TABLE refund_outbox
+(
+    id         BIGINT GENERATED ALWAYS AS IDENTITY,
+    ticket_id  BIGINT        NOT NULL,
+    user_id    BIGINT        NOT NULL,
+    amount     DECIMAL(6, 2) NOT NULL,
+    created_at TIMESTAMP     NOT NULL
+);
\ No newline at end of file
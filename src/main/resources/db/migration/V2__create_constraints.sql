@@ -23,3 +23,17 @@ ALTER TABLE user_accounts
     ADD CONSTRAINT pk_user_accounts PRIMARY KEY (id);
 ALTER TABLE user_accounts
     ADD CONSTRAINT fk_user_accounts_users FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE user_accounts
+    ADD CONSTRAINT uq_user_accounts_user_id UNIQUE (user_id);
+
+ALTER TABLE idempotency_keys
+    ADD CONSTRAINT pk_idempotency_keys PRIMARY KEY (idempotency_key);
+
+ALTER TABLE ledger_entries
+    ADD CONSTRAINT pk_ledger_entries PRIMARY KEY (id);
+ALTER TABLE ledger_entries
+    ADD CONSTRAINT fk_ledger_entries_users FOREIGN KEY (user_id) REFERENCES users (id);
+CREATE INDEX ix_ledger_entries_user_id_id ON ledger_entries (user_id, id);
+
+ALTER TABLE refund_outbox
+    ADD CONSTRAINT pk_refund_outbox PRIMARY KEY (id);
\ No newline at end of file
@@ -0,0 +1,14 @@
+-- The secondary indexes of the filters of the repository queries. The included columns make the indexes
+-- covering, so the pages of the entities are read by index only scans.
+-- tickets.event_id and events.title are the leading columns of uq_tickets_event_id_place and
+-- uq_events_title_date, user_accounts.user_id is indexed by uq_user_accounts_user_id.
+-- The indexes are built concurrently, without locking the tables against writes, so the migration runs
+-- outside of a transaction and contains the concurrent index builds only.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_tickets_user_id ON tickets (user_id) INCLUDE (id, event_id, place, category);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_events_date ON events (date) INCLUDE (id, title, ticket_price);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_users_name ON users (name) INCLUDE (id, email);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_refund_outbox_created_at ON refund_outbox (created_at);
@@ -0,0 +1,104 @@
+-- The tickets are partitioned by ranges of event ids. The queries of the tickets of an event read one partition,
+-- and the tickets of old events are archived by detaching their partitions.
+-- The primary key and the unique constraints of a partitioned table have to include the partition key,
+-- so the primary key is (event_id, id) and ix_tickets_id serves the lookups of a ticket by its id.
+-- The database does not enforce unique ticket ids any more, they are unique because they come from tickets_seq,
+-- and a lookup of a ticket by its id alone probes the ix_tickets_id index of every partition.
+
+-- The partition key is required, so the tickets without an event would fail the copy below halfway through
+-- the migration. They are reported before anything is changed and have to be removed or fixed by hand.
+DO
+$$
+DECLARE
+    orphans BIGINT;
+BEGIN
+    SELECT count(*) INTO orphans FROM tickets WHERE event_id IS NULL;
+    IF orphans > 0 THEN
+        RAISE EXCEPTION 'Can not to partition the tickets, % tickets have no event_id: delete them or set it', orphans;
+    END IF;
+END;
+$$;
+
+ALTER TABLE tickets
+    RENAME TO tickets_unpartitioned;
+ALTER TABLE tickets_unpartitioned
+    DROP CONSTRAINT pk_tickets,
+    DROP CONSTRAINT fk_tickets_users,
+    DROP CONSTRAINT fk_tickets_events,
+    DROP CONSTRAINT uq_tickets_event_id_place,
+    DROP CONSTRAINT uq_tickets_user_id_event_id_place;
+DROP INDEX ix_tickets_user_id;
+
+CREATE TABLE tickets
+(
+    id       BIGINT      NOT NULL DEFAULT nextval('tickets_seq'),
+    user_id  BIGINT,
+    event_id BIGINT      NOT NULL,
+    place    INT         NOT NULL,
+    category VARCHAR(50) NOT NULL
+) PARTITION BY RANGE (event_id);
+
+ALTER TABLE tickets
+    ADD CONSTRAINT pk_tickets PRIMARY KEY (event_id, id);
+ALTER TABLE tickets
+    ADD CONSTRAINT fk_tickets_users FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE tickets
+    ADD CONSTRAINT fk_tickets_events FOREIGN KEY (event_id) REFERENCES events (id);
+ALTER TABLE tickets
+    ADD CONSTRAINT uq_tickets_event_id_place UNIQUE (event_id, place);
+ALTER TABLE tickets
+    ADD CONSTRAINT uq_tickets_user_id_event_id_place UNIQUE (user_id, event_id, place);
+CREATE INDEX ix_tickets_id ON tickets (id);
+CREATE INDEX ix_tickets_user_id ON tickets (user_id) INCLUDE (id, event_id, place, category);
+
+-- Creates the missing partitions of the event ids from 0 up to the event id, every partition holds
+-- the tickets of 10000 events. Detached partitions keep their tables, so they are not created again.
+CREATE FUNCTION ensure_tickets_partitions(up_to_event_id BIGINT) RETURNS INTEGER AS
+$$
+DECLARE
+    partition_size CONSTANT BIGINT := 10000;
+    range_start             BIGINT := 0;
+    created                 INTEGER := 0;
+BEGIN
+    WHILE range_start <= up_to_event_id
+        LOOP
+            IF to_regclass('tickets_p' || range_start) IS NULL THEN
+                EXECUTE format('CREATE TABLE %I PARTITION OF tickets FOR VALUES FROM (%s) TO (%s)',
+                               'tickets_p' || range_start, range_start, range_start + partition_size);
+                created := created + 1;
+            END IF;
+            range_start := range_start + partition_size;
+        END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detaches the partitions whose events all have ids lower than the event id and returns their tables.
+-- The detached tables keep the tickets and can be dumped and dropped.
+CREATE FUNCTION detach_tickets_partitions(before_event_id BIGINT) RETURNS SETOF TEXT AS
+$$
+DECLARE
+    partition_size CONSTANT BIGINT := 10000;
+    part                    RECORD;
+BEGIN
+    FOR part IN
+        SELECT c.relname::TEXT AS name, substring(c.relname FROM 'tickets_p(\d+)')::BIGINT AS range_start
+        FROM pg_inherits i
+                 JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'tickets'::regclass
+        ORDER BY 2
+        LOOP
+            IF part.range_start + partition_size <= before_event_id THEN
+                EXECUTE format('ALTER TABLE tickets DETACH PARTITION %I', part.name);
+                RETURN NEXT part.name;
+            END IF;
+        END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT ensure_tickets_partitions((SELECT coalesce(max(id), 0) FROM events) + 10000);
+
+INSERT INTO tickets (id, user_id, event_id, place, category)
+SELECT id, user_id, event_id, place, category
+FROM tickets_unpartitioned;
+DROP TABLE tickets_unpartitioned;
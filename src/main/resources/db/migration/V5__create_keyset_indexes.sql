@@ -0,0 +1,12 @@
+-- The keyset pages are ordered by id after the id of the cursor, so the indexes of the filters end with the id.
+-- A page is read from the index in order, without sorting the rows of the filter and without an offset.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_events_title_id ON events (title, id) INCLUDE (date, ticket_price);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_events_date_id ON events (date, id) INCLUDE (title, ticket_price);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_users_name_id ON users (name, id) INCLUDE (email);
+
+DROP INDEX CONCURRENTLY IF EXISTS ix_events_date;
+
+DROP INDEX CONCURRENTLY IF EXISTS ix_users_name;
@@ -0,0 +1,6 @@
+-- The index of the keyset pages of the tickets of a user. The indexes of a partitioned table can not be built
+-- concurrently, the index of the pages of an event is the primary key (event_id, id).
+
+CREATE INDEX IF NOT EXISTS ix_tickets_user_id_id ON tickets (user_id, id) INCLUDE (event_id, place, category);
+
+DROP INDEX IF EXISTS ix_tickets_user_id;
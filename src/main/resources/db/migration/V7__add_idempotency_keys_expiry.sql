@@ -0,0 +1,11 @@
+-- The idempotency keys expire, the expired keys are purged periodically by the application.
+-- The keys stored before get the default time to live of 24 hours from their creation.
+
+ALTER TABLE idempotency_keys
+    ADD COLUMN expires_at TIMESTAMP;
+UPDATE idempotency_keys
+SET expires_at = created_at + INTERVAL '24 hours';
+ALTER TABLE idempotency_keys
+    ALTER COLUMN expires_at SET NOT NULL;
+
+CREATE INDEX ix_idempotency_keys_expires_at ON idempotency_keys (expires_at);
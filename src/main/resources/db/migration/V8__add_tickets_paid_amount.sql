@@ -0,0 +1,9 @@
+-- A ticket keeps the amount paid for it, so a cancel refunds that amount even if the price of the event
+-- has changed since the booking. The tickets booked before are given the current price of their event.
+
+ALTER TABLE tickets
+    ADD COLUMN paid_amount DECIMAL(6, 2) NOT NULL DEFAULT (0);
+UPDATE tickets
+SET paid_amount = events.ticket_price
+FROM events
+WHERE events.id = tickets.event_id;
@@ -0,0 +1,29 @@
+-- Every ledger entry carries its position in the ledger of its user and the balance after it, so an append
+-- needs only the last entry of the user and the unique position stops two concurrent appends on the same
+-- balance. The entries written before are numbered in the order of their ids, and their balances are
+-- computed from the snapshot of their account.
+
+ALTER TABLE ledger_entries
+    ADD COLUMN seq     BIGINT,
+    ADD COLUMN balance DECIMAL(12, 2);
+
+UPDATE ledger_entries
+SET seq     = chained.seq,
+    balance = chained.balance
+FROM (SELECT le.id,
+             row_number() OVER w                                               AS seq,
+             COALESCE(ua.money, 0) + sum(le.amount) OVER w
+                 - COALESCE((SELECT sum(folded.amount)
+                             FROM ledger_entries folded
+                             WHERE folded.user_id = le.user_id
+                               AND folded.id <= ua.ledger_position), 0)       AS balance
+      FROM ledger_entries le
+               LEFT JOIN user_accounts ua ON ua.user_id = le.user_id
+      WINDOW w AS (PARTITION BY le.user_id ORDER BY le.id)) chained
+WHERE chained.id = ledger_entries.id;
+
+ALTER TABLE ledger_entries
+    ALTER COLUMN seq SET NOT NULL,
+    ALTER COLUMN balance SET NOT NULL;
+ALTER TABLE ledger_entries
+    ADD CONSTRAINT uq_ledger_entries_user_id_seq UNIQUE (user_id, seq);
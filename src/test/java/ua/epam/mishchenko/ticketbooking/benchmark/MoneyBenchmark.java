@@ -0,0 +1,79 @@
+package ua.epam.mishchenko.ticketbooking.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ua.epam.mishchenko.ticketbooking.model.Money;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of the money arithmetic of a booking: the price of the seats is multiplied, compared with
+ * the balance and subtracted from it. Run it with the main method, the gc profiler reports
+ * the allocation rate per operation next to the latency.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({"1", "4"})
+    private int seats;
+
+    private BigDecimal decimalPrice;
+
+    private BigDecimal decimalBalance;
+
+    private Money price;
+
+    private Money balance;
+
+    @Setup
+    public void setUp() {
+        decimalPrice = new BigDecimal("125.50");
+        decimalBalance = new BigDecimal("9999.99");
+        price = Money.of(decimalPrice);
+        balance = Money.of(decimalBalance);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalDebit() {
+        BigDecimal total = decimalPrice.multiply(BigDecimal.valueOf(seats));
+        if (decimalBalance.compareTo(total) < 0) {
+            return decimalBalance;
+        }
+        return decimalBalance.subtract(total);
+    }
+
+    @Benchmark
+    public long moneyDebit() {
+        Money total = price.times(seats);
+        if (balance.isLessThan(total)) {
+            return balance.getMinorUnits();
+        }
+        return balance.minus(total).getMinorUnits();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MoneyBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
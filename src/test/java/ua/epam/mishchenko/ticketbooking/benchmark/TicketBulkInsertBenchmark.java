@@ -0,0 +1,146 @@
+package ua.epam.mishchenko.ticketbooking.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.epam.mishchenko.ticketbooking.TicketBookingApp;
+import ua.epam.mishchenko.ticketbooking.model.Category;
+import ua.epam.mishchenko.ticketbooking.model.Event;
+import ua.epam.mishchenko.ticketbooking.model.Ticket;
+import ua.epam.mishchenko.ticketbooking.model.User;
+import ua.epam.mishchenko.ticketbooking.repository.EventRepository;
+import ua.epam.mishchenko.ticketbooking.repository.TicketRepository;
+import ua.epam.mishchenko.ticketbooking.repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of a bulk insert of tickets into the test database.
+ * <p>
+ * {@code sequenceBatchedInsert} saves the tickets through the repository: the ids come from the pooled
+ * sequence, so Hibernate sends the inserts in JDBC batches. {@code identityRowByRowInsert} inserts the
+ * tickets the way Hibernate does with identity columns: one statement per row returning the generated id.
+ * Run it with the main method against a running test database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketBulkInsertBenchmark {
+
+    private static final String INSERT_TICKET_SQL = "INSERT INTO tickets (id, user_id, event_id, place, category, " +
+            "paid_amount) VALUES (nextval('tickets_seq'), ?, ?, ?, ?, ?)";
+
+    @Param({"100", "1000"})
+    private int tickets;
+
+    private ConfigurableApplicationContext context;
+
+    private TicketRepository ticketRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    private Event event;
+
+    private int nextPlace;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TicketBookingApp.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:postgresql://localhost:5432/ticket_booking_test?reWriteBatchedInserts=true",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=warn",
+                        "logging.level.org.hibernate=warn")
+                .run();
+        ticketRepository = context.getBean(TicketRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        user = context.getBean(UserRepository.class).save(new User("Benchmark", "benchmark@gmail.com"));
+        event = context.getBean(EventRepository.class).save(new Event("Benchmark", new Date(), BigDecimal.TEN));
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteTickets() {
+        jdbcTemplate.update("DELETE FROM tickets WHERE event_id = ?", event.getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM events WHERE id = ?", event.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+        context.close();
+    }
+
+    @Benchmark
+    public int sequenceBatchedInsert() {
+        List<Ticket> batch = new ArrayList<>(tickets);
+        for (int i = 0; i < tickets; i++) {
+            batch.add(new Ticket(user, event, nextPlace++, Category.STANDARD, event.getTicketPriceAmount()));
+        }
+        transactionTemplate.executeWithoutResult(status -> ticketRepository.saveAll(batch));
+        return batch.size();
+    }
+
+    @Benchmark
+    public long identityRowByRowInsert() {
+        return transactionTemplate.execute(status -> {
+            long lastId = 0;
+            for (int i = 0; i < tickets; i++) {
+                int place = nextPlace++;
+                KeyHolder keyHolder = new GeneratedKeyHolder();
+                jdbcTemplate.update(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(INSERT_TICKET_SQL, new String[]{"id"});
+                    statement.setLong(1, user.getId());
+                    statement.setLong(2, event.getId());
+                    statement.setInt(3, place);
+                    statement.setString(4, Category.STANDARD.name());
+                    statement.setBigDecimal(5, event.getTicketPrice());
+                    return statement;
+                }, keyHolder);
+                lastId = keyHolder.getKey().longValue();
+            }
+            return lastId;
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TicketBulkInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
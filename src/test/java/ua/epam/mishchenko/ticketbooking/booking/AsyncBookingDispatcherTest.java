@@ -0,0 +1,78 @@
+package ua.epam.mishchenko.ticketbooking.booking;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import ua.epam.mishchenko.ticketbooking.model.Category;
+import ua.epam.mishchenko.ticketbooking.model.Seat;
+import ua.epam.mishchenko.ticketbooking.model.Ticket;
+import ua.epam.mishchenko.ticketbooking.service.TicketService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+public class AsyncBookingDispatcherTest {
+
+    private AsyncBookingDispatcher asyncBookingDispatcher;
+
+    @Mock
+    private TicketService ticketService;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        asyncBookingDispatcher = new AsyncBookingDispatcher(ticketService, 2, 16, 8);
+    }
+
+    @After
+    public void tearDown() {
+        asyncBookingDispatcher.shutdown();
+    }
+
+    @Test
+    public void submittedRequestsShouldCompleteWithBookedTickets() throws Exception {
+        when(ticketService.bookTicketsInBatch(anyList())).thenAnswer(invocation -> {
+            List<BookingRequest> requests = invocation.getArgument(0);
+            List<Ticket> tickets = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                tickets.add(new Ticket());
+            }
+            return tickets;
+        });
+
+        List<CompletableFuture<Ticket>> tickets = new ArrayList<>();
+        for (int place = 1; place <= 10; place++) {
+            tickets.add(asyncBookingDispatcher.submit(new BookingRequest(1L, 1L, new Seat(place, Category.BAR))));
+        }
+
+        for (CompletableFuture<Ticket> ticket : tickets) {
+            assertNotNull(ticket.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void submittedRequestShouldCompleteWithNullIfBatchFails() throws Exception {
+        when(ticketService.bookTicketsInBatch(anyList())).thenThrow(RuntimeException.class);
+
+        CompletableFuture<Ticket> ticket =
+                asyncBookingDispatcher.submit(new BookingRequest(1L, 1L, new Seat(1, Category.BAR)));
+
+        assertNull(ticket.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void sameEventShouldAlwaysMapToSamePartition() {
+        assertSame(asyncBookingDispatcher.partitionOf(42L), asyncBookingDispatcher.partitionOf(42L));
+    }
+}
@@ -0,0 +1,145 @@
+package ua.epam.mishchenko.ticketbooking.booking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BookingTransactionExecutorTest {
+
+    private PlatformTransactionManager transactionManager;
+
+    private EventLockTable eventLockTable;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BookingTransactionExecutor executor;
+
+    @Before
+    public void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        eventLockTable = new EventLockTable(64, 50);
+        meterRegistry = new SimpleMeterRegistry();
+        executor = spy(new BookingTransactionExecutor(transactionManager, eventLockTable, meterRegistry,
+                BookingConcurrencyMode.STRIPED_LOCK, 4, 10, 200));
+        doReturn(0L).when(executor).backoffMs(anyInt());
+    }
+
+    @Test
+    public void bookingWhichFailsTransientlyShouldBeRetriedUntilItSucceeds() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = executor.execute(1L, () -> {
+            if (attempts.incrementAndGet() <= 2) {
+                throw new RuntimeException(new SQLException("could not serialize access", "40001"));
+            }
+            return "booked";
+        });
+
+        assertEquals("booked", result);
+        assertEquals(3, attempts.get());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager).commit(any());
+        verify(executor).backoffMs(1);
+        verify(executor).backoffMs(2);
+        assertEquals(2, meterRegistry.counter("booking.retries", "reason", "serialization_failure").count(), 0);
+        assertEquals(0, meterRegistry.counter("booking.retries.exhausted", "reason", "serialization_failure")
+                .count(), 0);
+    }
+
+    @Test
+    public void bookingWhichFailsTransientlyOnEveryAttemptShouldGiveUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+        CannotAcquireLockException failure = new CannotAcquireLockException("lock");
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> executor.execute(1L, () -> {
+            attempts.incrementAndGet();
+            throw failure;
+        }));
+
+        assertSame(failure, e);
+        assertEquals(4, attempts.get());
+        verify(transactionManager, times(4)).rollback(any());
+        verify(executor, times(3)).backoffMs(anyInt());
+        assertEquals(3, meterRegistry.counter("booking.retries", "reason", "concurrency_failure").count(), 0);
+        assertEquals(1, meterRegistry.counter("booking.retries.exhausted", "reason", "concurrency_failure")
+                .count(), 0);
+    }
+
+    @Test
+    public void bookingWhichFailsWithNonTransientErrorShouldNotBeRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        RuntimeException failure = new RuntimeException("This ticket already booked");
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> executor.execute(1L, () -> {
+            attempts.incrementAndGet();
+            throw failure;
+        }));
+
+        assertSame(failure, e);
+        assertEquals(1, attempts.get());
+        verify(executor, never()).backoffMs(anyInt());
+        assertTrue(meterRegistry.find("booking.retries").counters().isEmpty());
+        assertTrue(meterRegistry.find("booking.retries.exhausted").counters().isEmpty());
+    }
+
+    @Test
+    public void eventLockShouldBeReleasedAfterEveryAttempt() {
+        ReentrantLock lock = eventLockTable.lock(1L);
+        lock.unlock();
+
+        assertThrows(RuntimeException.class, () -> executor.execute(1L, () -> {
+            assertTrue(lock.isHeldByCurrentThread());
+            throw new RuntimeException(new SQLException("deadlock detected", "40P01"));
+        }));
+
+        assertFalse(lock.isLocked());
+    }
+
+    @Test
+    public void backoffCeilingShouldGrowExponentiallyUpToMaxBackoff() {
+        assertEquals(10, executor.backoffCeilingMs(1));
+        assertEquals(20, executor.backoffCeilingMs(2));
+        assertEquals(80, executor.backoffCeilingMs(4));
+        assertEquals(200, executor.backoffCeilingMs(6));
+        assertEquals(200, executor.backoffCeilingMs(100));
+    }
+
+    @Test
+    public void backoffShouldBeJitteredWithinCeiling() {
+        BookingTransactionExecutor executor = new BookingTransactionExecutor(transactionManager, eventLockTable,
+                meterRegistry, BookingConcurrencyMode.STRIPED_LOCK, 4, 10, 200);
+        Set<Long> backoffs = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            long backoff = executor.backoffMs(3);
+            assertTrue(backoff >= 0 && backoff <= 40);
+            backoffs.add(backoff);
+        }
+
+        assertTrue(backoffs.size() > 1);
+    }
+}
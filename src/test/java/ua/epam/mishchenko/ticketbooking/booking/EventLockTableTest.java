@@ -0,0 +1,54 @@
+package ua.epam.mishchenko.ticketbooking.booking;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class EventLockTableTest {
+
+    @Test
+    public void sameEventShouldAlwaysMapToSameStripe() {
+        EventLockTable eventLockTable = new EventLockTable(64, 100);
+
+        assertEquals(eventLockTable.stripeOf(42L), eventLockTable.stripeOf(42L));
+    }
+
+    @Test
+    public void lockedEventShouldNotBeLockedByAnotherThread() {
+        EventLockTable eventLockTable = new EventLockTable(64, 50);
+        ReentrantLock lock = eventLockTable.lock(1L);
+        try {
+            assertTrue(lock.isHeldByCurrentThread());
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> CompletableFuture.runAsync(() -> eventLockTable.lock(1L)).get());
+            assertTrue(e.getCause() instanceof RuntimeException);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Test
+    public void lockAllShouldLockEveryStripeOnceAndUnlockAllShouldReleaseThem() {
+        EventLockTable eventLockTable = new EventLockTable(64, 50);
+        List<ReentrantLock> locks = eventLockTable.lockAll(Arrays.asList(3L, 1L, 3L, 2L));
+        try {
+            for (ReentrantLock lock : locks) {
+                assertEquals(1, lock.getHoldCount());
+            }
+        } finally {
+            eventLockTable.unlockAll(locks);
+        }
+        for (ReentrantLock lock : locks) {
+            assertFalse(lock.isLocked());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ua.epam.mishchenko.ticketbooking.booking;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class FreeRunTreeTest {
+
+    @Test
+    public void findFirstRunInFreeTreeShouldReturnFirstPlace() {
+        FreeRunTree tree = new FreeRunTree(10);
+
+        assertEquals(1, tree.findFirstRun(10));
+        assertEquals(-1, tree.findFirstRun(11));
+    }
+
+    @Test
+    public void findFirstRunShouldFindRunCrossingTheMiddle() {
+        FreeRunTree tree = new FreeRunTree(8);
+        tree.setFree(1, false);
+        tree.setFree(2, false);
+        tree.setFree(3, false);
+        tree.setFree(7, false);
+
+        assertEquals(4, tree.findFirstRun(3));
+        assertEquals(-1, tree.findFirstRun(4));
+
+        tree.setFree(3, true);
+
+        assertEquals(3, tree.findFirstRun(4));
+    }
+
+    @Test
+    public void findFirstRunShouldMatchLinearScan() {
+        Random random = new Random(42);
+        int size = 97;
+        FreeRunTree tree = new FreeRunTree(size);
+        BitSet taken = new BitSet();
+        for (int i = 0; i < 2000; i++) {
+            int place = 1 + random.nextInt(size);
+            boolean free = random.nextBoolean();
+            tree.setFree(place, free);
+            taken.set(place, !free);
+            int length = 1 + random.nextInt(6);
+            assertEquals(linearScan(taken, size, length), tree.findFirstRun(length));
+        }
+    }
+
+    private int linearScan(BitSet taken, int size, int length) {
+        int run = 0;
+        for (int place = 1; place <= size; place++) {
+            run = taken.get(place) ? 0 : run + 1;
+            if (run == length) {
+                return place - length + 1;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,36 @@
+package ua.epam.mishchenko.ticketbooking.booking;
+
+import org.junit.Test;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.sql.SQLException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class RetryReasonTest {
+
+    @Test
+    public void serializationFailureShouldBeFoundInCauseChain() {
+        RuntimeException e = new RuntimeException("commit failed",
+                new RuntimeException(new SQLException("could not serialize access", "40001")));
+
+        assertEquals(RetryReason.SERIALIZATION_FAILURE, RetryReason.of(e));
+    }
+
+    @Test
+    public void deadlockShouldBeRecognized() {
+        assertEquals(RetryReason.DEADLOCK, RetryReason.of(new SQLException("deadlock detected", "40P01")));
+    }
+
+    @Test
+    public void concurrencyFailureWithoutSqlStateShouldBeRecognized() {
+        assertEquals(RetryReason.CONCURRENCY_FAILURE, RetryReason.of(new CannotAcquireLockException("lock")));
+    }
+
+    @Test
+    public void businessFailureShouldNotBeRetried() {
+        assertNull(RetryReason.of(new RuntimeException("This ticket already booked")));
+        assertNull(RetryReason.of(new SQLException("duplicate key", "23505")));
+    }
+}
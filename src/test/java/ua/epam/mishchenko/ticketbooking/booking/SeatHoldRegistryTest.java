@@ -0,0 +1,119 @@
+package ua.epam.mishchenko.ticketbooking.booking;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import ua.epam.mishchenko.ticketbooking.model.Category;
+import ua.epam.mishchenko.ticketbooking.model.Event;
+import ua.epam.mishchenko.ticketbooking.model.Seat;
+import ua.epam.mishchenko.ticketbooking.repository.EventRepository;
+import ua.epam.mishchenko.ticketbooking.repository.TicketRepository;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class SeatHoldRegistryTest {
+
+    private SeatInventory seatInventory;
+
+    private SeatHoldRegistry seatHoldRegistry;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        seatInventory = new SeatInventory(ticketRepository);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(new Event(1L, "Title", new Date(), BigDecimal.TEN)));
+        seatHoldRegistry = new SeatHoldRegistry(seatInventory, eventRepository, 60, 10, 64);
+    }
+
+    @After
+    public void tearDown() {
+        seatHoldRegistry.shutdown();
+    }
+
+    @Test
+    public void holdShouldClaimSeat() {
+        SeatHold hold = seatHoldRegistry.hold(1L, 1L, new Seat(5, Category.BAR), 30);
+
+        assertNotNull(hold);
+        assertFalse(seatInventory.isFree(1L, 5, Category.BAR));
+        assertNull(seatHoldRegistry.hold(2L, 1L, new Seat(5, Category.BAR), 30));
+    }
+
+    @Test
+    public void takeShouldReturnHoldOnlyToItsUserAndOnlyOnce() {
+        SeatHold hold = seatHoldRegistry.hold(1L, 1L, new Seat(5, Category.BAR), 30);
+
+        assertNull(seatHoldRegistry.take(hold.getId(), 2L));
+        assertEquals(hold, seatHoldRegistry.take(hold.getId(), 1L));
+        assertNull(seatHoldRegistry.take(hold.getId(), 1L));
+        assertFalse(seatInventory.isFree(1L, 5, Category.BAR));
+    }
+
+    @Test
+    public void releaseShouldFreeSeat() {
+        SeatHold hold = seatHoldRegistry.hold(1L, 1L, new Seat(5, Category.BAR), 30);
+
+        assertTrue(seatHoldRegistry.release(hold.getId(), 1L));
+        assertTrue(seatInventory.isFree(1L, 5, Category.BAR));
+    }
+
+    @Test
+    public void expiredHoldShouldBeSweptAndSeatFreed() throws InterruptedException {
+        SeatHold hold = seatHoldRegistry.hold(1L, 1L, new Seat(5, Category.BAR), 1);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (seatHoldRegistry.size() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertEquals(0, seatHoldRegistry.size());
+        assertNull(seatHoldRegistry.take(hold.getId(), 1L));
+        assertTrue(seatInventory.isFree(1L, 5, Category.BAR));
+    }
+
+    @Test
+    public void holdWithTooLongTtlShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> seatHoldRegistry.hold(1L, 1L, new Seat(5, Category.BAR), 61));
+    }
+
+    @Test
+    public void holdOfNotExistingEventShouldThrowExceptionAndClaimNothing() {
+        assertThrows(IllegalArgumentException.class,
+                () -> seatHoldRegistry.hold(1L, 2L, new Seat(5, Category.BAR), 30));
+        verifyNoInteractions(ticketRepository);
+    }
+
+    @Test
+    public void holdShouldAcceptEveryBookablePlace() {
+        assertNotNull(seatHoldRegistry.hold(1L, 1L, new Seat(EventSeats.MAX_PLACE, Category.BAR), 30));
+    }
+
+    @Test
+    public void holdOfPlaceOutOfBookableRangeShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> seatHoldRegistry.hold(1L, 1L, new Seat(EventSeats.MAX_PLACE + 1, Category.BAR), 30));
+        assertThrows(IllegalArgumentException.class,
+                () -> seatHoldRegistry.hold(1L, 1L, new Seat(0, Category.BAR), 30));
+    }
+}
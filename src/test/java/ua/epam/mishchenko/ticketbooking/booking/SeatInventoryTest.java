@@ -0,0 +1,166 @@
+package ua.epam.mishchenko.ticketbooking.booking;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import ua.epam.mishchenko.ticketbooking.model.Category;
+import ua.epam.mishchenko.ticketbooking.model.Seat;
+import ua.epam.mishchenko.ticketbooking.repository.TicketRepository;
+import ua.epam.mishchenko.ticketbooking.repository.projection.BookedSeat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SeatInventoryTest {
+
+    private SeatInventory seatInventory;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        seatInventory = new SeatInventory(ticketRepository);
+    }
+
+    @Test
+    public void bookedSeatsShouldBeTakenWhenEventIsLoaded() {
+        when(ticketRepository.findBookedSeatsByEventId(1L)).thenReturn(Collections.singletonList(
+                bookedSeat(1L, 10, Category.BAR)));
+        when(ticketRepository.findBookedSeatsByEventId(2L)).thenReturn(Collections.singletonList(
+                bookedSeat(2L, 4, Category.STANDARD)));
+
+        assertFalse(seatInventory.isFree(1L, 10, Category.BAR));
+        assertFalse(seatInventory.isFree(2L, 4, Category.STANDARD));
+        assertFalse(seatInventory.isFree(1L, 10, Category.PREMIUM));
+        assertTrue(seatInventory.isFree(1L, 11, Category.BAR));
+    }
+
+    @Test
+    public void claimShouldSurviveLaterAccessesOfEvent() {
+        assertTrue(seatInventory.tryClaim(1L, 5, Category.PREMIUM));
+
+        assertFalse(seatInventory.isFree(1L, 5, Category.PREMIUM));
+        assertFalse(seatInventory.tryClaim(1L, 5, Category.PREMIUM));
+        verify(ticketRepository, times(1)).findBookedSeatsByEventId(1L);
+    }
+
+    @Test
+    public void tryClaimShouldClaimSeatOnlyOnce() {
+        assertTrue(seatInventory.tryClaim(1L, 5, Category.PREMIUM));
+        assertFalse(seatInventory.tryClaim(1L, 5, Category.PREMIUM));
+        assertFalse(seatInventory.isFree(1L, 5, Category.PREMIUM));
+    }
+
+    @Test
+    public void releaseShouldMakeSeatFreeAgain() {
+        seatInventory.tryClaim(1L, 5, Category.PREMIUM);
+
+        seatInventory.release(1L, 5, Category.PREMIUM);
+
+        assertTrue(seatInventory.tryClaim(1L, 5, Category.PREMIUM));
+    }
+
+    @Test
+    public void eventNotInMemoryShouldBeLoadedOnce() {
+        when(ticketRepository.findBookedSeatsByEventId(anyLong()))
+                .thenReturn(Collections.singletonList(bookedSeat(3L, 2, Category.PREMIUM)));
+
+        assertFalse(seatInventory.isFree(3L, 2, Category.PREMIUM));
+        assertTrue(seatInventory.tryClaim(3L, 3, Category.PREMIUM));
+
+        verify(ticketRepository, times(1)).findBookedSeatsByEventId(3L);
+    }
+
+    @Test
+    public void tryClaimBestAvailableShouldClaimLowestAdjacentFreeSeats() {
+        when(ticketRepository.findBookedSeatsByEventId(anyLong()))
+                .thenReturn(Collections.singletonList(bookedSeat(1L, 2, Category.BAR)));
+
+        List<Seat> seats = seatInventory.tryClaimBestAvailable(1L, Category.BAR, 3, 10);
+
+        assertEquals(Arrays.asList(new Seat(3, Category.BAR), new Seat(4, Category.BAR), new Seat(5, Category.BAR)),
+                seats);
+        assertFalse(seatInventory.isFree(1L, 4, Category.BAR));
+        assertEquals(Collections.singletonList(new Seat(1, Category.BAR)),
+                seatInventory.tryClaimBestAvailable(1L, Category.BAR, 1, 10));
+    }
+
+    @Test
+    public void tryClaimBestAvailableShouldSeeReleasedAndClaimedSeats() {
+        seatInventory.tryClaimBestAvailable(1L, Category.BAR, 4, 4);
+        assertTrue(seatInventory.tryClaimBestAvailable(1L, Category.BAR, 1, 4).isEmpty());
+
+        seatInventory.release(1L, 2, Category.BAR);
+        seatInventory.release(1L, 3, Category.BAR);
+        assertTrue(seatInventory.tryClaim(1L, 2, Category.BAR));
+
+        assertTrue(seatInventory.tryClaimBestAvailable(1L, Category.BAR, 2, 4).isEmpty());
+        assertEquals(Collections.singletonList(new Seat(3, Category.BAR)),
+                seatInventory.tryClaimBestAvailable(1L, Category.BAR, 1, 4));
+    }
+
+    @Test
+    public void placeBookedInOneCategoryShouldBeTakenInEveryCategory() {
+        assertTrue(seatInventory.tryClaim(1L, 5, Category.PREMIUM));
+
+        assertFalse(seatInventory.isFree(1L, 5, Category.BAR));
+        assertFalse(seatInventory.tryClaim(1L, 5, Category.BAR));
+        assertFalse(seatInventory.tryClaimAll(1L, Arrays.asList(new Seat(4, Category.BAR), new Seat(5, Category.BAR))));
+
+        seatInventory.release(1L, 5, Category.BAR);
+        assertFalse(seatInventory.isFree(1L, 5, Category.PREMIUM));
+    }
+
+    @Test
+    public void tryClaimBestAvailableShouldSkipPlaceBookedInAnotherCategory() {
+        assertEquals(Collections.singletonList(new Seat(1, Category.BAR)),
+                seatInventory.tryClaimBestAvailable(1L, Category.BAR, 1, 4));
+        assertTrue(seatInventory.tryClaim(1L, 2, Category.STANDARD));
+
+        assertEquals(Arrays.asList(new Seat(3, Category.BAR), new Seat(4, Category.BAR)),
+                seatInventory.tryClaimBestAvailable(1L, Category.BAR, 2, 4));
+        assertTrue(seatInventory.tryClaimBestAvailable(1L, Category.PREMIUM, 1, 4).isEmpty());
+
+        seatInventory.release(1L, 2, Category.STANDARD);
+        assertEquals(Collections.singletonList(new Seat(2, Category.PREMIUM)),
+                seatInventory.tryClaimBestAvailable(1L, Category.PREMIUM, 1, 4));
+    }
+
+    @Test
+    public void tryClaimWithNegativePlaceShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> seatInventory.tryClaim(1L, -1, Category.BAR));
+    }
+
+    private BookedSeat bookedSeat(Long eventId, Integer place, Category category) {
+        return new BookedSeat() {
+            @Override
+            public Long getEventId() {
+                return eventId;
+            }
+
+            @Override
+            public Integer getPlace() {
+                return place;
+            }
+
+            @Override
+            public Category getCategory() {
+                return category;
+            }
+        };
+    }
+}
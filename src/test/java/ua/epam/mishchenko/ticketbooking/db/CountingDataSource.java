@@ -0,0 +1,131 @@
+package ua.epam.mishchenko.ticketbooking.db;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * The data source which records every statement executed through its connections in the {@link StatementLog}.
+ * The statements of Hibernate and of the JDBC templates are counted alike, a batch counts as one statement
+ * because it is sent in one round trip.
+ */
+public class CountingDataSource extends DelegatingDataSource {
+
+    /**
+     * Instantiates a new Counting data source.
+     *
+     * @param targetDataSource the target data source
+     */
+    public CountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countingConnection(super.getConnection(username, password));
+    }
+
+    /**
+     * Wraps the connection so its statements are counted.
+     *
+     * @param connection the connection
+     * @return the counting connection
+     */
+    private static Connection countingConnection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof CallableStatement) {
+                return countingStatement(CallableStatement.class, (Statement) result, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement) {
+                return countingStatement(PreparedStatement.class, (Statement) result, (String) args[0]);
+            }
+            if (result instanceof Statement) {
+                return countingStatement(Statement.class, (Statement) result, null);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Wraps the statement so its executions are recorded.
+     *
+     * @param type      the interface of the statement
+     * @param statement the statement
+     * @param sql       the sql of a prepared statement, null for a plain statement
+     * @param <T>       the type of the statement
+     * @return the counting statement
+     */
+    private static <T extends Statement> T countingStatement(Class<T> type, Statement statement, String sql) {
+        return proxy(type, statement, (target, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                String executed = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+                StatementLog.record(method.getName().equals("executeBatch") ? "batch: " + executed : executed);
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    /**
+     * Creates a proxy of the interface delegating to the target.
+     *
+     * @param type    the interface
+     * @param target  the target
+     * @param handler the handler of the calls
+     * @param <T>     the type of the interface
+     * @return the proxy
+     */
+    private static <T> T proxy(Class<T> type, Object target, TargetInvocationHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.invoke(target, method, args);
+        return type.cast(Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, invocationHandler));
+    }
+
+    /**
+     * Invokes the method on the target, rethrowing the exception of the method itself.
+     *
+     * @param target the target
+     * @param method the method
+     * @param args   the arguments
+     * @return the result
+     * @throws Throwable the exception of the method
+     */
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * The handler of a call of a proxy with its target.
+     */
+    private interface TargetInvocationHandler {
+
+        /**
+         * Handles the call.
+         *
+         * @param target the target
+         * @param method the method
+         * @param args   the arguments
+         * @return the result
+         * @throws Throwable the exception of the call
+         */
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
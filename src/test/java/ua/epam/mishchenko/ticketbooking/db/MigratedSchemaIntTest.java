@@ -0,0 +1,37 @@
+package ua.epam.mishchenko.ticketbooking.db;
+
+import org.flywaydb.core.Flyway;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@TestPropertySource(properties = {"spring.config.location = classpath:application-test.yml"})
+public class MigratedSchemaIntTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void contextShouldValidateMappingAgainstMigratedSchema() {
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    @Test
+    public void ticketsShouldBePartitionedTable() {
+        String kind = jdbcTemplate.queryForObject(
+                "select relkind::text from pg_class where relname = 'tickets'", String.class);
+
+        assertEquals("p", kind);
+    }
+}
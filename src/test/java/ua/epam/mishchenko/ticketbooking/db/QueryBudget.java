@@ -0,0 +1,72 @@
+package ua.epam.mishchenko.ticketbooking.db;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.junit.Assert.fail;
+
+/**
+ * The assertions of the number of statements of a request. The second-level cache is evicted before the
+ * request, so the budget holds for a cold cache and an N+1 select can not hide behind cached entities.
+ * Needs the {@link QueryBudgetConfig} in the context of the test.
+ */
+public class QueryBudget {
+
+    /**
+     * The mock mvc.
+     */
+    private final MockMvc mockMvc;
+
+    /**
+     * The entity manager factory.
+     */
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Instantiates a new Query budget.
+     *
+     * @param mockMvc              the mock mvc
+     * @param entityManagerFactory the entity manager factory
+     */
+    public QueryBudget(MockMvc mockMvc, EntityManagerFactory entityManagerFactory) {
+        this.mockMvc = mockMvc;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Performs the request and fails if it executes more statements than the budget.
+     *
+     * @param request       the request
+     * @param maxStatements the budget
+     * @return the result actions of the request
+     * @throws Exception if the request fails
+     */
+    public ResultActions perform(MockHttpServletRequestBuilder request, int maxStatements) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        StatementLog.reset();
+        ResultActions result = mockMvc.perform(request);
+        assertAtMost(maxStatements);
+        return result;
+    }
+
+    /**
+     * Fails if the current thread executed more statements than the budget since the last reset.
+     *
+     * @param maxStatements the budget
+     */
+    public static void assertAtMost(int maxStatements) {
+        List<String> statements = StatementLog.getStatements();
+        if (statements.size() > maxStatements) {
+            StringBuilder message = new StringBuilder()
+                    .append(statements.size()).append(" statements executed, the budget is ").append(maxStatements);
+            for (String statement : statements) {
+                message.append(System.lineSeparator()).append("  ").append(statement);
+            }
+            fail(message.toString());
+        }
+    }
+}
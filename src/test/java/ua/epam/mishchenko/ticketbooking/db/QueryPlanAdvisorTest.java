@@ -0,0 +1,96 @@
+package ua.epam.mishchenko.ticketbooking.db;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import ua.epam.mishchenko.ticketbooking.repository.EventRepository;
+import ua.epam.mishchenko.ticketbooking.repository.LedgerEntryRepository;
+import ua.epam.mishchenko.ticketbooking.repository.TicketRepository;
+import ua.epam.mishchenko.ticketbooking.repository.UserAccountRepository;
+import ua.epam.mishchenko.ticketbooking.repository.UserRepository;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class QueryPlanAdvisorTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private QueryPlanAdvisor queryPlanAdvisor;
+
+    @Before
+    public void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        queryPlanAdvisor = new QueryPlanAdvisor(jdbcTemplate, transactionManager,
+                mock(TicketRepository.class), mock(EventRepository.class), mock(UserRepository.class),
+                mock(UserAccountRepository.class), mock(LedgerEntryRepository.class), false);
+    }
+
+    @Test
+    public void findSeqScansWithNestedSeqScanShouldReturnItsTable() {
+        String plan = "[{\"Plan\": {\"Node Type\": \"Limit\", \"Plans\": [" +
+                "{\"Node Type\": \"Seq Scan\", \"Relation Name\": \"tickets\", \"Alias\": \"t\"}]}}]";
+
+        assertEquals(Collections.singletonList("tickets"), queryPlanAdvisor.findSeqScans(plan));
+    }
+
+    @Test
+    public void findSeqScansWithIndexOnlyScanShouldReturnEmptyList() {
+        String plan = "[{\"Plan\": {\"Node Type\": \"Limit\", \"Plans\": [" +
+                "{\"Node Type\": \"Index Only Scan\", \"Relation Name\": \"tickets\", " +
+                "\"Index Name\": \"ix_tickets_user_id\"}]}}]";
+
+        assertTrue(queryPlanAdvisor.findSeqScans(plan).isEmpty());
+    }
+
+    @Test
+    public void toPositionalParametersShouldNumberParametersInOrder() {
+        String sql = "select t.id from tickets t where t.user_id=? and t.id>? order by t.id limit ?";
+
+        assertEquals("select t.id from tickets t where t.user_id=$1 and t.id>$2 order by t.id limit $3",
+                QueryPlanAdvisor.toPositionalParameters(sql));
+    }
+
+    @Test
+    public void explainShouldDeallocatePreparedStatement() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class))).thenReturn("[]");
+
+        assertEquals("[]", queryPlanAdvisor.explain("select t.id from tickets t where t.user_id=?"));
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute(startsWith("PREPARE "));
+        inOrder.verify(jdbcTemplate).queryForObject(startsWith("EXPLAIN "), eq(String.class));
+        inOrder.verify(jdbcTemplate).execute(startsWith("DEALLOCATE "));
+    }
+
+    @Test
+    public void explainWhichFailsShouldDeallocatePreparedStatementAfterRollbackToSavepoint() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class)))
+                .thenThrow(new DataAccessResourceFailureException("canceling statement due to statement timeout"));
+
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> queryPlanAdvisor.explain("select t.id from tickets t where t.user_id=?"));
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute(startsWith("PREPARE "));
+        inOrder.verify(jdbcTemplate).execute(startsWith("SAVEPOINT "));
+        inOrder.verify(jdbcTemplate).execute(startsWith("ROLLBACK TO SAVEPOINT "));
+        inOrder.verify(jdbcTemplate).execute(startsWith("DEALLOCATE "));
+    }
+}
@@ -0,0 +1,53 @@
+package ua.epam.mishchenko.ticketbooking.db;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The log of the JDBC statements executed by the current thread, filled by {@link CountingDataSource}.
+ * A MockMvc request runs in the thread of the test, so the log of a test holds the statements of its requests.
+ */
+public final class StatementLog {
+
+    /**
+     * The statements executed by the current thread since the last reset.
+     */
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    private StatementLog() {
+    }
+
+    /**
+     * Records the executed statement.
+     *
+     * @param sql the sql
+     */
+    static void record(String sql) {
+        STATEMENTS.get().add(sql);
+    }
+
+    /**
+     * Clears the log of the current thread.
+     */
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    /**
+     * Gets the statements executed by the current thread since the last reset.
+     *
+     * @return the statements
+     */
+    public static List<String> getStatements() {
+        return new ArrayList<>(STATEMENTS.get());
+    }
+
+    /**
+     * Gets the number of statements executed by the current thread since the last reset.
+     *
+     * @return the statement count
+     */
+    public static int getCount() {
+        return STATEMENTS.get().size();
+    }
+}
@@ -0,0 +1,59 @@
+package ua.epam.mishchenko.ticketbooking.db;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TicketPartitionMaintainerTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TicketPartitionMaintainer ticketPartitionMaintainer;
+
+    @Before
+    public void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        ticketPartitionMaintainer = new TicketPartitionMaintainer(jdbcTemplate, 10000);
+    }
+
+    @Test
+    public void ensurePartitionsShouldReturnNumberOfCreatedPartitions() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq(10000L))).thenReturn(2);
+
+        assertEquals(2, ticketPartitionMaintainer.ensurePartitions());
+    }
+
+    @Test
+    public void ensurePartitionsWithExceptionShouldReturnZero() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq(10000L)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        assertEquals(0, ticketPartitionMaintainer.ensurePartitions());
+    }
+
+    @Test
+    public void archivePartitionsBeforeShouldReturnDetachedPartitions() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(20000L)))
+                .thenReturn(Collections.singletonList("tickets_p0"));
+
+        assertEquals(Collections.singletonList("tickets_p0"), ticketPartitionMaintainer.archivePartitionsBefore(20000L));
+    }
+
+    @Test
+    public void archivePartitionsBeforeWithExceptionShouldReturnEmptyList() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(20000L)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        assertTrue(ticketPartitionMaintainer.archivePartitionsBefore(20000L).isEmpty());
+    }
+}
@@ -1,5 +1,6 @@
 package ua.epam.mishchenko.ticketbooking.facade.impl;
 
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,12 +8,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.junit4.SpringRunner;
+import ua.epam.mishchenko.ticketbooking.ledger.WalletLedger;
 import ua.epam.mishchenko.ticketbooking.model.Category;
 import ua.epam.mishchenko.ticketbooking.model.Event;
 import ua.epam.mishchenko.ticketbooking.model.Ticket;
 import ua.epam.mishchenko.ticketbooking.model.User;
 import ua.epam.mishchenko.ticketbooking.model.UserAccount;
-import ua.epam.mishchenko.ticketbooking.repository.UserAccountRepository;
 
 import java.math.BigDecimal;
 import java.util.Date;
@@ -34,10 +35,16 @@ public class BookingFacadeImplTest {
     private BookingFacadeImpl bookingFacade;
 
     @Autowired
-    private UserAccountRepository userAccountRepository;
+    private WalletLedger walletLedger;
+
+    @Before
+    public void evictBalances() {
+        walletLedger.evictBalances();
+    }
 
     @Test
-    public void createUserThenCreateEventThenBookTicketForThisEventForUserAndThenCancelItShouldBeOk() {
+    public void createUserThenCreateEventThenBookTicketForThisEventForUserAndThenCancelItShouldBeOk()
+            throws InterruptedException {
         User user = new User("Andrii", "andrii@gmail.com");
         Event event = new Event("Integration Event", new Date(System.currentTimeMillis()), BigDecimal.valueOf(250));
         int place = 10;
@@ -52,11 +59,12 @@ public class BookingFacadeImplTest {
 
         UserAccount userAccount = bookingFacade.refillUserAccount(user.getId(), BigDecimal.valueOf(500));
 
-        assertEquals(BigDecimal.valueOf(500), userAccount.getMoney());
+        assertNotNull(userAccount);
+        assertEquals(500, bookingFacade.getUserAccountBalance(user.getId()).intValue());
 
         Ticket ticket = bookingFacade.bookTicket(user.getId(), event.getId(), place, Category.STANDARD);
 
-        assertEquals(250, userAccountRepository.findById(user.getId()).get().getMoney().intValue());
+        assertEquals(250, bookingFacade.getUserAccountBalance(user.getId()).intValue());
 
         List<Ticket> bookedTicketsByUserBeforeCanceling = bookingFacade.getBookedTickets(user, 1, 1);
         List<Ticket> bookedTicketsByEventBeforeCanceling = bookingFacade.getBookedTickets(event, 1, 1);
@@ -66,6 +74,8 @@ public class BookingFacadeImplTest {
 
         bookingFacade.cancelTicket(ticket.getId());
 
+        assertEquals(500, awaitBalance(user.getId(), 500));
+
         List<Ticket> bookedTicketsByUserAfterCanceling = bookingFacade.getBookedTickets(user, 1, 1);
         List<Ticket> bookedTicketsByEventAfterCanceling = bookingFacade.getBookedTickets(event, 1, 1);
 
@@ -84,17 +94,23 @@ public class BookingFacadeImplTest {
         UserAccount userAccount = bookingFacade.refillUserAccount(userId, money);
 
         assertEquals(Long.valueOf(userId), userAccount.getUser().getId());
-        assertEquals(money, userAccount.getMoney());
+        assertEquals(money.intValue(), bookingFacade.getUserAccountBalance(userId).intValue());
 
         Ticket ticket = bookingFacade.bookTicket(userId, eventId, place, category);
 
         assertNotNull(ticket);
         assertEquals(Long.valueOf(userId), ticket.getUser().getId());
 
-        User userById = bookingFacade.getUserById(userId);
-
-        assertEquals(userAccount.getMoney().subtract(ticket.getEvent().getTicketPrice()),
-                userById.getUserAccount().getMoney());
+        assertEquals(money.subtract(ticket.getEvent().getTicketPrice()).intValue(),
+                bookingFacade.getUserAccountBalance(userId).intValue());
     }
 
+    private int awaitBalance(long userId, int expectedBalance) throws InterruptedException {
+        int balance = bookingFacade.getUserAccountBalance(userId).intValue();
+        for (int attempt = 0; attempt < 50 && balance != expectedBalance; attempt++) {
+            Thread.sleep(100);
+            balance = bookingFacade.getUserAccountBalance(userId).intValue();
+        }
+        return balance;
+    }
 }
\ No newline at end of file
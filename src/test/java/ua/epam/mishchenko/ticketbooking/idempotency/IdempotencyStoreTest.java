@@ -0,0 +1,104 @@
+package ua.epam.mishchenko.ticketbooking.idempotency;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import ua.epam.mishchenko.ticketbooking.model.IdempotencyKey;
+import ua.epam.mishchenko.ticketbooking.repository.IdempotencyKeyRepository;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IdempotencyStoreTest {
+
+    private IdempotencyStore idempotencyStore;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(idempotencyKeyRepository.save(any(IdempotencyKey.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        idempotencyStore = new IdempotencyStore(idempotencyKeyRepository, transactionManager, 2, 60);
+    }
+
+    @Test
+    public void findResourceIdWithNullKeyShouldReturnNull() {
+        assertNull(idempotencyStore.findResourceId(null, IdempotentOperation.BOOK_TICKET, 1L));
+
+        verify(idempotencyKeyRepository, never()).findById(anyString());
+    }
+
+    @Test
+    public void findResourceIdOfSavedKeyShouldNotQueryRepository() {
+        idempotencyStore.save("key", IdempotentOperation.BOOK_TICKET, 1L, 7L);
+
+        assertEquals(Long.valueOf(7L), idempotencyStore.findResourceId("key", IdempotentOperation.BOOK_TICKET, 1L));
+
+        verify(idempotencyKeyRepository, never()).findById(anyString());
+    }
+
+    @Test
+    public void findResourceIdOfEvictedKeyShouldLoadItFromRepository() {
+        when(idempotencyKeyRepository.findById("key")).thenReturn(Optional.of(
+                new IdempotencyKey("key", IdempotentOperation.REFILL_ACCOUNT, 1L, 3L, new Date(),
+                        new Date(System.currentTimeMillis() + 60000))));
+
+        assertEquals(Long.valueOf(3L), idempotencyStore.findResourceId("key", IdempotentOperation.REFILL_ACCOUNT, 1L));
+        assertEquals(Long.valueOf(3L), idempotencyStore.findResourceId("key", IdempotentOperation.REFILL_ACCOUNT, 1L));
+
+        verify(idempotencyKeyRepository, times(1)).findById("key");
+    }
+
+    @Test
+    public void purgeExpiredShouldDeleteExpiredKeysAndEvictThemFromCache() {
+        Date now = new Date();
+        when(idempotencyKeyRepository.findById("key")).thenReturn(Optional.of(
+                new IdempotencyKey("key", IdempotentOperation.BOOK_TICKET, 1L, 7L,
+                        new Date(now.getTime() - 120000), new Date(now.getTime() - 60000))));
+        idempotencyStore.findResourceId("key", IdempotentOperation.BOOK_TICKET, 1L);
+        when(idempotencyKeyRepository.deleteExpired(any(Date.class))).thenReturn(1);
+
+        idempotencyStore.purgeExpired();
+        idempotencyStore.findResourceId("key", IdempotentOperation.BOOK_TICKET, 1L);
+
+        verify(idempotencyKeyRepository).deleteExpired(any(Date.class));
+        verify(idempotencyKeyRepository, times(2)).findById("key");
+    }
+
+    @Test
+    public void findResourceIdOfKeyUsedByAnotherUserShouldThrowException() {
+        idempotencyStore.save("key", IdempotentOperation.BOOK_TICKET, 1L, 7L);
+
+        assertThrows(RuntimeException.class,
+                () -> idempotencyStore.findResourceId("key", IdempotentOperation.BOOK_TICKET, 2L));
+    }
+
+    @Test
+    public void saveWithTooLongKeyShouldThrowException() {
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i <= IdempotencyStore.MAX_KEY_LENGTH; i++) {
+            key.append('k');
+        }
+
+        assertThrows(RuntimeException.class,
+                () -> idempotencyStore.save(key.toString(), IdempotentOperation.BOOK_TICKET, 1L, 7L));
+    }
+}
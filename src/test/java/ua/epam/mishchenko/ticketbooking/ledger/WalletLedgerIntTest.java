@@ -0,0 +1,232 @@
+package ua.epam.mishchenko.ticketbooking.ledger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.epam.mishchenko.ticketbooking.model.LedgerEntryType;
+import ua.epam.mishchenko.ticketbooking.model.Money;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@TestPropertySource(properties = {"spring.config.location = classpath:application-test.yml"})
+@Sql(value = {"classpath:sql/clear-database.sql", "classpath:sql/insert-data.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"classpath:sql/clear-database.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class WalletLedgerIntTest {
+
+    @Autowired
+    private WalletLedger walletLedger;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Before
+    public void setUp() {
+        walletLedger.evictBalances();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    public void snapshotShouldFoldTailAndMovePositionToLastEntry() {
+        credit(1L, 200);
+        credit(1L, 50);
+        Long lastEntryId = jdbcTemplate.queryForObject(
+                "select max(id) from ledger_entries where user_id = 1", Long.class);
+
+        walletLedger.snapshot();
+
+        assertEquals(lastEntryId, jdbcTemplate.queryForObject(
+                "select ledger_position from user_accounts where user_id = 1", Long.class));
+        assertEquals(0, BigDecimal.valueOf(1250).compareTo(jdbcTemplate.queryForObject(
+                "select money from user_accounts where user_id = 1", BigDecimal.class)));
+        assertEquals(Money.of(BigDecimal.valueOf(1250)), walletLedger.getBalance(1L));
+    }
+
+    @Test
+    public void debitAboveBalanceShouldBeRejected() {
+        boolean rejected = false;
+        try {
+            debit(1L, 1500);
+        } catch (RuntimeException e) {
+            rejected = true;
+        }
+
+        assertTrue(rejected);
+        assertEquals(0, countLedgerEntries(1L));
+        assertEquals(Money.of(BigDecimal.valueOf(1000)), walletLedger.getBalance(1L));
+    }
+
+    @Test
+    public void concurrentDebitsExceedingBalanceShouldLetExactlyOneSucceed() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch firstDebited = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        try {
+            Future<?> first = executor.submit(() -> {
+                try {
+                    transactionTemplate.execute(status -> {
+                        walletLedger.debit(1L, Money.of(BigDecimal.valueOf(700)), LedgerEntryType.BOOKING);
+                        firstDebited.countDown();
+                        sleep(200);
+                        return null;
+                    });
+                    succeeded.incrementAndGet();
+                } catch (RuntimeException e) {
+                    firstDebited.countDown();
+                }
+            });
+            Future<?> second = executor.submit(() -> {
+                try {
+                    firstDebited.await(5, TimeUnit.SECONDS);
+                    debit(1L, 700);
+                    succeeded.incrementAndGet();
+                } catch (InterruptedException | RuntimeException e) {
+                    // the second debit is expected to be rejected
+                }
+            });
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, succeeded.get());
+        assertEquals(1, countLedgerEntries(1L));
+        assertEquals(Money.of(BigDecimal.valueOf(300)), walletLedger.getBalance(1L));
+    }
+
+    @Test
+    public void appendsShouldChainPositionsAndBalances() {
+        credit(1L, 200);
+        debit(1L, 700);
+
+        assertEquals(Arrays.asList(1L, 2L), jdbcTemplate.queryForList(
+                "select seq from ledger_entries where user_id = 1 order by id", Long.class));
+        assertEquals(0, BigDecimal.valueOf(500).compareTo(jdbcTemplate.queryForObject(
+                "select balance from ledger_entries where user_id = 1 and seq = 2", BigDecimal.class)));
+    }
+
+    @Test
+    public void concurrentCreditsShouldBothBeAppended() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch firstCredited = new CountDownLatch(1);
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.execute(status -> {
+                walletLedger.credit(1L, Money.of(BigDecimal.valueOf(100)), LedgerEntryType.REFILL);
+                firstCredited.countDown();
+                sleep(200);
+                return null;
+            }));
+            Future<?> second = executor.submit(() -> {
+                firstCredited.await(5, TimeUnit.SECONDS);
+                credit(1L, 50);
+                return null;
+            });
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, countLedgerEntries(1L));
+        assertEquals(Money.of(BigDecimal.valueOf(1150)), walletLedger.getBalance(1L));
+    }
+
+    @Test
+    public void rolledBackAppendShouldNotChangeCachedBalance() {
+        assertEquals(Money.of(BigDecimal.valueOf(1000)), walletLedger.getBalance(1L));
+
+        transactionTemplate.execute(status -> {
+            walletLedger.credit(1L, Money.of(BigDecimal.valueOf(500)), LedgerEntryType.REFILL);
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertEquals(Money.of(BigDecimal.valueOf(1000)), walletLedger.getBalance(1L));
+        assertEquals(0, countLedgerEntries(1L));
+    }
+
+    @Test
+    public void committedAppendShouldUpdateCachedBalance() {
+        assertEquals(Money.of(BigDecimal.valueOf(1000)), walletLedger.getBalance(1L));
+
+        credit(1L, 500);
+
+        assertEquals(Money.of(BigDecimal.valueOf(1500)), walletLedger.getBalance(1L));
+    }
+
+    @Test
+    public void snapshotShouldNotWaitForUncommittedAppend() throws Exception {
+        credit(1L, 200);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            transactionTemplate.execute(status -> {
+                walletLedger.debit(1L, Money.of(BigDecimal.valueOf(100)), LedgerEntryType.BOOKING);
+                try {
+                    executor.submit(() -> walletLedger.snapshot()).get(10, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                return null;
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, BigDecimal.valueOf(1200).compareTo(jdbcTemplate.queryForObject(
+                "select money from user_accounts where user_id = 1", BigDecimal.class)));
+        assertEquals(Money.of(BigDecimal.valueOf(1100)), walletLedger.getBalance(1L));
+    }
+
+    private void credit(long userId, int amount) {
+        transactionTemplate.execute(status -> {
+            walletLedger.credit(userId, Money.of(BigDecimal.valueOf(amount)), LedgerEntryType.REFILL);
+            return null;
+        });
+    }
+
+    private void debit(long userId, int amount) {
+        transactionTemplate.execute(status -> {
+            walletLedger.debit(userId, Money.of(BigDecimal.valueOf(amount)), LedgerEntryType.BOOKING);
+            return null;
+        });
+    }
+
+    private int countLedgerEntries(long userId) {
+        return jdbcTemplate.queryForObject("select count(*) from ledger_entries where user_id = ?",
+                Integer.class, userId);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ua.epam.mishchenko.ticketbooking.model;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class MoneyTest {
+
+    @Test
+    public void ofShouldConvertDecimalToMinorUnits() {
+        assertEquals(12550, Money.of(new BigDecimal("125.5")).getMinorUnits());
+        assertEquals(Money.of(BigDecimal.valueOf(250)), Money.of(new BigDecimal("250.00")));
+    }
+
+    @Test
+    public void ofWithMoreThanTwoFractionDigitsShouldThrowException() {
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1.005")));
+    }
+
+    @Test
+    public void arithmeticShouldBeExact() {
+        Money price = Money.of(new BigDecimal("10.25"));
+
+        assertEquals(Money.ofMinor(4100), price.times(4));
+        assertEquals(Money.ofMinor(975), Money.ofMinor(2000).minus(price));
+        assertEquals(Money.ofMinor(-1025), price.negate());
+        assertTrue(price.isLessThan(price.times(2)));
+        assertFalse(Money.ZERO.isPositive());
+    }
+
+    @Test
+    public void toBigDecimalShouldHaveTwoFractionDigits() {
+        assertEquals(new BigDecimal("10.00"), Money.ofMinor(1000).toBigDecimal());
+    }
+
+    @Test
+    public void timesOnOverflowShouldThrowException() {
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE).times(2));
+    }
+}
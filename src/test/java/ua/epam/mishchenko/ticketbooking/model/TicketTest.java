@@ -0,0 +1,65 @@
+package ua.epam.mishchenko.ticketbooking.model;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class TicketTest {
+
+    @Test
+    public void ticketsWithSameValuesShouldBeEqual() {
+        Ticket ticket = new Ticket(1L, new User(2L, "Alan", "alan@gmail.com"),
+                new Event(3L, "Title", new Date(), BigDecimal.TEN), 10, Category.BAR, Money.ZERO);
+        Ticket sameTicket = new Ticket(1L, new User(2L, "Alan", "alan@gmail.com"),
+                new Event(3L, "Title", new Date(), BigDecimal.TEN), 10, Category.BAR, Money.ZERO);
+
+        assertEquals(ticket, sameTicket);
+        assertEquals(ticket.hashCode(), sameTicket.hashCode());
+    }
+
+    @Test
+    public void ticketWithUninitializedUserShouldEqualTicketWithLoadedUser() {
+        Event event = new Event(3L, "Title", new Date(), BigDecimal.TEN);
+        Ticket ticket = new Ticket(1L, new UninitializedUser(2L), event, 10, Category.BAR, Money.ZERO);
+        Ticket loadedTicket = new Ticket(1L, new User(2L, "Alan", "alan@gmail.com"), event, 10, Category.BAR,
+                Money.ZERO);
+
+        assertEquals(ticket, loadedTicket);
+        assertEquals(ticket.hashCode(), loadedTicket.hashCode());
+    }
+
+    @Test
+    public void ticketsOfDifferentEventsShouldNotBeEqual() {
+        User user = new User(2L, "Alan", "alan@gmail.com");
+        Ticket ticket = new Ticket(1L, user, new Event(3L, "Title", new Date(), BigDecimal.TEN), 10, Category.BAR,
+                Money.ZERO);
+        Ticket otherTicket = new Ticket(1L, user, new Event(4L, "Title", new Date(), BigDecimal.TEN), 10,
+                Category.BAR, Money.ZERO);
+
+        assertNotEquals(ticket, otherTicket);
+    }
+
+    /**
+     * A user which knows only its id, like an uninitialized proxy outside of a session.
+     */
+    private static class UninitializedUser extends User {
+
+        UninitializedUser(Long id) {
+            setId(id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            throw new IllegalStateException("could not initialize proxy - no Session");
+        }
+
+        @Override
+        public int hashCode() {
+            throw new IllegalStateException("could not initialize proxy - no Session");
+        }
+    }
+}
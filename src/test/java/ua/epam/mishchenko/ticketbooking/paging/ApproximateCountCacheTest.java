@@ -0,0 +1,41 @@
+package ua.epam.mishchenko.ticketbooking.paging;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+public class ApproximateCountCacheTest {
+
+    @Test
+    public void getWithCachedTotalShouldNotCountAgain() {
+        ApproximateCountCache cache = new ApproximateCountCache(60000, 10);
+        AtomicLong counts = new AtomicLong();
+
+        assertEquals(1, cache.get("events.title", "Title", counts::incrementAndGet));
+        assertEquals(1, cache.get("events.title", "Title", counts::incrementAndGet));
+        assertEquals(1, counts.get());
+    }
+
+    @Test
+    public void getWithOtherFilterShouldCountAgain() {
+        ApproximateCountCache cache = new ApproximateCountCache(60000, 10);
+        AtomicLong counts = new AtomicLong();
+
+        cache.get("events.title", "First", counts::incrementAndGet);
+        cache.get("events.title", "Second", counts::incrementAndGet);
+
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    public void getWithExpiredTotalShouldCountAgain() {
+        ApproximateCountCache cache = new ApproximateCountCache(0, 10);
+        AtomicLong counts = new AtomicLong();
+
+        cache.get("users.name", "Name", counts::incrementAndGet);
+
+        assertEquals(2, cache.get("users.name", "Name", counts::incrementAndGet));
+    }
+}
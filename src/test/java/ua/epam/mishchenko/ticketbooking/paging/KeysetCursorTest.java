@@ -0,0 +1,50 @@
+package ua.epam.mishchenko.ticketbooking.paging;
+
+import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+public class KeysetCursorTest {
+
+    @Test
+    public void decodeShouldReturnEncodedId() {
+        assertEquals(123456789L, KeysetCursor.decode(KeysetCursor.encode(123456789L)));
+    }
+
+    @Test
+    public void decodeWithNullOrEmptyCursorShouldReturnFirst() {
+        assertEquals(KeysetCursor.FIRST, KeysetCursor.decode(null));
+        assertEquals(KeysetCursor.FIRST, KeysetCursor.decode(""));
+    }
+
+    @Test
+    public void decodeWithMalformedCursorShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("djE6YWJj"));
+    }
+
+    @Test
+    public void cursorSliceOfSliceWithNextShouldHaveCursorOfLastId() {
+        CursorSlice<Long> page = CursorSlice.of(new SliceImpl<>(Arrays.asList(3L, 7L), PageRequest.of(0, 2), true),
+                Long::longValue);
+
+        assertEquals(Arrays.asList(3L, 7L), page.getContent());
+        assertEquals(7L, KeysetCursor.decode(page.getNext()));
+    }
+
+    @Test
+    public void cursorSliceOfLastSliceShouldNotHaveNext() {
+        CursorSlice<Long> page = CursorSlice.of(new SliceImpl<>(Arrays.asList(3L, 7L), PageRequest.of(0, 2), false),
+                Long::longValue);
+
+        assertFalse(page.hasNext());
+        assertNull(page.getNext());
+    }
+}
@@ -0,0 +1,61 @@
+package ua.epam.mishchenko.ticketbooking.refill;
+
+import org.junit.Test;
+import ua.epam.mishchenko.ticketbooking.model.Money;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+public class RefillRecordReaderTest {
+
+    @Test
+    public void csvShouldSkipHeaderAndRejectInvalidLines() {
+        RefillRecordReader reader = RefillRecordReader.csv(input(
+                "userId,amount\n1,10.50\n\n2,abc\n3,-5\n4,1.005\n5, 20 \n"));
+
+        RefillRecord first = reader.next();
+        RefillRecord second = reader.next();
+
+        assertEquals(1L, first.getUserId());
+        assertEquals(Money.of(new BigDecimal("10.50")), first.getAmount());
+        assertEquals(5L, second.getUserId());
+        assertEquals(Money.of(BigDecimal.valueOf(20)), second.getAmount());
+        assertNull(reader.next());
+        assertEquals(3, reader.getRejected());
+    }
+
+    @Test
+    public void jsonShouldReadArrayOfRecords() {
+        RefillRecordReader reader = RefillRecordReader.json(input(
+                "[{\"userId\": 1, \"amount\": 10.5}, {\"amount\": 3}, {\"userId\": 2, \"amount\": \"7.25\", " +
+                        "\"comment\": {\"promo\": true}}]"));
+
+        RefillRecord first = reader.next();
+        RefillRecord second = reader.next();
+
+        assertEquals(1L, first.getUserId());
+        assertEquals(Money.ofMinor(1050), first.getAmount());
+        assertEquals(2L, second.getUserId());
+        assertEquals(Money.ofMinor(725), second.getAmount());
+        assertNull(reader.next());
+        assertEquals(1, reader.getRejected());
+    }
+
+    @Test
+    public void jsonWhichIsNotArrayShouldThrowException() {
+        RefillRecordReader reader = RefillRecordReader.json(input("{\"userId\": 1}"));
+
+        assertThrows(UncheckedIOException.class, reader::next);
+    }
+
+    private InputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
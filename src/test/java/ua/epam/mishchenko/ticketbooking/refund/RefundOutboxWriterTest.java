@@ -0,0 +1,107 @@
+package ua.epam.mishchenko.ticketbooking.refund;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import ua.epam.mishchenko.ticketbooking.ledger.WalletLedger;
+import ua.epam.mishchenko.ticketbooking.model.LedgerEntryType;
+import ua.epam.mishchenko.ticketbooking.model.Money;
+import ua.epam.mishchenko.ticketbooking.model.RefundOutboxEntry;
+import ua.epam.mishchenko.ticketbooking.repository.RefundOutboxRepository;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RefundOutboxWriterTest {
+
+    private RefundOutboxWriter refundOutboxWriter;
+
+    @Mock
+    private RefundOutboxRepository refundOutboxRepository;
+
+    @Mock
+    private WalletLedger walletLedger;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        refundOutboxWriter = new RefundOutboxWriter(refundOutboxRepository, walletLedger, transactionManager,
+                16, 16, 1000, 3);
+    }
+
+    @After
+    public void tearDown() {
+        refundOutboxWriter.shutdown();
+    }
+
+    @Test
+    public void applyShouldCreditEveryUserOnceForAllRefundsOfTheBatch() {
+        when(refundOutboxRepository.findAllById(any())).thenReturn(Arrays.asList(
+                refund(1L, 1L, 10), refund(2L, 2L, 5), refund(3L, 1L, 20)));
+        when(refundOutboxRepository.deleteByIds(Arrays.asList(1L, 3L))).thenReturn(2);
+        when(refundOutboxRepository.deleteByIds(Collections.singletonList(2L))).thenReturn(1);
+
+        refundOutboxWriter.apply(Arrays.asList(1L, 2L, 3L));
+
+        verify(walletLedger, times(1)).credit(1L, Money.of(BigDecimal.valueOf(30)), LedgerEntryType.CANCELLATION);
+        verify(walletLedger, times(1)).credit(2L, Money.of(BigDecimal.valueOf(5)), LedgerEntryType.CANCELLATION);
+    }
+
+    @Test
+    public void applyIfRefundsAlreadyCreditedShouldNotCreditAgain() {
+        when(refundOutboxRepository.findAllById(any())).thenReturn(Collections.singletonList(refund(1L, 1L, 10)));
+        when(refundOutboxRepository.deleteByIds(anyCollection())).thenReturn(0);
+
+        refundOutboxWriter.apply(Collections.singletonList(1L));
+
+        verify(walletLedger, never()).credit(anyLong(), any(), eq(LedgerEntryType.CANCELLATION));
+    }
+
+    @Test
+    public void applyIfCreditFailsShouldCountFailedAttempt() {
+        when(refundOutboxRepository.findAllById(any())).thenReturn(Collections.singletonList(refund(1L, 1L, 10)));
+        when(refundOutboxRepository.deleteByIds(anyCollection())).thenReturn(1);
+        doThrow(new RuntimeException("Can not to find a user account by user id: 1"))
+                .when(walletLedger).credit(anyLong(), any(), eq(LedgerEntryType.CANCELLATION));
+
+        refundOutboxWriter.apply(Collections.singletonList(1L));
+
+        verify(refundOutboxRepository).incrementAttempts(Collections.singletonList(1L));
+    }
+
+    @Test
+    public void recoverShouldQueueOnlyRefundsWhichAreNotDeadLetters() {
+        when(refundOutboxRepository.findIdsCreatedBefore(any(Date.class), anyInt()))
+                .thenReturn(Collections.emptyList());
+
+        refundOutboxWriter.recover();
+
+        verify(refundOutboxRepository).findIdsCreatedBefore(any(Date.class), eq(3));
+    }
+
+    private RefundOutboxEntry refund(Long id, Long userId, int amount) {
+        RefundOutboxEntry refund = new RefundOutboxEntry(id, userId, Money.of(BigDecimal.valueOf(amount)), new Date());
+        refund.setId(id);
+        return refund;
+    }
+}
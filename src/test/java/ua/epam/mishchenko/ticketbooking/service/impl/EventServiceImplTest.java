@@ -7,16 +7,24 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.test.context.junit4.SpringRunner;
 import ua.epam.mishchenko.ticketbooking.model.Event;
+import ua.epam.mishchenko.ticketbooking.paging.CursorSlice;
+import ua.epam.mishchenko.ticketbooking.paging.KeysetCursor;
 import ua.epam.mishchenko.ticketbooking.repository.EventRepository;
+import ua.epam.mishchenko.ticketbooking.repository.projection.EventSummary;
 
 import java.math.BigDecimal;
 import java.text.ParseException;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
@@ -94,6 +102,31 @@ public class EventServiceImplTest {
         assertTrue(actualEventsByTitle.isEmpty());
     }
 
+    @Test
+    public void getEventsByTitleAfterCursorShouldSeekFromCursorId() throws ParseException {
+        String title = "Third event";
+        List<EventSummary> content = Arrays.asList(
+                createEventSummary(3L, title, DATE_FORMATTER.parse("16-05-2022 12:00")),
+                createEventSummary(5L, title, DATE_FORMATTER.parse("25-05-2022 9:10"))
+        );
+
+        when(eventRepository.getAllByTitleAndIdGreaterThanOrderById(any(Pageable.class), eq(title), eq(2L)))
+                .thenReturn(new SliceImpl<>(content, PageRequest.of(0, 2), true));
+
+        CursorSlice<EventSummary> actualEvents = eventService.getEventsByTitle(title, 2, KeysetCursor.encode(2L));
+
+        assertEquals(content, actualEvents.getContent());
+        assertEquals(5L, KeysetCursor.decode(actualEvents.getNext()));
+    }
+
+    @Test
+    public void getEventsByTitleWithMalformedCursorShouldReturnEmptySlice() {
+        CursorSlice<EventSummary> actualEvents = eventService.getEventsByTitle("Third event", 2, "malformed");
+
+        assertTrue(actualEvents.isEmpty());
+        assertFalse(actualEvents.hasNext());
+    }
+
     @Test
     public void getEventsForDayWithExistsDayShouldBeOk() throws ParseException {
         Date day = DATE_FORMATTER.parse("15-05-2022 21:00");
@@ -198,4 +231,12 @@ public class EventServiceImplTest {
 
         assertFalse(actualIsDeleted);
     }
-}
\ No newline at end of file
+
+    private EventSummary createEventSummary(Long id, String title, Date date) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("id", id);
+        event.put("title", title);
+        event.put("date", date);
+        return new SpelAwareProxyProjectionFactory().createProjection(EventSummary.class, event);
+    }
+}
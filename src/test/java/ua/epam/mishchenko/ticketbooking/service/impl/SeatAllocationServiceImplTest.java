@@ -0,0 +1,77 @@
+package ua.epam.mishchenko.ticketbooking.service.impl;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit4.SpringRunner;
+import ua.epam.mishchenko.ticketbooking.booking.SeatInventory;
+import ua.epam.mishchenko.ticketbooking.model.Category;
+import ua.epam.mishchenko.ticketbooking.model.Seat;
+import ua.epam.mishchenko.ticketbooking.model.Ticket;
+import ua.epam.mishchenko.ticketbooking.repository.EventRepository;
+import ua.epam.mishchenko.ticketbooking.service.TicketService;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class SeatAllocationServiceImplTest {
+
+    @Autowired
+    private SeatAllocationServiceImpl seatAllocationService;
+
+    @MockBean
+    private SeatInventory seatInventory;
+
+    @MockBean
+    private TicketService ticketService;
+
+    @MockBean
+    private EventRepository eventRepository;
+
+    @Test
+    public void bookBestAvailableTicketsWithExistingEventShouldBookClaimedSeats() {
+        List<Seat> seats = Arrays.asList(new Seat(1, Category.BAR), new Seat(2, Category.BAR));
+        List<Ticket> expectedTickets = Arrays.asList(new Ticket(), new Ticket());
+
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(seatInventory.tryClaimBestAvailable(1L, Category.BAR, 2, 1000)).thenReturn(seats);
+        when(ticketService.bookClaimedTickets(1L, 1L, seats)).thenReturn(expectedTickets);
+
+        List<Ticket> actualTickets = seatAllocationService.bookBestAvailableTickets(1L, 1L, Category.BAR, 2);
+
+        assertEquals(expectedTickets, actualTickets);
+    }
+
+    @Test
+    public void bookBestAvailableTicketsWithNotExistingEventShouldReturnEmptyListAndClaimNothing() {
+        when(eventRepository.existsById(anyLong())).thenReturn(false);
+
+        List<Ticket> actualTickets = seatAllocationService.bookBestAvailableTickets(1L, 10L, Category.BAR, 2);
+
+        assertTrue(actualTickets.isEmpty());
+        verify(seatInventory, never()).tryClaimBestAvailable(anyLong(), any(Category.class), anyInt(), anyInt());
+        verify(ticketService, never()).bookClaimedTickets(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    public void bookBestAvailableTicketsWithoutFreeSeatsShouldReturnEmptyList() {
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(seatInventory.tryClaimBestAvailable(1L, Category.BAR, 2, 1000)).thenReturn(Collections.emptyList());
+
+        assertTrue(seatAllocationService.bookBestAvailableTickets(1L, 1L, Category.BAR, 2).isEmpty());
+    }
+}
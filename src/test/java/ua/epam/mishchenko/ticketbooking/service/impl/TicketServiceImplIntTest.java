@@ -1,5 +1,6 @@
 package ua.epam.mishchenko.ticketbooking.service.impl;
 
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,14 +10,16 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.junit4.SpringRunner;
+import ua.epam.mishchenko.ticketbooking.booking.SeatInventory;
+import ua.epam.mishchenko.ticketbooking.ledger.WalletLedger;
 import ua.epam.mishchenko.ticketbooking.model.Category;
 import ua.epam.mishchenko.ticketbooking.model.Ticket;
 import ua.epam.mishchenko.ticketbooking.repository.TicketRepository;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyIterable;
 import static org.mockito.Mockito.when;
 
 @RunWith(SpringRunner.class)
@@ -31,19 +34,29 @@ public class TicketServiceImplIntTest {
     @Autowired
     private TicketServiceImpl ticketService;
 
+    @Autowired
+    private WalletLedger walletLedger;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
     @MockBean
     private TicketRepository ticketRepository;
 
+    @Before
+    public void evictBalances() {
+        walletLedger.evictBalances();
+    }
+
     @Test
     public void bookTicketWithRuntimeExceptionShouldRollback() {
-        when(ticketRepository.existsByEventIdAndPlaceAndCategory(anyLong(), anyInt(), any(Category.class)))
-                .thenReturn(false);
-        when(ticketRepository.save(any(Ticket.class)))
+        when(ticketRepository.saveAll(anyIterable()))
                 .thenThrow(RuntimeException.class);
 
         Ticket ticket = ticketService.bookTicket(1, 1, 30, Category.PREMIUM);
 
         assertNull(ticket);
-
+        assertEquals(1000, walletLedger.getBalance(1L).toBigDecimal().intValue());
+        assertTrue(seatInventory.isFree(1L, 30, Category.PREMIUM));
     }
 }
@@ -5,26 +5,42 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.test.context.junit4.SpringRunner;
+import ua.epam.mishchenko.ticketbooking.booking.BookingRequest;
+import ua.epam.mishchenko.ticketbooking.booking.SeatInventory;
+import ua.epam.mishchenko.ticketbooking.idempotency.IdempotentOperation;
+import ua.epam.mishchenko.ticketbooking.ledger.WalletLedger;
 import ua.epam.mishchenko.ticketbooking.model.*;
+import ua.epam.mishchenko.ticketbooking.refund.RefundOutboxWriter;
 import ua.epam.mishchenko.ticketbooking.repository.EventRepository;
+import ua.epam.mishchenko.ticketbooking.repository.IdempotencyKeyRepository;
 import ua.epam.mishchenko.ticketbooking.repository.TicketRepository;
-import ua.epam.mishchenko.ticketbooking.repository.UserAccountRepository;
 import ua.epam.mishchenko.ticketbooking.repository.UserRepository;
+import ua.epam.mishchenko.ticketbooking.repository.projection.BookedTicketExport;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static ua.epam.mishchenko.ticketbooking.utils.Constants.DATE_FORMATTER;
 
@@ -45,90 +61,145 @@ public class TicketServiceImplTest {
     private EventRepository eventRepository;
 
     @MockBean
-    private UserAccountRepository userAccountRepository;
+    private WalletLedger walletLedger;
 
-    @Test
-    public void bookTicketIfUserNotExistShouldReturnNull() {
-        when(userRepository.existsById(anyLong())).thenReturn(false);
+    @MockBean
+    private SeatInventory seatInventory;
 
-        Ticket ticket = ticketService.bookTicket(1L, 1L, 1, Category.BAR);
+    @MockBean
+    private RefundOutboxWriter refundOutboxWriter;
 
-        assertNull(ticket);
-    }
+    @MockBean
+    private IdempotencyKeyRepository idempotencyKeyRepository;
 
     @Test
     public void bookTicketIfEventNotExistShouldReturnNull() {
-        when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(eventRepository.existsById(anyLong())).thenReturn(false);
+        when(eventRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         Ticket ticket = ticketService.bookTicket(1L, 1L, 1, Category.BAR);
 
         assertNull(ticket);
+        verify(seatInventory, never()).tryClaimAll(anyLong(), anyCollection());
     }
 
     @Test
     public void bookTicketIfTicketAlreadyBookedShouldReturnNull() {
-        when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(eventRepository.existsById(anyLong())).thenReturn(true);
-        when(ticketRepository.existsByEventIdAndPlaceAndCategory(anyLong(), anyInt(), any(Category.class)))
-                .thenReturn(true);
+        when(eventRepository.findById(anyLong()))
+                .thenReturn(Optional.of(new Event("Title", new Date(System.currentTimeMillis()), BigDecimal.TEN)));
+        when(seatInventory.tryClaimAll(anyLong(), anyCollection())).thenReturn(false);
 
         Ticket ticket = ticketService.bookTicket(1L, 1L, 1, Category.BAR);
 
         assertNull(ticket);
+        verify(walletLedger, never()).debit(anyLong(), any(Money.class), any(LedgerEntryType.class));
     }
 
     @Test
-    public void bookTicketIfUserNotHaveAccountShouldReturnNull() {
-        when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(eventRepository.existsById(anyLong())).thenReturn(true);
-        when(ticketRepository.existsByEventIdAndPlaceAndCategory(anyLong(), anyInt(), any(Category.class)))
-                .thenReturn(false);
-        when(userAccountRepository.findById(anyLong())).thenReturn(Optional.empty());
+    public void bookTicketIfUserNotHaveAccountShouldReturnNullAndReleaseSeat() {
+        when(eventRepository.findById(anyLong()))
+                .thenReturn(Optional.of(new Event("Title", new Date(System.currentTimeMillis()), BigDecimal.TEN)));
+        when(seatInventory.tryClaimAll(anyLong(), anyCollection())).thenReturn(true);
+        doThrow(new RuntimeException("Can not to find a user account by user id: 1"))
+                .when(walletLedger).debit(anyLong(), any(Money.class), any(LedgerEntryType.class));
 
         Ticket ticket = ticketService.bookTicket(1L, 1L, 1, Category.BAR);
 
         assertNull(ticket);
+        verify(seatInventory).releaseAll(1L, Collections.singletonList(new Seat(1, Category.BAR)));
+        verify(ticketRepository, never()).saveAll(anyIterable());
     }
 
     @Test
     public void bookTicketIfUserNotHaveMoneyShouldReturnNull() {
-        when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(eventRepository.existsById(anyLong())).thenReturn(true);
-        when(ticketRepository.existsByEventIdAndPlaceAndCategory(anyLong(), anyInt(), any(Category.class)))
-                .thenReturn(false);
-        when(userAccountRepository.findById(anyLong()))
-                .thenReturn(Optional.of(new UserAccount(new User(), BigDecimal.ONE)));
         when(eventRepository.findById(anyLong()))
                 .thenReturn(Optional.of(new Event("Title", new Date(System.currentTimeMillis()), BigDecimal.TEN)));
+        when(seatInventory.tryClaimAll(anyLong(), anyCollection())).thenReturn(true);
+        doThrow(new RuntimeException("The user with id 1 does not have enough money"))
+                .when(walletLedger).debit(anyLong(), any(Money.class), any(LedgerEntryType.class));
 
         Ticket ticket = ticketService.bookTicket(1L, 1L, 1, Category.BAR);
 
         assertNull(ticket);
+        verify(ticketRepository, never()).saveAll(anyIterable());
     }
 
     @Test
     public void bookTicketIfEverythingFineShouldReturnBookedTicket() {
-        when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(eventRepository.existsById(anyLong())).thenReturn(true);
-        when(ticketRepository.existsByEventIdAndPlaceAndCategory(anyLong(), anyInt(), any(Category.class)))
-                .thenReturn(false);
-        when(userAccountRepository.findById(anyLong()))
-                .thenReturn(Optional.of(new UserAccount(new User(), BigDecimal.TEN)));
+        User user = new User(1L, "Alan", "alan@gmail.com");
         when(eventRepository.findById(anyLong()))
-                .thenReturn(Optional.of(new Event("Title", new Date(System.currentTimeMillis()), BigDecimal.ONE)));
+                .thenReturn(Optional.of(new Event(1L, "Title", new Date(System.currentTimeMillis()), BigDecimal.TEN)));
+        when(seatInventory.tryClaimAll(anyLong(), anyCollection())).thenReturn(true);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(ticketRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
 
         Ticket ticket = ticketService.bookTicket(1L, 1L, 1, Category.BAR);
 
-        assertNull(ticket);
+        assertNotNull(ticket);
+        assertEquals(user, ticket.getUser());
+        assertEquals(1, ticket.getPlace());
+        assertEquals(Category.BAR, ticket.getCategory());
+        assertEquals(Money.of(BigDecimal.TEN), ticket.getPaidAmount());
+        verify(walletLedger).debit(1L, Money.of(BigDecimal.TEN), LedgerEntryType.BOOKING);
+    }
+
+    @Test
+    public void bookTicketWithIdempotencyKeyBookedConcurrentlyShouldReturnOriginalTicket() {
+        Ticket originalTicket = new Ticket(7L, new User(), new Event(), 9, Category.BAR, Money.ZERO);
+        when(eventRepository.findById(anyLong()))
+                .thenReturn(Optional.of(new Event("Title", new Date(System.currentTimeMillis()), BigDecimal.ONE)));
+        when(seatInventory.tryClaimAll(anyLong(), anyCollection())).thenReturn(true);
+        when(ticketRepository.saveAll(anyIterable())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(idempotencyKeyRepository.findById("key"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new IdempotencyKey("key", IdempotentOperation.BOOK_TICKET, 1L, 7L,
+                        new Date(), new Date())));
+        when(ticketRepository.findWithEventById(7L)).thenReturn(Optional.of(originalTicket));
+
+        Ticket ticket = ticketService.bookTicket(1L, 9L, 9, Category.BAR, "key");
+
+        assertEquals(originalTicket, ticket);
+    }
+
+    @Test
+    public void bookTicketsInBatchIfEventNotExistShouldReturnNullForItsRequest() {
+        when(eventRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        List<Ticket> tickets = ticketService.bookTicketsInBatch(
+                Collections.singletonList(new BookingRequest(1L, 1L, new Seat(1, Category.BAR))));
+
+        assertEquals(1, tickets.size());
+        assertNull(tickets.get(0));
+    }
+
+    @Test
+    public void bookTicketsWithRepeatedSeatsShouldReturnEmptyList() {
+        List<Ticket> tickets = ticketService.bookTickets(1L, 1L,
+                Arrays.asList(new Seat(1, Category.BAR), new Seat(1, Category.BAR)));
+
+        assertTrue(tickets.isEmpty());
+    }
+
+    @Test
+    public void bookTicketsIfUserNotHaveMoneyForAllSeatsShouldReturnEmptyList() {
+        when(eventRepository.findById(anyLong()))
+                .thenReturn(Optional.of(new Event("Title", new Date(System.currentTimeMillis()), BigDecimal.TEN)));
+        when(seatInventory.tryClaimAll(anyLong(), anyCollection())).thenReturn(true);
+        doThrow(new RuntimeException("The user with id 1 does not have enough money"))
+                .when(walletLedger).debit(1L, Money.of(BigDecimal.valueOf(20)), LedgerEntryType.BOOKING);
+
+        List<Ticket> tickets = ticketService.bookTickets(1L, 2L,
+                Arrays.asList(new Seat(1, Category.BAR), new Seat(2, Category.BAR)));
+
+        assertTrue(tickets.isEmpty());
+        verify(ticketRepository, never()).saveAll(anyIterable());
     }
 
     @Test
     public void getBookedTicketsWithNotNullUserAndProperPageSizeAndPageNumShouldBeOk() {
         User user = new User(1L, "Alan", "alan@gmail.com");
         List<Ticket> content = Arrays.asList(
-                new Ticket(1L, new User(), new Event(), 10, Category.BAR),
-                new Ticket(4L, new User(), new Event(), 20, Category.BAR)
+                new Ticket(1L, new User(), new Event(), 10, Category.BAR, Money.ZERO),
+                new Ticket(4L, new User(), new Event(), 20, Category.BAR, Money.ZERO)
         );
         Page<Ticket> page = new PageImpl<>(content);
 
@@ -155,12 +226,40 @@ public class TicketServiceImplTest {
         assertTrue(actualTicketsByUser.isEmpty());
     }
 
+    @Test
+    public void exportBookedTicketsWithNotNullUserShouldWriteAllTicketsAsCsv() throws ParseException {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", 1L);
+        row.put("eventId", 2L);
+        row.put("eventTitle", "Title, \"quoted\"");
+        row.put("eventDate", DATE_FORMATTER.parse("2022-05-18 12:00"));
+        row.put("place", 3);
+        row.put("category", Category.BAR);
+        BookedTicketExport ticket = new SpelAwareProxyProjectionFactory().createProjection(BookedTicketExport.class, row);
+        when(ticketRepository.streamBookedTicketsByUserId(anyLong())).thenReturn(Stream.of(ticket));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        boolean exported = ticketService.exportBookedTickets(new User(1L, "Alan", "alan@gmail.com"), output);
+
+        assertTrue(exported);
+        assertEquals("id,eventId,eventTitle,eventDate,place,category\n" +
+                        "1,2,\"Title, \"\"quoted\"\"\",2022-05-18 12:00,3,BAR\n",
+                new String(output.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void exportBookedTicketsWithNullUserShouldReturnFalse() {
+        boolean exported = ticketService.exportBookedTickets(null, new ByteArrayOutputStream());
+
+        assertFalse(exported);
+    }
+
     @Test
     public void getBookedTicketsWithNotNullEventAndProperPageSizeAndPageNumShouldBeOk() throws ParseException {
         Event event = new Event(4L, "Fourth event", DATE_FORMATTER.parse("15-05-2022 21:00"), BigDecimal.ONE);
         List<Ticket> content = Arrays.asList(
-                new Ticket(4L, new User(), new Event(), 20, Category.BAR),
-                new Ticket(2L, new User(), new Event(), 10, Category.PREMIUM)
+                new Ticket(4L, new User(), new Event(), 20, Category.BAR, Money.ZERO),
+                new Ticket(2L, new User(), new Event(), 10, Category.PREMIUM, Money.ZERO)
         );
         Page<Ticket> page = new PageImpl<>(content);
 
@@ -189,9 +288,27 @@ public class TicketServiceImplTest {
 
     @Test
     public void cancelTicketExistsTicketShouldReturnTrue() {
+        Ticket ticket = new Ticket(6L, new User(1L, "Alan", "alan@gmail.com"),
+                new Event(1L, "Title", new Date(System.currentTimeMillis()), BigDecimal.TEN), 10, Category.BAR,
+                Money.of(BigDecimal.TEN));
+        when(ticketRepository.findWithEventById(6L)).thenReturn(Optional.of(ticket));
+
         boolean actualIsDeleted = ticketService.cancelTicket(6L);
 
         assertTrue(actualIsDeleted);
+        verify(refundOutboxWriter).scheduleRefund(6L, 1L, Money.of(BigDecimal.TEN));
+    }
+
+    @Test
+    public void cancelTicketAfterPriceChangeShouldRefundPaidAmount() {
+        Ticket ticket = new Ticket(6L, new User(1L, "Alan", "alan@gmail.com"),
+                new Event(1L, "Title", new Date(System.currentTimeMillis()), BigDecimal.TEN), 10, Category.BAR,
+                Money.of(BigDecimal.ONE));
+        when(ticketRepository.findWithEventById(6L)).thenReturn(Optional.of(ticket));
+
+        ticketService.cancelTicket(6L);
+
+        verify(refundOutboxWriter).scheduleRefund(6L, 1L, Money.of(BigDecimal.ONE));
     }
 
     @Test
@@ -202,4 +319,4 @@ public class TicketServiceImplTest {
 
         assertFalse(isRemoved);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package ua.epam.mishchenko.ticketbooking.web.controller;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import ua.epam.mishchenko.ticketbooking.facade.impl.BookingFacadeImpl;
+import ua.epam.mishchenko.ticketbooking.model.User;
+
+import java.io.OutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BookedTicketsCsvControllerTest {
+
+    private BookedTicketsCsvController bookedTicketsCsvController;
+
+    @Mock
+    private BookingFacadeImpl bookingFacade;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        bookedTicketsCsvController = new BookedTicketsCsvController(bookingFacade, 600000);
+    }
+
+    @Test
+    public void exportBookedTicketsByUserCSVWithNotExistingUserIdShouldThrowException() {
+        when(bookingFacade.getUserById(anyLong())).thenReturn(null);
+
+        RuntimeException actualException = assertThrows(RuntimeException.class,
+                () -> bookedTicketsCsvController.exportBookedTicketsByUserCSV(1L, new MockHttpServletResponse()));
+
+        verify(bookingFacade, times(1)).getUserById(anyLong());
+        verify(bookingFacade, times(0)).exportBookedTickets(any(User.class), any(OutputStream.class));
+
+        assertEquals("Can not to find a user by id: 1", actualException.getMessage());
+    }
+
+    @Test
+    public void exportBookedTicketsByUserCSVWithExistingUserIdShouldStreamTickets() throws Exception {
+        User user = new User(1L, "Alan", "alan@gmail.com");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(bookingFacade.getUserById(anyLong())).thenReturn(user);
+        when(bookingFacade.exportBookedTickets(eq(user), any(OutputStream.class))).thenReturn(true);
+
+        WebAsyncTask<Void> actualTask = bookedTicketsCsvController.exportBookedTicketsByUserCSV(1L, response);
+        verify(bookingFacade, times(0)).exportBookedTickets(any(User.class), any(OutputStream.class));
+        actualTask.getCallable().call();
+
+        verify(bookingFacade, times(1)).exportBookedTickets(user, response.getOutputStream());
+        assertEquals(Long.valueOf(600000), actualTask.getTimeout());
+        assertEquals("text/csv", response.getContentType());
+        assertEquals("attachment; filename=\"Booked Tickets.csv\"", response.getHeader("Content-Disposition"));
+    }
+
+    @Test
+    public void exportBookedTicketsByUserCSVWithFailedExportShouldThrowFromTask() {
+        User user = new User(1L, "Alan", "alan@gmail.com");
+        when(bookingFacade.getUserById(anyLong())).thenReturn(user);
+        when(bookingFacade.exportBookedTickets(eq(user), any(OutputStream.class))).thenReturn(false);
+
+        WebAsyncTask<Void> actualTask = bookedTicketsCsvController.exportBookedTicketsByUserCSV(1L,
+                new MockHttpServletResponse());
+        RuntimeException actualException = assertThrows(RuntimeException.class,
+                () -> actualTask.getCallable().call());
+
+        assertEquals("Can not to export the tickets by user with id: 1", actualException.getMessage());
+    }
+}
@@ -1,14 +1,20 @@
 package ua.epam.mishchenko.ticketbooking.web.controller;
 
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import ua.epam.mishchenko.ticketbooking.db.QueryBudget;
+import ua.epam.mishchenko.ticketbooking.db.QueryBudgetConfig;
+
+import javax.persistence.EntityManagerFactory;
 
 import static org.hamcrest.core.StringContains.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -22,15 +28,66 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @RunWith(SpringRunner.class)
 @SpringBootTest
 @AutoConfigureMockMvc
+@Import(QueryBudgetConfig.class)
 @TestPropertySource(properties = {"spring.config.location = classpath:application-test.yml"})
 @Sql(value = {"classpath:sql/clear-database.sql", "classpath:sql/insert-data.sql"},
         executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 @Sql(value = {"classpath:sql/clear-database.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
 public class EventsControllerIntTest {
 
+    /**
+     * The statements of an event or a page of events: one select, no count and no tickets.
+     */
+    private static final int MAX_STATEMENTS_PER_EVENTS_PAGE = 1;
+
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private QueryBudget queryBudget;
+
+    @Before
+    public void setUp() {
+        queryBudget = new QueryBudget(mockMvc, entityManagerFactory);
+    }
+
+    @Test
+    public void showEventByIdShouldStayWithinQueryBudget() throws Exception {
+        queryBudget.perform(get("/events/1"), MAX_STATEMENTS_PER_EVENTS_PAGE)
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("First event")));
+    }
+
+    @Test
+    public void showEventsByTitleShouldStayWithinQueryBudget() throws Exception {
+        queryBudget.perform(get("/events/title/Third event?pageSize=2&pageNum=1"), MAX_STATEMENTS_PER_EVENTS_PAGE)
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Third event")));
+    }
+
+    @Test
+    public void showEventsByTitleAfterCursorShouldStayWithinQueryBudget() throws Exception {
+        queryBudget.perform(get("/events/title/Third event?pageSize=2"), MAX_STATEMENTS_PER_EVENTS_PAGE)
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Third event")));
+    }
+
+    @Test
+    public void showEventsForDayShouldStayWithinQueryBudget() throws Exception {
+        queryBudget.perform(get("/events/day/2022-05-15 21:00?pageSize=2&pageNum=1"), MAX_STATEMENTS_PER_EVENTS_PAGE)
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Fourth event")));
+    }
+
+    @Test
+    public void showEventsForDayAfterCursorShouldStayWithinQueryBudget() throws Exception {
+        queryBudget.perform(get("/events/day/2022-05-15 21:00?pageSize=2"), MAX_STATEMENTS_PER_EVENTS_PAGE)
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Fourth event")));
+    }
+
     @Test
     public void showEventByIdWithExistingEventIdShouldReturnPageWithEvent() throws Exception {
         this.mockMvc.perform(get("/events/1"))
@@ -4,15 +4,21 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.ui.ModelMap;
 import org.springframework.web.servlet.ModelAndView;
 import ua.epam.mishchenko.ticketbooking.facade.impl.BookingFacadeImpl;
 import ua.epam.mishchenko.ticketbooking.model.Event;
+import ua.epam.mishchenko.ticketbooking.paging.CursorSlice;
+import ua.epam.mishchenko.ticketbooking.paging.KeysetCursor;
+import ua.epam.mishchenko.ticketbooking.repository.projection.EventSummary;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -21,6 +27,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -86,6 +93,43 @@ public class EventsControllerTest {
         assertFalse(actualModelAndView.getModelMap().containsAttribute("message"));
     }
 
+    @Test
+    public void showEventsByTitleAfterCursorWithNextPageShouldReturnModelAndViewWithNextCursor() {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", 1L);
+        row.put("title", "Test event");
+        row.put("date", new Date(System.currentTimeMillis()));
+        EventSummary event = new SpelAwareProxyProjectionFactory().createProjection(EventSummary.class, row);
+        String next = KeysetCursor.encode(1L);
+
+        when(bookingFacade.getEventsByTitle(anyString(), anyInt(), isNull()))
+                .thenReturn(new CursorSlice<>(Collections.singletonList(event), next));
+
+        ModelAndView actualModelAndView = eventsController.showEventsByTitle("Test Title", 1, (String) null);
+
+        verify(bookingFacade, times(1)).getEventsByTitle(anyString(), anyInt(), isNull());
+
+        ModelMap actualModelMap = actualModelAndView.getModelMap();
+
+        assertEquals("events", actualModelAndView.getViewName());
+        assertEquals(Collections.singletonList(event), actualModelMap.getAttribute("events"));
+        assertEquals(next, actualModelMap.getAttribute("next"));
+        assertFalse(actualModelMap.containsAttribute("message"));
+    }
+
+    @Test
+    public void showEventsByTitleAfterCursorWithEmptyPageShouldReturnModelAndViewWithMessage() {
+        when(bookingFacade.getEventsByTitle(anyString(), anyInt(), anyString())).thenReturn(CursorSlice.empty());
+
+        ModelAndView actualModelAndView = eventsController.showEventsByTitle("Test Title", 1, "djE6MQ");
+
+        ModelMap actualModelMap = actualModelAndView.getModelMap();
+
+        assertFalse(actualModelMap.containsAttribute("events"));
+        assertFalse(actualModelMap.containsAttribute("next"));
+        assertEquals("Can not to get events by title: Test Title", actualModelMap.getAttribute("message"));
+    }
+
     @Test
     public void showEventsByTitleWithNotExistingEventTitleShouldReturnModelAndViewWithMessage() {
         when(bookingFacade.getEventsByTitle(anyString(), anyInt(), anyInt())).thenReturn(new ArrayList<>());
@@ -1,14 +1,20 @@
 package ua.epam.mishchenko.ticketbooking.web.controller;
 
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import ua.epam.mishchenko.ticketbooking.db.QueryBudget;
+import ua.epam.mishchenko.ticketbooking.db.QueryBudgetConfig;
+
+import javax.persistence.EntityManagerFactory;
 
 import static org.hamcrest.core.StringContains.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -21,15 +27,32 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @RunWith(SpringRunner.class)
 @SpringBootTest
 @AutoConfigureMockMvc
+@Import(QueryBudgetConfig.class)
 @TestPropertySource(properties = {"spring.config.location = classpath:application-test.yml"})
 @Sql(value = {"classpath:sql/clear-database.sql", "classpath:sql/insert-data.sql"},
         executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 @Sql(value = {"classpath:sql/clear-database.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
 public class TicketsControllerIntTest {
 
+    /**
+     * The statements of a page of tickets: the user or the event and the tickets, the users and the events
+     * of the tickets are not loaded.
+     */
+    private static final int MAX_STATEMENTS_PER_TICKETS_PAGE = 2;
+
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private QueryBudget queryBudget;
+
+    @Before
+    public void setUp() {
+        queryBudget = new QueryBudget(mockMvc, entityManagerFactory);
+    }
+
     @Test
     public void bookTicketWithNewTicketsParametersShouldReturnPageWithTicket() throws Exception {
         this.mockMvc.perform(post("/tickets?userId=6&eventId=1&place=20&category=BAR"))
@@ -54,6 +77,20 @@ public class TicketsControllerIntTest {
                 .andExpect(content().string(containsString("Can not to book a ticket")));
     }
 
+    @Test
+    public void bookTicketReplayedWithSameIdempotencyKeyShouldReturnBookedTicket() throws Exception {
+        this.mockMvc.perform(post("/tickets?userId=1&eventId=1&place=20&category=BAR")
+                        .header("Idempotency-Key", "book-1-1-20"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("BAR")));
+
+        this.mockMvc.perform(post("/tickets?userId=1&eventId=1&place=20&category=BAR")
+                        .header("Idempotency-Key", "book-1-1-20"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("BAR")));
+    }
+
     @Test
     public void showTicketsByUserWithExistingUserIdShouldReturnPageWithListOfTickets() throws Exception {
         this.mockMvc.perform(get("/tickets/user/5?pageSize=1&pageNum=1"))
@@ -62,6 +99,34 @@ public class TicketsControllerIntTest {
                 .andExpect(content().string(containsString("PREMIUM")));
     }
 
+    @Test
+    public void showTicketsByUserShouldNotLoadAssociationsOfEveryTicket() throws Exception {
+        queryBudget.perform(get("/tickets/user/1?pageSize=10&pageNum=1"), MAX_STATEMENTS_PER_TICKETS_PAGE)
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("BAR")));
+    }
+
+    @Test
+    public void showTicketsByUserAfterCursorShouldStayWithinQueryBudget() throws Exception {
+        queryBudget.perform(get("/tickets/user/1?pageSize=10"), MAX_STATEMENTS_PER_TICKETS_PAGE)
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("BAR")));
+    }
+
+    @Test
+    public void showTicketsByEventShouldStayWithinQueryBudget() throws Exception {
+        queryBudget.perform(get("/tickets/event/1?pageSize=10&pageNum=1"), MAX_STATEMENTS_PER_TICKETS_PAGE)
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("PREMIUM")));
+    }
+
+    @Test
+    public void showTicketsByEventAfterCursorShouldStayWithinQueryBudget() throws Exception {
+        queryBudget.perform(get("/tickets/event/1?pageSize=10"), MAX_STATEMENTS_PER_TICKETS_PAGE)
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("PREMIUM")));
+    }
+
     @Test
     public void showTicketsByUserWithNotExistingUserIdShouldReturnPageWithMessage() throws Exception {
         this.mockMvc.perform(get("/tickets/user/0?pageSize=2&pageNum=1"))
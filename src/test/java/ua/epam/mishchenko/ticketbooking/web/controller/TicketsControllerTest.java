@@ -13,14 +13,18 @@ import ua.epam.mishchenko.ticketbooking.model.Ticket;
 import ua.epam.mishchenko.ticketbooking.model.User;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -43,11 +47,11 @@ public class TicketsControllerTest {
     public void bookTicketWithCorrectParametersShouldReturnModelAndViewWithBookedTicket() {
         Ticket ticket = new Ticket();
 
-        when(bookingFacade.bookTicket(anyLong(), anyLong(), anyInt(), any())).thenReturn(ticket);
+        when(bookingFacade.bookTicket(anyLong(), anyLong(), anyInt(), any(), any())).thenReturn(ticket);
 
-        ModelAndView actualModelAndView = ticketsController.bookTicket(1L, 1L, 1, Category.BAR);
+        ModelAndView actualModelAndView = ticketsController.bookTicket(1L, 1L, 1, Category.BAR, null);
 
-        verify(bookingFacade, times(1)).bookTicket(anyLong(), anyLong(), anyInt(), any());
+        verify(bookingFacade, times(1)).bookTicket(anyLong(), anyLong(), anyInt(), any(), isNull());
 
         ModelMap actualModelMap = actualModelAndView.getModelMap();
 
@@ -58,11 +62,11 @@ public class TicketsControllerTest {
 
     @Test
     public void bookTicketWithCorrectParametersShouldReturnModelAndViewWithMessage() {
-        when(bookingFacade.bookTicket(anyLong(), anyLong(), anyInt(), any())).thenReturn(null);
+        when(bookingFacade.bookTicket(anyLong(), anyLong(), anyInt(), any(), any())).thenReturn(null);
 
-        ModelAndView actualModelAndView = ticketsController.bookTicket(1L, 1L, 1, Category.BAR);
+        ModelAndView actualModelAndView = ticketsController.bookTicket(1L, 1L, 1, Category.BAR, null);
 
-        verify(bookingFacade, times(1)).bookTicket(anyLong(), anyLong(), anyInt(), any());
+        verify(bookingFacade, times(1)).bookTicket(anyLong(), anyLong(), anyInt(), any(), isNull());
 
         ModelMap actualModelMap = actualModelAndView.getModelMap();
 
@@ -72,6 +76,83 @@ public class TicketsControllerTest {
         assertEquals("Can not to book a ticket", actualModelMap.getAttribute("message"));
     }
 
+    @Test
+    public void bookTicketAsyncWithCorrectParametersShouldReturnModelAndViewWithBookedTicket() {
+        when(bookingFacade.bookTicketAsync(anyLong(), anyLong(), anyInt(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new Ticket()));
+
+        ModelAndView actualModelAndView = ticketsController.bookTicketAsync(1L, 1L, 1, Category.BAR).join();
+
+        verify(bookingFacade, times(1)).bookTicketAsync(anyLong(), anyLong(), anyInt(), any());
+
+        ModelMap actualModelMap = actualModelAndView.getModelMap();
+
+        assertEquals("ticket", actualModelAndView.getViewName());
+        assertTrue(actualModelMap.containsAttribute("ticket"));
+        assertFalse(actualModelMap.containsAttribute("message"));
+    }
+
+    @Test
+    public void bookTicketAsyncIfTicketNotBookedShouldReturnModelAndViewWithMessage() {
+        when(bookingFacade.bookTicketAsync(anyLong(), anyLong(), anyInt(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        ModelAndView actualModelAndView = ticketsController.bookTicketAsync(1L, 1L, 1, Category.BAR).join();
+
+        ModelMap actualModelMap = actualModelAndView.getModelMap();
+
+        assertEquals("ticket", actualModelAndView.getViewName());
+        assertFalse(actualModelMap.containsAttribute("ticket"));
+        assertEquals("Can not to book a ticket", actualModelMap.getAttribute("message"));
+    }
+
+    @Test
+    public void bookTicketsWithCorrectParametersShouldReturnModelAndViewWithBookedTickets() {
+        when(bookingFacade.bookTickets(anyLong(), anyLong(), anyList()))
+                .thenReturn(Arrays.asList(new Ticket(), new Ticket()));
+
+        ModelAndView actualModelAndView = ticketsController.bookTickets(1L, 1L,
+                Arrays.asList(1, 2), Arrays.asList(Category.BAR, Category.BAR));
+
+        verify(bookingFacade, times(1)).bookTickets(anyLong(), anyLong(), anyList());
+
+        ModelMap actualModelMap = actualModelAndView.getModelMap();
+
+        assertEquals("tickets", actualModelAndView.getViewName());
+        assertTrue(actualModelMap.containsAttribute("tickets"));
+        assertFalse(actualModelMap.containsAttribute("message"));
+    }
+
+    @Test
+    public void bookTicketsWithDifferentNumberOfPlacesAndCategoriesShouldReturnModelAndViewWithMessage() {
+        ModelAndView actualModelAndView = ticketsController.bookTickets(1L, 1L,
+                Arrays.asList(1, 2), Collections.singletonList(Category.BAR));
+
+        verify(bookingFacade, times(0)).bookTickets(anyLong(), anyLong(), anyList());
+
+        ModelMap actualModelMap = actualModelAndView.getModelMap();
+
+        assertEquals("tickets", actualModelAndView.getViewName());
+        assertFalse(actualModelMap.containsAttribute("tickets"));
+        assertEquals("The number of places and categories must be the same", actualModelMap.getAttribute("message"));
+    }
+
+    @Test
+    public void bookBestAvailableTicketsIfNoAdjacentSeatsShouldReturnModelAndViewWithMessage() {
+        when(bookingFacade.bookBestAvailableTickets(anyLong(), anyLong(), any(), anyInt()))
+                .thenReturn(new ArrayList<>());
+
+        ModelAndView actualModelAndView = ticketsController.bookBestAvailableTickets(1L, 1L, Category.BAR, 3);
+
+        verify(bookingFacade, times(1)).bookBestAvailableTickets(1L, 1L, Category.BAR, 3);
+
+        ModelMap actualModelMap = actualModelAndView.getModelMap();
+
+        assertEquals("tickets", actualModelAndView.getViewName());
+        assertFalse(actualModelMap.containsAttribute("tickets"));
+        assertEquals("Can not to book 3 best available tickets", actualModelMap.getAttribute("message"));
+    }
+
     @Test
     public void showTicketsByUserWithNotExistingUserIdShouldReturnModelAndViewWithMessage() {
         when(bookingFacade.getUserById(anyLong())).thenReturn(null);
@@ -8,7 +8,13 @@ import org.springframework.ui.ModelMap;
 import org.springframework.web.servlet.ModelAndView;
 import ua.epam.mishchenko.ticketbooking.facade.impl.BookingFacadeImpl;
 import ua.epam.mishchenko.ticketbooking.model.User;
+import ua.epam.mishchenko.ticketbooking.model.UserAccount;
+import ua.epam.mishchenko.ticketbooking.refill.BulkRefillProgress;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 
@@ -16,9 +22,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -220,4 +228,58 @@ public class UsersControllerTest {
         assertTrue(actualModelMap.containsAttribute("message"));
         assertEquals("The user with id: 1 not removed", actualModelMap.getAttribute("message"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void refillUserAccountWithCorrectParametersShouldReturnModelAndViewWithUserAccount() {
+        when(bookingFacade.refillUserAccount(anyLong(), any(), any())).thenReturn(new UserAccount());
+
+        ModelAndView actualModelAndView = usersController.refillUserAccount(1L, BigDecimal.TEN, "refill-1");
+
+        verify(bookingFacade, times(1)).refillUserAccount(1L, BigDecimal.TEN, "refill-1");
+
+        assertEquals("account", actualModelAndView.getViewName());
+        assertTrue(actualModelAndView.getModelMap().containsAttribute("userAccount"));
+        assertTrue(actualModelAndView.getModelMap().containsAttribute("balance"));
+        assertFalse(actualModelAndView.getModelMap().containsAttribute("message"));
+    }
+
+    @Test
+    public void refillUserAccountIfAccountNotRefilledShouldReturnModelAndViewWithMessage() {
+        when(bookingFacade.refillUserAccount(anyLong(), any(), any())).thenReturn(null);
+
+        ModelAndView actualModelAndView = usersController.refillUserAccount(1L, BigDecimal.TEN, null);
+
+        assertEquals("account", actualModelAndView.getViewName());
+        assertFalse(actualModelAndView.getModelMap().containsAttribute("userAccount"));
+        assertEquals("Can not to refill the account of the user with id: 1",
+                actualModelAndView.getModelMap().getAttribute("message"));
+    }
+
+    @Test
+    public void refillUserAccountsWithJsonShouldReturnModelAndViewWithProgress() {
+        InputStream records = new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8));
+        when(bookingFacade.refillUserAccounts(any(), anyBoolean())).thenReturn(new BulkRefillProgress("1", 0L));
+
+        ModelAndView actualModelAndView = usersController.refillUserAccounts("application/json;charset=UTF-8",
+                records);
+
+        verify(bookingFacade, times(1)).refillUserAccounts(records, true);
+
+        assertEquals("bulk-refills", actualModelAndView.getViewName());
+        assertTrue(actualModelAndView.getModelMap().containsAttribute("progress"));
+        assertFalse(actualModelAndView.getModelMap().containsAttribute("message"));
+    }
+
+    @Test
+    public void refillUserAccountsIfNotRefilledShouldReturnModelAndViewWithMessage() {
+        when(bookingFacade.refillUserAccounts(any(), anyBoolean())).thenReturn(null);
+
+        ModelAndView actualModelAndView = usersController.refillUserAccounts("text/csv",
+                new ByteArrayInputStream(new byte[0]));
+
+        verify(bookingFacade, times(1)).refillUserAccounts(any(), eq(false));
+
+        assertEquals("bulk-refills", actualModelAndView.getViewName());
+        assertEquals("Can not to refill the accounts of users", actualModelAndView.getModelMap().getAttribute("message"));
+    }
+}
@@ -1,3 +1,12 @@
+delete
+from idempotency_keys;
+
+delete
+from ledger_entries;
+
+delete
+from refund_outbox;
+
 delete
 from tickets;
 
@@ -14,3 +23,5 @@ TRUNCATE TABLE users RESTART IDENTITY CASCADE;
 TRUNCATE TABLE events RESTART IDENTITY CASCADE;
 TRUNCATE TABLE tickets RESTART IDENTITY;
 TRUNCATE TABLE user_accounts RESTART IDENTITY;
+TRUNCATE TABLE ledger_entries RESTART IDENTITY;
+TRUNCATE TABLE refund_outbox RESTART IDENTITY;
\ No newline at end of file
@@ -1,23 +1,28 @@
-insert into users values (default, 'Alan', 'alan@gmail.com'),
-                         (default, 'Kate', 'kate@gmail.com'),
-                         (default, 'Max', 'max@gmail.com'),
-                         (default, 'Sara', 'sara@gmail.com'),
-                         (default, 'Alex', 'alex@gmail.com'),
-                         (default, 'Alex', 'anotheralex@gmail.com');
+insert into users values (1, 'Alan', 'alan@gmail.com'),
+                         (2, 'Kate', 'kate@gmail.com'),
+                         (3, 'Max', 'max@gmail.com'),
+                         (4, 'Sara', 'sara@gmail.com'),
+                         (5, 'Alex', 'alex@gmail.com'),
+                         (6, 'Alex', 'anotheralex@gmail.com');
 
-insert into events values (default, 'First event', '2022-05-18 15:30', 100),
-                          (default, 'Second event', '2022-05-15, 21:00', 300),
-                          (default, 'Third event', '2022-05-16 12:00', 500),
-                          (default, 'Fourth event', '2022-05-15 21:00', 450),
-                          (default, 'Third event', '2022-05-25 9:10', 1000),
-                          (default, 'Fifth event', '2022-06-1 14:20', 230);
+insert into events values (1, 'First event', '2022-05-18 15:30', 100),
+                          (2, 'Second event', '2022-05-15, 21:00', 300),
+                          (3, 'Third event', '2022-05-16 12:00', 500),
+                          (4, 'Fourth event', '2022-05-15 21:00', 450),
+                          (5, 'Third event', '2022-05-25 9:10', 1000),
+                          (6, 'Fifth event', '2022-06-1 14:20', 230);
 
-insert into tickets values (default, 1, 1, 10, 'BAR'),
-                           (default, 4, 3, 2, 'PREMIUM'),
-                           (default, 2, 2, 4, 'STANDARD'),
-                           (default, 1, 4, 20, 'BAR'),
-                           (default, 5, 1, 11, 'PREMIUM'),
-                           (default, 3, 5, 1, 'STANDARD');
+insert into tickets values (1, 1, 1, 10, 'BAR', 100),
+                           (2, 4, 3, 2, 'PREMIUM', 500),
+                           (3, 2, 2, 4, 'STANDARD', 300),
+                           (4, 1, 4, 20, 'BAR', 450),
+                           (5, 5, 1, 11, 'PREMIUM', 100),
+                           (6, 3, 5, 1, 'STANDARD', 1000);
 
-insert into user_accounts values (default, 1, 1000),
-                                 (default, 2, 1500);
\ No newline at end of file
+insert into user_accounts values (1, 1, 1000),
+                                 (2, 2, 1500);
+
+select setval('users_seq', 7, false);
+select setval('events_seq', 7, false);
+select setval('tickets_seq', 7, false);
+select setval('user_accounts_seq', 3, false);
\ No newline at end of file